@@ -0,0 +1,111 @@
+package com.dia.benchmark;
+
+import com.dia.converter.ArchiConverter;
+import org.apache.jena.riot.RDFFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parse, convert and export stages of {@link ArchiConverter} separately. Every stage gets its
+ * input prepared outside of the measured method, so the numbers do not include the earlier stages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiConverterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Source {
+
+        @Param({"minimal-archi.xml", "complete-archi.xml", "synthetic-1000", "synthetic-10000"})
+        public String source;
+
+        String xml;
+
+        @Setup(Level.Trial)
+        public void load() {
+            xml = ArchiSources.load(source);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+
+        ArchiConverter converter;
+
+        @Setup(Level.Invocation)
+        public void parse(Source source) throws Exception {
+            converter = new ArchiConverter();
+            converter.parseFromString(source.xml);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ElementPool {
+
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void start() {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            pool.shutdown();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Converted {
+
+        ArchiConverter converter;
+
+        @Setup(Level.Trial)
+        public void convert(Source source) throws Exception {
+            converter = new ArchiConverter();
+            converter.parseFromString(source.xml);
+            converter.convert();
+        }
+    }
+
+    @Benchmark
+    public ArchiConverter parse(Source source) throws Exception {
+        ArchiConverter converter = new ArchiConverter();
+        converter.parseFromString(source.xml);
+        return converter;
+    }
+
+    @Benchmark
+    public ArchiConverter convert(Parsed parsed) throws Exception {
+        parsed.converter.convert();
+        return parsed.converter;
+    }
+
+    @Benchmark
+    public ArchiConverter convertParallel(Parsed parsed, ElementPool elementPool) throws Exception {
+        parsed.converter.setElementPool(elementPool.pool);
+        parsed.converter.convert();
+        return parsed.converter;
+    }
+
+    @Benchmark
+    public void exportToJson(Converted converted) {
+        converted.converter.exportToJson(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void exportToTurtle(Converted converted) {
+        converted.converter.exportToTurtle(OutputStream.nullOutputStream(), RDFFormat.TURTLE_PRETTY);
+    }
+
+    @Benchmark
+    public void exportToTurtleBlocks(Converted converted) {
+        converted.converter.exportToTurtle(OutputStream.nullOutputStream(), RDFFormat.TURTLE_BLOCKS);
+    }
+}
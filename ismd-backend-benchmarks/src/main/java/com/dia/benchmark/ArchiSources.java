@@ -0,0 +1,34 @@
+package com.dia.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resolves the {@code source} benchmark parameter: either one of the Archi fixtures shared with the validator
+ * tests ({@code minimal-archi.xml}, {@code complete-archi.xml}) or {@code synthetic-<elements>}.
+ */
+final class ArchiSources {
+
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+
+    private ArchiSources() {
+    }
+
+    static String load(String source) {
+        if (source.startsWith(SYNTHETIC_PREFIX)) {
+            int elements = Integer.parseInt(source.substring(SYNTHETIC_PREFIX.length()));
+            return SyntheticArchiGenerator.builder().elements(elements).build().generate();
+        }
+
+        try (InputStream input = ArchiSources.class.getResourceAsStream("/fixtures/" + source)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Unknown benchmark source: " + source);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.dia.benchmark;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.dia.constants.ArchiOntologyConstants.ARCHI_NS;
+
+/**
+ * Generates valid ArchiMate 3.0 exchange documents of arbitrary size for benchmarks and load tests.
+ * <p>
+ * The defaults follow the shape of real models: mostly {@code typ vlastnosti} elements, relationships split
+ * roughly 60/25/15 between Composition, Association and Specialization, and the OFN properties filled in with
+ * the kind of values the converter sees in practice. Generation is deterministic for a given seed and is
+ * streamed, so models with a million elements never have to fit in memory.
+ * <p>
+ * From the command line:
+ * <pre>
+ * java -cp ismd-backend-benchmarks/target/benchmarks.jar com.dia.benchmark.SyntheticArchiGenerator \
+ *     --elements=100000 --languages=cs,en --property-density=0.5 --output=model.xml
+ * </pre>
+ */
+public final class SyntheticArchiGenerator {
+
+    private static final String XSI_NS = XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+
+    private static final String TYP = "propid-typ";
+    private static final String POPIS = "propid-popis";
+    private static final String DEFINICE = "propid-definice";
+    private static final String ZDROJ = "propid-zdroj";
+    private static final String SOUVISEJICI_ZDROJ = "propid-souvisejici-zdroj";
+    private static final String AGENDA = "propid-agenda";
+    private static final String AIS = "propid-ais";
+    private static final String JE_PPDF = "propid-je-ppdf";
+    private static final String JE_VEREJNY = "propid-je-verejny";
+    private static final String UDN = "propid-udn";
+    private static final String ALKD = "propid-alkd";
+
+    private static final String[][] PROPERTY_DEFINITIONS = {
+            {TYP, "typ"},
+            {POPIS, "popis"},
+            {DEFINICE, "definice"},
+            {ZDROJ, "zdroj"},
+            {SOUVISEJICI_ZDROJ, "související zdroj"},
+            {AGENDA, "agenda"},
+            {AIS, "agendový informační systém"},
+            {JE_PPDF, "je pojem sdílen v PPDF?"},
+            {JE_VEREJNY, "je pojem veřejný?"},
+            {UDN, "ustanovení dokládající neveřejnost"},
+            {ALKD, "adresa lokálního katalogu dat, ve kterém bude slovník registrován"}
+    };
+
+    private static final String ELI = "https://www.e-sbirka.cz/eli/cz/sb/1991/455/2025-02-15/dokument/norma/par_";
+
+    private final int elements;
+    private final double relationshipsPerElement;
+    private final double compositionShare;
+    private final double specializationShare;
+    private final int extraPropertyDefinitions;
+    private final List<String> languages;
+    private final double propertyDensity;
+    private final long seed;
+
+    private SyntheticArchiGenerator(Builder builder) {
+        this.elements = builder.elements;
+        this.relationshipsPerElement = builder.relationshipsPerElement;
+        this.compositionShare = builder.compositionShare;
+        this.specializationShare = builder.specializationShare;
+        this.extraPropertyDefinitions = builder.extraPropertyDefinitions;
+        this.languages = List.copyOf(builder.languages);
+        this.propertyDensity = builder.propertyDensity;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String generate() {
+        StringWriter output = new StringWriter(elements * 1024);
+        write(output);
+        return output.toString();
+    }
+
+    public void write(OutputStream output) {
+        try {
+            write(XMLOutputFactory.newDefaultFactory().createXMLStreamWriter(output, "UTF-8"));
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Synthetic model could not be generated", e);
+        }
+    }
+
+    public void write(Writer output) {
+        try {
+            write(XMLOutputFactory.newDefaultFactory().createXMLStreamWriter(output));
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Synthetic model could not be generated", e);
+        }
+    }
+
+    private void write(XMLStreamWriter writer) throws XMLStreamException {
+        Random random = new Random(seed);
+
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.setDefaultNamespace(ARCHI_NS);
+        writer.writeStartElement(ARCHI_NS, "model");
+        writer.writeDefaultNamespace(ARCHI_NS);
+        writer.writeNamespace("xsi", XSI_NS);
+        writer.writeAttribute("identifier", "id-synthetic-model");
+
+        writeNames(writer, "Syntetický model " + elements);
+        writer.writeStartElement(ARCHI_NS, "properties");
+        writeProperty(writer, POPIS, "Syntetický model pro měření výkonu konvertoru.");
+        writeProperty(writer, ALKD, "https://data.dia.gov.cz");
+        writer.writeEndElement();
+
+        writer.writeStartElement(ARCHI_NS, "elements");
+        for (int i = 0; i < elements; i++) {
+            writeElement(writer, random, i);
+        }
+        writer.writeEndElement();
+
+        writer.writeStartElement(ARCHI_NS, "relationships");
+        long relationships = elements > 1 ? Math.round(elements * relationshipsPerElement) : 0;
+        for (long i = 0; i < relationships; i++) {
+            writeRelationship(writer, random, i);
+        }
+        writer.writeEndElement();
+
+        writer.writeStartElement(ARCHI_NS, "propertyDefinitions");
+        for (String[] definition : PROPERTY_DEFINITIONS) {
+            writePropertyDefinition(writer, definition[0], definition[1]);
+        }
+        for (int i = 0; i < extraPropertyDefinitions; i++) {
+            writePropertyDefinition(writer, extraPropertyId(i), "vlastní vlastnost " + i);
+        }
+        writer.writeEndElement();
+
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+    }
+
+    private void writeElement(XMLStreamWriter writer, Random random, int index) throws XMLStreamException {
+        writer.writeStartElement(ARCHI_NS, "element");
+        writer.writeAttribute("identifier", elementId(index));
+        writer.writeAttribute(XSI_NS, "type", "BusinessObject");
+        writeNames(writer, "Pojem " + index);
+
+        writer.writeStartElement(ARCHI_NS, "properties");
+        writeProperty(writer, TYP, elementType(random));
+        if (filled(random)) {
+            writeProperty(writer, POPIS, "Popis pojmu " + index + " v syntetickém modelu.");
+        }
+        if (filled(random)) {
+            writeProperty(writer, DEFINICE, "Pojmem " + index + " se rozumí údaj evidovaný v registru.");
+        }
+        if (filled(random)) {
+            writeProperty(writer, ZDROJ, ELI + index);
+        }
+        if (filled(random)) {
+            writeProperty(writer, SOUVISEJICI_ZDROJ, ELI + (index + 1));
+        }
+        if (filled(random)) {
+            writeProperty(writer, AGENDA, "A" + (100 + random.nextInt(900)));
+            writeProperty(writer, AIS, String.valueOf(1 + random.nextInt(99)));
+        }
+        if (filled(random)) {
+            writeProperty(writer, JE_PPDF, random.nextBoolean() ? "ANO" : "NE");
+        }
+        if (filled(random)) {
+            boolean isPublic = random.nextInt(10) > 0;
+            writeProperty(writer, JE_VEREJNY, isPublic ? "ANO" : "NE");
+            if (!isPublic) {
+                writeProperty(writer, UDN, ELI + index + "/odst_1");
+            }
+        }
+        for (int i = 0; i < extraPropertyDefinitions; i++) {
+            if (filled(random)) {
+                writeProperty(writer, extraPropertyId(i), "hodnota " + i);
+            }
+        }
+        writer.writeEndElement();
+
+        writer.writeEndElement();
+    }
+
+    private void writeRelationship(XMLStreamWriter writer, Random random, long index) throws XMLStreamException {
+        int source = random.nextInt(elements);
+        int target = random.nextInt(elements - 1);
+        if (target >= source) {
+            target++;
+        }
+
+        double kind = random.nextDouble();
+        String type;
+        if (kind < compositionShare) {
+            type = "Composition";
+        } else if (kind < compositionShare + specializationShare) {
+            type = "Specialization";
+        } else {
+            type = "Association";
+        }
+
+        writer.writeStartElement(ARCHI_NS, "relationship");
+        writer.writeAttribute("identifier", "id-relationship-" + index);
+        writer.writeAttribute("source", elementId(source));
+        writer.writeAttribute("target", elementId(target));
+        writer.writeAttribute(XSI_NS, "type", type);
+        if (type.equals("Association")) {
+            writeNames(writer, "souvisí s pojmem " + target);
+            writer.writeStartElement(ARCHI_NS, "properties");
+            if (filled(random)) {
+                writeProperty(writer, DEFINICE, "Vztah pojmu " + source + " k pojmu " + target + ".");
+            }
+            if (filled(random)) {
+                writeProperty(writer, ZDROJ, ELI + source);
+            }
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private String elementType(Random random) {
+        int kind = random.nextInt(100);
+        if (kind < 70) {
+            return "typ vlastnosti";
+        }
+        return kind < 85 ? "typ objektu" : "typ subjektu";
+    }
+
+    private boolean filled(Random random) {
+        return random.nextDouble() < propertyDensity;
+    }
+
+    private void writeNames(XMLStreamWriter writer, String name) throws XMLStreamException {
+        for (String language : languages) {
+            writer.writeStartElement(ARCHI_NS, "name");
+            writer.writeAttribute(XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI, "lang", language);
+            writer.writeCharacters(language.equals("cs") ? name : name + " (" + language + ")");
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeProperty(XMLStreamWriter writer, String definitionRef, String value)
+            throws XMLStreamException {
+        writer.writeStartElement(ARCHI_NS, "property");
+        writer.writeAttribute("propertyDefinitionRef", definitionRef);
+        writer.writeStartElement(ARCHI_NS, "value");
+        writer.writeAttribute(XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI, "lang", "cs");
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private void writePropertyDefinition(XMLStreamWriter writer, String id, String name) throws XMLStreamException {
+        writer.writeStartElement(ARCHI_NS, "propertyDefinition");
+        writer.writeAttribute("identifier", id);
+        writer.writeAttribute("type", "string");
+        writer.writeStartElement(ARCHI_NS, "name");
+        writer.writeCharacters(name);
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private static String elementId(int index) {
+        return "id-element-" + index;
+    }
+
+    private static String extraPropertyId(int index) {
+        return "propid-extra-" + index;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Builder builder = builder();
+        Path output = null;
+
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String value = option[1];
+            switch (option[0]) {
+                case "--elements" -> builder.elements(Integer.parseInt(value));
+                case "--relationships-per-element" -> builder.relationshipsPerElement(Double.parseDouble(value));
+                case "--composition-share" -> builder.compositionShare(Double.parseDouble(value));
+                case "--specialization-share" -> builder.specializationShare(Double.parseDouble(value));
+                case "--extra-property-definitions" -> builder.extraPropertyDefinitions(Integer.parseInt(value));
+                case "--languages" -> builder.languages(value.split(","));
+                case "--property-density" -> builder.propertyDensity(Double.parseDouble(value));
+                case "--seed" -> builder.seed(Long.parseLong(value));
+                case "--output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + option[0]);
+            }
+        }
+
+        SyntheticArchiGenerator generator = builder.build();
+        if (output == null) {
+            generator.write(System.out);
+        } else {
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(output))) {
+                generator.write(stream);
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private int elements = 1000;
+        private double relationshipsPerElement = 1.0;
+        private double compositionShare = 0.6;
+        private double specializationShare = 0.15;
+        private int extraPropertyDefinitions = 0;
+        private List<String> languages = List.of("cs");
+        private double propertyDensity = 0.7;
+        private long seed = 42;
+
+        private Builder() {
+        }
+
+        public Builder elements(int elements) {
+            if (elements < 1) {
+                throw new IllegalArgumentException("At least one element is required");
+            }
+            this.elements = elements;
+            return this;
+        }
+
+        public Builder relationshipsPerElement(double relationshipsPerElement) {
+            this.relationshipsPerElement = relationshipsPerElement;
+            return this;
+        }
+
+        /**
+         * Share of Composition relationships; the rest after Specialization are Associations.
+         */
+        public Builder compositionShare(double compositionShare) {
+            this.compositionShare = compositionShare;
+            return this;
+        }
+
+        public Builder specializationShare(double specializationShare) {
+            this.specializationShare = specializationShare;
+            return this;
+        }
+
+        /**
+         * Property definitions on top of the OFN ones, filled in with {@link #propertyDensity(double)}.
+         */
+        public Builder extraPropertyDefinitions(int extraPropertyDefinitions) {
+            this.extraPropertyDefinitions = extraPropertyDefinitions;
+            return this;
+        }
+
+        /**
+         * Languages of the element and relationship names; {@code cs} should stay first, as in real models.
+         */
+        public Builder languages(String... languages) {
+            if (languages.length == 0) {
+                throw new IllegalArgumentException("At least one language is required");
+            }
+            this.languages = new ArrayList<>(List.of(languages));
+            return this;
+        }
+
+        /**
+         * Probability that an optional property is filled in.
+         */
+        public Builder propertyDensity(double propertyDensity) {
+            this.propertyDensity = propertyDensity;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SyntheticArchiGenerator build() {
+            if (compositionShare + specializationShare > 1.0) {
+                throw new IllegalArgumentException("Relationship shares must not exceed 1");
+            }
+            return new SyntheticArchiGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.dia.benchmark;
+
+import com.dia.utility.DataTypeConverter;
+import com.dia.utility.UtilityMethods;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-value helpers that run for nearly every element and property of a model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilityBenchmark {
+
+    /**
+     * Each benchmark gets its own parameter state, so JMH does not run the cross product of names and values.
+     */
+    @State(Scope.Thread)
+    public static class Names {
+
+        @Param({"Řidičský průkaz", "drží řidičský průkaz (skupina B)", "Subjekt"})
+        public String name;
+    }
+
+    @State(Scope.Thread)
+    public static class Values {
+
+        @Param({"true", "2024-07-01", "42", "https://data.dia.gov.cz", "Registr řidičů obsahuje osobní údaje"})
+        public String value;
+
+        private Model model;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            model = ModelFactory.createDefaultModel();
+        }
+    }
+
+    @Benchmark
+    public String sanitizeForIRI(Names names) {
+        return UtilityMethods.sanitizeForIRI(names.name);
+    }
+
+    @Benchmark
+    public Literal createTypedLiteral(Values values) {
+        return DataTypeConverter.createTypedLiteral(values.value, values.model, null, "zdroj");
+    }
+}
@@ -0,0 +1,7 @@
+package com.dia.exceptions;
+
+public class BatchLimitExceededException extends RuntimeException {
+    public BatchLimitExceededException(String message) {
+        super(message);
+    }
+}
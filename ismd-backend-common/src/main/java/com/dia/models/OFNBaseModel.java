@@ -1,136 +1,159 @@
 package com.dia.models;
 
 import lombok.Getter;
-import org.apache.jena.ontology.OntClass;
-import org.apache.jena.ontology.OntModel;
-import org.apache.jena.ontology.OntModelSpec;
-import org.apache.jena.ontology.OntProperty;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.compose.DisjointUnion;
+import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.graph.GraphReadOnly;
 import org.apache.jena.vocabulary.OWL2;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 
 import static com.dia.constants.ArchiOntologyConstants.*;
 
+/**
+ * OFN base vocabulary layered under the data of a single conversion.
+ * <p>
+ * The vocabulary triples are built once per JVM into a read-only graph that all instances share.
+ * Every instance gets its own plain {@link Model} over a {@link DisjointUnion} of a fresh in-memory graph
+ * (receiving all writes) and the shared graph, so creating a converter no longer rebuilds the vocabulary.
+ * No ontology personalities are involved; wrap the model with
+ * {@link ModelFactory#createOntologyModel(org.apache.jena.ontology.OntModelSpec, Model)} where an
+ * {@code OntModel} view is really needed.
+ */
 @Getter
 public class OFNBaseModel {
 
-    private final OntModel ontModel;
+    private static final Graph BASE_GRAPH;
+    private static final PrefixMapping BASE_PREFIXES;
 
-    public OFNBaseModel() {
-        ontModel = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+    static {
+        Model baseModel = ModelFactory.createModelForGraph(GraphMemFactory.createDefaultGraph());
+        baseModel.setNsPrefix("cz", NS);
+        baseModel.setNsPrefix("rdf", RDF.getURI());
+        baseModel.setNsPrefix("rdfs", RDFS.getURI());
+        baseModel.setNsPrefix("owl", OWL2.getURI());
+        baseModel.setNsPrefix("xsd", XSD);
+
+        createBaseModel(baseModel);
 
-        ontModel.setNsPrefix("cz", NS);
-        ontModel.setNsPrefix("rdf", RDF.getURI());
-        ontModel.setNsPrefix("rdfs", RDFS.getURI());
-        ontModel.setNsPrefix("owl", OWL2.getURI());
-        ontModel.setNsPrefix("xsd", XSD);
+        BASE_GRAPH = new GraphReadOnly(baseModel.getGraph());
+        BASE_PREFIXES = PrefixMapping.Factory.create().setNsPrefixes(baseModel).lock();
+    }
 
-        createBaseModel();
+    private final Model model;
+
+    public OFNBaseModel() {
+        model = ModelFactory.createModelForGraph(new DisjointUnion(GraphMemFactory.createDefaultGraph(), BASE_GRAPH));
+        model.setNsPrefixes(BASE_PREFIXES);
     }
 
-    private void createBaseModel() {
-        OntClass xsdString = ontModel.createClass(XSD + "string");
-        OntClass xsdBoolean = ontModel.createClass(XSD + "boolean");
-        OntClass xsdAnyURI = ontModel.createClass(XSD + "anyURI");
-
-        OntClass pojemClass = ontModel.createClass(NS + TYP_POJEM);
-        pojemClass.addLabel(LABEL_POJEM, "cs");
-
-        OntClass vlastnostClass = ontModel.createClass(NS + TYP_VLASTNOST);
-        vlastnostClass.addLabel(LABEL_VLASTNOST, "cs");
-        vlastnostClass.addSuperClass(pojemClass);
-
-        OntClass vztahClass = ontModel.createClass(NS + TYP_VZTAH);
-        vztahClass.addLabel(LABEL_VZTAH, "cs");
-        vztahClass.addSuperClass(pojemClass);
-
-        OntClass tridaClass = ontModel.createClass(NS + TYP_TRIDA);
-        tridaClass.addLabel(LABEL_TRIDA, "cs");
-        tridaClass.addSuperClass(pojemClass);
-
-        OntClass datovyTyp = ontModel.createClass(NS + TYP_DT);
-        datovyTyp.addLabel(LABEL_DT, "cs");
-
-        OntClass typSubjektuClass = ontModel.createClass(NS + TYP_TSP);
-        typSubjektuClass.addLabel(LABEL_TSP, "cs");
-        typSubjektuClass.addSuperClass(tridaClass);
-
-        OntClass typObjektuClass = ontModel.createClass(NS + TYP_TOP);
-        typObjektuClass.addLabel(LABEL_TOP, "cs");
-        typObjektuClass.addSuperClass(tridaClass);
-
-        OntClass verejnyUdajClass = ontModel.createClass(NS + TYP_VEREJNY_UDAJ);
-        verejnyUdajClass.addLabel(LABEL_VU, "cs");
-
-        OntClass neverejnyUdajClass = ontModel.createClass(NS + TYP_NEVEREJNY_UDAJ);
-        neverejnyUdajClass.addLabel(LABEL_NVU, "cs");
-
-        OntProperty nazevProp = ontModel.createOntProperty(NS + LABEL_NAZEV);
-        nazevProp.addLabel(LABEL_NAZEV, "cs");
-        nazevProp.addDomain(pojemClass);
-        nazevProp.addRange(xsdString);
-
-        OntProperty popisProp = ontModel.createOntProperty(NS + LABEL_POPIS);
-        popisProp.addLabel(LABEL_POPIS, "cs");
-        popisProp.addDomain(pojemClass);
-        popisProp.addRange(xsdString);
-
-        OntProperty definiceProp = ontModel.createOntProperty(NS + LABEL_DEF);
-        definiceProp.addLabel(LABEL_DEF, "cs");
-        definiceProp.addDomain(pojemClass);
-        definiceProp.addRange(xsdString);
-
-        OntProperty zdrojProp = ontModel.createOntProperty(NS + LABEL_ZDROJ);
-        zdrojProp.addLabel(LABEL_ZDROJ, "cs");
-        zdrojProp.addDomain(pojemClass);
-        zdrojProp.addRange(xsdAnyURI);
-
-        OntProperty jeSdilenVPpdfProp = ontModel.createOntProperty(NS + LABEL_JE_PPDF);
-        jeSdilenVPpdfProp.addLabel(LABEL_JE_PPDF, "cs");
-        jeSdilenVPpdfProp.addDomain(pojemClass);
-        jeSdilenVPpdfProp.addRange(xsdBoolean);
-
-        OntProperty agendaProp = ontModel.createOntProperty(NS + LABEL_AGENDA);
-        agendaProp.addLabel(LABEL_AGENDA, "cs");
-        agendaProp.addDomain(pojemClass);
-        agendaProp.addRange(RDFS.Resource);
-
-        OntProperty aisProp = ontModel.createOntProperty(NS + LABEL_AIS);
-        aisProp.addLabel(LABEL_AIS, "cs");
-        aisProp.addDomain(pojemClass);
-        aisProp.addRange(RDFS.Resource);
-
-        OntProperty ustanoveniProp = ontModel.createOntProperty(NS + LABEL_UDN);
-        ustanoveniProp.addLabel(LABEL_UDN, "cs");
-        ustanoveniProp.addDomain(neverejnyUdajClass);
-        ustanoveniProp.addRange(RDFS.Resource);
-
-        OntProperty definicniOborProp = ontModel.createOntProperty(NS + LABEL_DEF_O);
-        definicniOborProp.addLabel(LABEL_DEF_O, "cs");
-
-        OntProperty oborHodnotProp = ontModel.createOntProperty(NS + LABEL_OBOR_HODNOT);
-        oborHodnotProp.addLabel(LABEL_OBOR_HODNOT, "cs");
-
-        OntProperty nadrazenaTrida = ontModel.createOntProperty(NS + LABEL_NT);
-        nadrazenaTrida.addLabel(LABEL_NT, "cs");
-
-        OntProperty souvisejiciUstanoveni = ontModel.createOntProperty(NS + LABEL_SUPP);
-        souvisejiciUstanoveni.addLabel(LABEL_SUPP, "cs");
-
-        OntProperty zpusobSdileniProp = ontModel.createOntProperty(NS + LABEL_ZPUSOB_SDILENI);
-        zpusobSdileniProp.addLabel("Způsob sdílení údaje", "cs");
-        zpusobSdileniProp.addDomain(pojemClass);
-        zpusobSdileniProp.addRange(RDFS.Resource);
-
-        OntProperty zpusobZiskaniProp = ontModel.createOntProperty(NS + LABEL_ZPUSOB_ZISKANI);
-        zpusobZiskaniProp.addLabel("Způsob získání údaje", "cs");
-        zpusobZiskaniProp.addDomain(pojemClass);
-        zpusobZiskaniProp.addRange(RDFS.Resource);
-
-        OntProperty typObsahuProp = ontModel.createOntProperty(NS + LABEL_TYP_OBSAHU);
-        typObsahuProp.addLabel("Typ obsahu údaje", "cs");
-        typObsahuProp.addDomain(pojemClass);
-        typObsahuProp.addRange(RDFS.Resource);
+    private static void createBaseModel(Model model) {
+        Resource xsdString = model.createResource(XSD + "string", OWL2.Class);
+        Resource xsdBoolean = model.createResource(XSD + "boolean", OWL2.Class);
+        Resource xsdAnyURI = model.createResource(XSD + "anyURI", OWL2.Class);
+
+        Resource pojemClass = model.createResource(NS + TYP_POJEM, OWL2.Class);
+        pojemClass.addProperty(RDFS.label, LABEL_POJEM, "cs");
+
+        Resource vlastnostClass = model.createResource(NS + TYP_VLASTNOST, OWL2.Class);
+        vlastnostClass.addProperty(RDFS.label, LABEL_VLASTNOST, "cs");
+        vlastnostClass.addProperty(RDFS.subClassOf, pojemClass);
+
+        Resource vztahClass = model.createResource(NS + TYP_VZTAH, OWL2.Class);
+        vztahClass.addProperty(RDFS.label, LABEL_VZTAH, "cs");
+        vztahClass.addProperty(RDFS.subClassOf, pojemClass);
+
+        Resource tridaClass = model.createResource(NS + TYP_TRIDA, OWL2.Class);
+        tridaClass.addProperty(RDFS.label, LABEL_TRIDA, "cs");
+        tridaClass.addProperty(RDFS.subClassOf, pojemClass);
+
+        Resource datovyTyp = model.createResource(NS + TYP_DT, OWL2.Class);
+        datovyTyp.addProperty(RDFS.label, LABEL_DT, "cs");
+
+        Resource typSubjektuClass = model.createResource(NS + TYP_TSP, OWL2.Class);
+        typSubjektuClass.addProperty(RDFS.label, LABEL_TSP, "cs");
+        typSubjektuClass.addProperty(RDFS.subClassOf, tridaClass);
+
+        Resource typObjektuClass = model.createResource(NS + TYP_TOP, OWL2.Class);
+        typObjektuClass.addProperty(RDFS.label, LABEL_TOP, "cs");
+        typObjektuClass.addProperty(RDFS.subClassOf, tridaClass);
+
+        Resource verejnyUdajClass = model.createResource(NS + TYP_VEREJNY_UDAJ, OWL2.Class);
+        verejnyUdajClass.addProperty(RDFS.label, LABEL_VU, "cs");
+
+        Resource neverejnyUdajClass = model.createResource(NS + TYP_NEVEREJNY_UDAJ, OWL2.Class);
+        neverejnyUdajClass.addProperty(RDFS.label, LABEL_NVU, "cs");
+
+        Resource nazevProp = model.createResource(NS + LABEL_NAZEV, RDF.Property);
+        nazevProp.addProperty(RDFS.label, LABEL_NAZEV, "cs");
+        nazevProp.addProperty(RDFS.domain, pojemClass);
+        nazevProp.addProperty(RDFS.range, xsdString);
+
+        Resource popisProp = model.createResource(NS + LABEL_POPIS, RDF.Property);
+        popisProp.addProperty(RDFS.label, LABEL_POPIS, "cs");
+        popisProp.addProperty(RDFS.domain, pojemClass);
+        popisProp.addProperty(RDFS.range, xsdString);
+
+        Resource definiceProp = model.createResource(NS + LABEL_DEF, RDF.Property);
+        definiceProp.addProperty(RDFS.label, LABEL_DEF, "cs");
+        definiceProp.addProperty(RDFS.domain, pojemClass);
+        definiceProp.addProperty(RDFS.range, xsdString);
+
+        Resource zdrojProp = model.createResource(NS + LABEL_ZDROJ, RDF.Property);
+        zdrojProp.addProperty(RDFS.label, LABEL_ZDROJ, "cs");
+        zdrojProp.addProperty(RDFS.domain, pojemClass);
+        zdrojProp.addProperty(RDFS.range, xsdAnyURI);
+
+        Resource jeSdilenVPpdfProp = model.createResource(NS + LABEL_JE_PPDF, RDF.Property);
+        jeSdilenVPpdfProp.addProperty(RDFS.label, LABEL_JE_PPDF, "cs");
+        jeSdilenVPpdfProp.addProperty(RDFS.domain, pojemClass);
+        jeSdilenVPpdfProp.addProperty(RDFS.range, xsdBoolean);
+
+        Resource agendaProp = model.createResource(NS + LABEL_AGENDA, RDF.Property);
+        agendaProp.addProperty(RDFS.label, LABEL_AGENDA, "cs");
+        agendaProp.addProperty(RDFS.domain, pojemClass);
+        agendaProp.addProperty(RDFS.range, RDFS.Resource);
+
+        Resource aisProp = model.createResource(NS + LABEL_AIS, RDF.Property);
+        aisProp.addProperty(RDFS.label, LABEL_AIS, "cs");
+        aisProp.addProperty(RDFS.domain, pojemClass);
+        aisProp.addProperty(RDFS.range, RDFS.Resource);
+
+        Resource ustanoveniProp = model.createResource(NS + LABEL_UDN, RDF.Property);
+        ustanoveniProp.addProperty(RDFS.label, LABEL_UDN, "cs");
+        ustanoveniProp.addProperty(RDFS.domain, neverejnyUdajClass);
+        ustanoveniProp.addProperty(RDFS.range, RDFS.Resource);
+
+        Resource definicniOborProp = model.createResource(NS + LABEL_DEF_O, RDF.Property);
+        definicniOborProp.addProperty(RDFS.label, LABEL_DEF_O, "cs");
+
+        Resource oborHodnotProp = model.createResource(NS + LABEL_OBOR_HODNOT, RDF.Property);
+        oborHodnotProp.addProperty(RDFS.label, LABEL_OBOR_HODNOT, "cs");
+
+        Resource nadrazenaTrida = model.createResource(NS + LABEL_NT, RDF.Property);
+        nadrazenaTrida.addProperty(RDFS.label, LABEL_NT, "cs");
+
+        Resource souvisejiciUstanoveni = model.createResource(NS + LABEL_SUPP, RDF.Property);
+        souvisejiciUstanoveni.addProperty(RDFS.label, LABEL_SUPP, "cs");
+
+        Resource zpusobSdileniProp = model.createResource(NS + LABEL_ZPUSOB_SDILENI, RDF.Property);
+        zpusobSdileniProp.addProperty(RDFS.label, "Způsob sdílení údaje", "cs");
+        zpusobSdileniProp.addProperty(RDFS.domain, pojemClass);
+        zpusobSdileniProp.addProperty(RDFS.range, RDFS.Resource);
+
+        Resource zpusobZiskaniProp = model.createResource(NS + LABEL_ZPUSOB_ZISKANI, RDF.Property);
+        zpusobZiskaniProp.addProperty(RDFS.label, "Způsob získání údaje", "cs");
+        zpusobZiskaniProp.addProperty(RDFS.domain, pojemClass);
+        zpusobZiskaniProp.addProperty(RDFS.range, RDFS.Resource);
+
+        Resource typObsahuProp = model.createResource(NS + LABEL_TYP_OBSAHU, RDF.Property);
+        typObsahuProp.addProperty(RDFS.label, "Typ obsahu údaje", "cs");
+        typObsahuProp.addProperty(RDFS.domain, pojemClass);
+        typObsahuProp.addProperty(RDFS.range, RDFS.Resource);
     }
 }
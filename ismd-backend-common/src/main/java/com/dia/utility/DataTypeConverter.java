@@ -8,19 +8,17 @@ import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.regex.Pattern;
 
 @Slf4j
 public class DataTypeConverter {
 
-    private static final Pattern INTEGER_PATTERN = Pattern.compile("^-?\\d+$");
-    private static final Pattern DOUBLE_PATTERN = Pattern.compile("^-?\\d+(\\.\\d+)?$");
-
     private static final DateTimeFormatter[] DATE_FORMATTERS = {
             DateTimeFormatter.ISO_LOCAL_DATE,
             DateTimeFormatter.ofPattern("dd.MM.yyyy"),
@@ -39,6 +37,18 @@ public class DataTypeConverter {
             DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
     };
 
+    /*
+     * Shapes a value can have, found by a single scan in shapeOf. A value that does not have the shape of a
+     * type can never be parsed as that type, so the formatters below only run for likely matches and plain
+     * text never throws a DateTimeParseException or URISyntaxException.
+     */
+    private static final int URI_SHAPE = 1;
+    private static final int DATE_SHAPE = 1 << 1;
+    private static final int TIME_SHAPE = 1 << 2;
+    private static final int DATETIME_SHAPE = 1 << 3;
+    private static final int INTEGER_SHAPE = 1 << 4;
+    private static final int DOUBLE_SHAPE = 1 << 5;
+
     private DataTypeConverter() {
     }
 
@@ -120,27 +130,29 @@ public class DataTypeConverter {
             return new DetectionResult("xsd:boolean", "Detected as boolean");
         }
 
-        if (isUri(value)) {
+        int shape = shapeOf(value);
+
+        if ((shape & URI_SHAPE) != 0 && parsesAsUri(value)) {
             return new DetectionResult("xsd:anyURI", "Detected as URI");
         }
 
-        if (isDate(value)) {
+        if ((shape & DATE_SHAPE) != 0 && parsesAsDate(value)) {
             return new DetectionResult("xsd:date", "Detected as date");
         }
 
-        if (isTime(value)) {
+        if ((shape & TIME_SHAPE) != 0 && parsesAsTime(value)) {
             return new DetectionResult("xsd:time", "Detected as time");
         }
 
-        if (isDateTime(value)) {
+        if ((shape & DATETIME_SHAPE) != 0 && parsesAsDateTime(value)) {
             return new DetectionResult("xsd:dateTime", "Detected as dateTime");
         }
 
-        if (isInteger(value)) {
+        if ((shape & INTEGER_SHAPE) != 0) {
             return new DetectionResult("xsd:integer", "Detected as integer");
         }
 
-        if (isDouble(value)) {
+        if ((shape & DOUBLE_SHAPE) != 0) {
             return new DetectionResult("xsd:double", "Detected as double");
         }
 
@@ -196,23 +208,145 @@ public class DataTypeConverter {
     }
 
     public static boolean isInteger(String value) {
-        return INTEGER_PATTERN.matcher(value).matches();
+        return (shapeOf(value) & INTEGER_SHAPE) != 0;
     }
 
     public static boolean isDouble(String value) {
-        return DOUBLE_PATTERN.matcher(value).matches();
+        return (shapeOf(value) & DOUBLE_SHAPE) != 0;
     }
 
     public static boolean isUri(String value) {
+        return value != null && (shapeOf(value) & URI_SHAPE) != 0 && parsesAsUri(value);
+    }
+
+    public static boolean isDate(String value) {
+        return (shapeOf(value) & DATE_SHAPE) != 0 && parsesAsDate(value);
+    }
+
+    public static boolean isTime(String value) {
+        return (shapeOf(value) & TIME_SHAPE) != 0 && parsesAsTime(value);
+    }
+
+    public static boolean isDateTime(String value) {
+        return (shapeOf(value) & DATETIME_SHAPE) != 0 && parsesAsDateTime(value);
+    }
+
+    /**
+     * Scans the value once and returns the shapes it matches:
+     * <ul>
+     *     <li>URI: starts with {@code scheme://}, the only form for which {@link URI} reports a host,</li>
+     *     <li>date: digits, signs and exactly two {@code -} or {@code .} separators,</li>
+     *     <li>time: digits and dots with one or two colons,</li>
+     *     <li>dateTime: a date and a time separated by a single {@code T} or space,</li>
+     *     <li>integer: {@code -?\d+},</li>
+     *     <li>double: {@code -?\d+(\.\d+)?}.</li>
+     * </ul>
+     */
+    private static int shapeOf(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return 0;
+        }
+
+        int shape = 0;
+        if (hasSchemeAndAuthority(value)) {
+            shape |= URI_SHAPE;
+        }
+
+        boolean temporalChars = true;
+        boolean signedDigits = true;
+        int separators = 0;
+        int colons = 0;
+        int dateTimeSeparators = 0;
+        int dots = 0;
+        int digits = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '-' || c == '+') {
+                if (i > 0) {
+                    separators += c == '-' ? 1 : 0;
+                    signedDigits = false;
+                } else if (c == '+') {
+                    signedDigits = false;
+                }
+            } else if (c == '.') {
+                separators++;
+                dots++;
+            } else if (c == ':') {
+                colons++;
+                signedDigits = false;
+            } else if (c == 'T' || c == 't' || c == ' ') {
+                dateTimeSeparators++;
+                signedDigits = false;
+            } else {
+                temporalChars = false;
+                signedDigits = false;
+                break;
+            }
+        }
+
+        if (!temporalChars || digits == 0) {
+            return shape;
+        }
+
+        if (colons == 0 && dateTimeSeparators == 0 && separators == 2) {
+            shape |= DATE_SHAPE;
+        }
+        if (colons >= 1 && colons <= 2 && dateTimeSeparators == 0 && separators == dots
+                && value.charAt(0) >= '0' && value.charAt(0) <= '9') {
+            shape |= TIME_SHAPE;
+        }
+        if (colons >= 1 && colons <= 2 && dateTimeSeparators == 1) {
+            shape |= DATETIME_SHAPE;
+        }
+        if (signedDigits) {
+            shape |= numberShape(value);
+        }
+        return shape;
+    }
+
+    private static int numberShape(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return start < value.length() ? INTEGER_SHAPE | DOUBLE_SHAPE : 0;
+        }
+        boolean wholePart = dot > start;
+        boolean fractionPart = dot < value.length() - 1 && value.indexOf('.', dot + 1) < 0;
+        return wholePart && fractionPart ? DOUBLE_SHAPE : 0;
+    }
+
+    private static boolean hasSchemeAndAuthority(String value) {
+        char first = value.charAt(0);
+        if (!(first >= 'a' && first <= 'z' || first >= 'A' && first <= 'Z')) {
+            return false;
+        }
+        for (int i = 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ':') {
+                return value.startsWith("//", i + 1);
+            }
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || c == '+' || c == '-' || c == '.')) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean parsesAsUri(String value) {
         try {
-            java.net.URI uri = new java.net.URI(value);
+            URI uri = new URI(value);
             return uri.getScheme() != null && uri.getHost() != null;
-        } catch (Exception e) {
+        } catch (URISyntaxException e) {
             return false;
         }
     }
 
-    public static boolean isDate(String value) {
+    private static boolean parsesAsDate(String value) {
         for (DateTimeFormatter formatter : DATE_FORMATTERS) {
             try {
                 LocalDate.parse(value, formatter);
@@ -224,7 +358,7 @@ public class DataTypeConverter {
         return false;
     }
 
-    public static boolean isTime(String value) {
+    private static boolean parsesAsTime(String value) {
         for (DateTimeFormatter formatter : TIME_FORMATTERS) {
             try {
                 LocalTime.parse(value, formatter);
@@ -236,7 +370,7 @@ public class DataTypeConverter {
         return false;
     }
 
-    public static boolean isDateTime(String value) {
+    private static boolean parsesAsDateTime(String value) {
         for (DateTimeFormatter formatter : DATETIME_FORMATTERS) {
             try {
                 LocalDateTime.parse(value, formatter);
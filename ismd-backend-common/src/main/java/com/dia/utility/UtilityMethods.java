@@ -64,7 +64,9 @@ public class UtilityMethods {
 
         String lowercased = input.toLowerCase();
 
-        StringBuilder result = new StringBuilder();
+        // Invalid characters become '-', runs of '-' collapse into one and leading or trailing ones are dropped,
+        // all in one pass.
+        StringBuilder result = new StringBuilder(lowercased.length());
         boolean isFirst = true;
 
         for (int i = 0; i < lowercased.length(); i++) {
@@ -74,23 +76,20 @@ public class UtilityMethods {
                 if (UtilityMethods.isValidFirstChar(ch)) {
                     result.append(ch);
                     isFirst = false;
-                } else {
-                    result.append('-');
-                }
-            } else {
-                if (UtilityMethods.isValidSubsequentChar(ch)) {
-                    result.append(ch);
-                } else {
-                    result.append('-');
                 }
+            } else if (ch != '-' && UtilityMethods.isValidSubsequentChar(ch)) {
+                result.append(ch);
+            } else if (result.charAt(result.length() - 1) != '-') {
+                result.append('-');
             }
         }
 
-        String sanitized = result.toString().replaceAll("-+", "-");
-        sanitized = sanitized.replaceAll("-+$", "");
-        sanitized = sanitized.replaceAll("^-+", "");
+        int length = result.length();
+        if (length > 0 && result.charAt(length - 1) == '-') {
+            result.setLength(length - 1);
+        }
 
-        return sanitized.isEmpty() ? "unnamed" : sanitized;
+        return result.isEmpty() ? "unnamed" : result.toString();
     }
 
     public Map<String, Object> filterMap(Map<String, Object> map) {
@@ -0,0 +1,41 @@
+package com.dia.models;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+
+import static com.dia.constants.ArchiOntologyConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OFNBaseModelUnitTest {
+
+    @Test
+    void testBaseVocabularyIsVisibleInEveryInstance() {
+        Model model = new OFNBaseModel().getModel();
+
+        Resource pojem = model.getResource(NS + TYP_POJEM);
+        assertTrue(model.contains(pojem, RDFS.label, LABEL_POJEM, "cs"));
+        assertTrue(model.contains(model.getResource(NS + TYP_VZTAH), RDFS.subClassOf, pojem));
+        assertEquals(NS, model.getNsPrefixURI("cz"));
+        assertEquals(XSD, model.getNsPrefixURI("xsd"));
+    }
+
+    @Test
+    void testWritesStayInTheirOwnInstance() {
+        Model first = new OFNBaseModel().getModel();
+        Model second = new OFNBaseModel().getModel();
+        long baseSize = second.size();
+
+        Resource concept = first.createResource(NS + "řidič");
+        concept.addProperty(RDF.type, first.getResource(NS + TYP_TRIDA));
+        first.setNsPrefix("data", "https://data.dia.gov.cz/");
+
+        assertEquals(baseSize + 1, first.size());
+        assertEquals(baseSize, second.size());
+        assertFalse(second.containsResource(concept));
+        assertNull(second.getNsPrefixURI("data"));
+        assertEquals(baseSize, new OFNBaseModel().getModel().size());
+    }
+}
@@ -387,4 +387,28 @@ class DataTypeConverterUnitTest {
 
         assertNotNull(result);
     }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "mailto:info@dia.gov.cz                  | false | false | false | false | false",
+            "urn:isbn:0451450523                     | false | false | false | false | false",
+            "+12345-01-01                            | false | true  | false | false | false",
+            "2024-02-30                              | false | false | false | false | false",
+            "14:30:00.5                              | false | false | true  | false | false",
+            "25.12.2023 14:30:00                     | false | false | false | true  | false",
+            "2023-12-25t14:30                        | false | false | false | true  | false",
+            "1.2.3                                   | false | false | false | false | false",
+            "-.5                                     | false | false | false | false | false",
+            "5.                                      | false | false | false | false | false",
+            "99999999999                             | false | false | false | false | true",
+            "Registr řidičů obsahuje osobní údaje    | false | false | false | false | false"
+    })
+    void testDetection_withValuesCloseToOtherTypes(String value, boolean uri, boolean date, boolean time,
+                                                   boolean dateTime, boolean integer) {
+        assertEquals(uri, DataTypeConverter.isUri(value));
+        assertEquals(date, DataTypeConverter.isDate(value));
+        assertEquals(time, DataTypeConverter.isTime(value));
+        assertEquals(dateTime, DataTypeConverter.isDateTime(value));
+        assertEquals(integer, DataTypeConverter.isInteger(value));
+    }
 }
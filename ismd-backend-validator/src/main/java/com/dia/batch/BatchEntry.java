@@ -0,0 +1,18 @@
+package com.dia.batch;
+
+import java.nio.file.Path;
+
+/**
+ * One file of a batch conversion, spooled to {@code upload}. {@code error} is set when the file was rejected
+ * while unpacking the batch and will not be converted.
+ */
+public record BatchEntry(String name, Path upload, String error) {
+
+    public static BatchEntry of(String name, Path upload) {
+        return new BatchEntry(name, upload, null);
+    }
+
+    public static BatchEntry rejected(String name, String error) {
+        return new BatchEntry(name, null, error);
+    }
+}
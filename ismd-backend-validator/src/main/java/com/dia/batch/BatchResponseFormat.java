@@ -0,0 +1,19 @@
+package com.dia.batch;
+
+import com.dia.exceptions.UnsupportedFormatException;
+
+public enum BatchResponseFormat {
+    ZIP,
+    NDJSON;
+
+    public static BatchResponseFormat from(String value) {
+        if (value == null || value.isEmpty()) {
+            return ZIP;
+        }
+        return switch (value.toLowerCase()) {
+            case "zip" -> ZIP;
+            case "ndjson" -> NDJSON;
+            default -> throw new UnsupportedFormatException("Nepodporovaný formát dávkové odpovědi: " + value);
+        };
+    }
+}
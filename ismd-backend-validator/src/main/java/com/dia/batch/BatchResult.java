@@ -0,0 +1,19 @@
+package com.dia.batch;
+
+/**
+ * Outcome of converting one {@link BatchEntry}: either the exported {@code body} or a user facing {@code error}.
+ */
+public record BatchResult(String name, byte[] body, String error) {
+
+    public static BatchResult success(String name, byte[] body) {
+        return new BatchResult(name, body, null);
+    }
+
+    public static BatchResult failure(String name, String error) {
+        return new BatchResult(name, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
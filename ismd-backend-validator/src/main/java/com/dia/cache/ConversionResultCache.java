@@ -0,0 +1,153 @@
+package com.dia.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed cache of exported conversion results.
+ * <p>
+ * Entries are keyed by the SHA-256 of the uploaded file together with every option that changes the output,
+ * so a repeated upload of the same model is answered without parsing or converting it again. The cache is
+ * bounded by the total size of the stored results and evicts with Caffeine's W-TinyLFU policy. A single result
+ * is recorded only up to {@code conversion.cache.max-entry-size}; larger results are streamed without a copy.
+ */
+@Component
+@Slf4j
+public class ConversionResultCache {
+
+    private final Cache<String, CachedResult> cache;
+    private final long maxEntrySize;
+
+    public ConversionResultCache(@Value("${conversion.cache.maximum-size:64MB}") DataSize maximumSize,
+                                 @Value("${conversion.cache.max-entry-size:4MB}") DataSize maxEntrySize,
+                                 @Value("${conversion.cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.maxEntrySize = Math.min(maxEntrySize.toBytes(), maximumSize.toBytes());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, CachedResult result) -> result.body().length)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Builds the cache key, which also serves as the ETag of the response. The upload is read to the end
+     * but not closed.
+     */
+    public String key(InputStream upload, String output, boolean stream, boolean removeInvalidSources)
+            throws IOException {
+        return key(upload, OutputStream.nullOutputStream(), output, stream, removeInvalidSources);
+    }
+
+    /**
+     * Builds the cache key like {@link #key(InputStream, String, boolean, boolean)} and writes every byte read
+     * from the upload to {@code copy}, so the upload can be spooled and hashed in one pass.
+     */
+    public String key(InputStream upload, OutputStream copy, String output, boolean stream,
+                      boolean removeInvalidSources) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        new DigestInputStream(upload, digest).transferTo(copy);
+
+        return HexFormat.of().formatHex(digest.digest())
+                + ":" + output + ":" + stream + ":" + removeInvalidSources;
+    }
+
+    public CachedResult get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Wraps {@code body} so that everything it writes is also recorded and stored under {@code key} once the
+     * body has been written completely. Results that fail half way are never stored, and recording stops as
+     * soon as the result grows past the maximum entry size.
+     */
+    public StreamingResponseBody caching(String key, MediaType contentType, StreamingResponseBody body) {
+        return outputStream -> {
+            RecordingOutputStream recording = new RecordingOutputStream(outputStream, maxEntrySize);
+            body.writeTo(recording);
+            if (!recording.isOverflowed()) {
+                cache.put(key, new CachedResult(contentType, recording.toByteArray()));
+                log.debug("Conversion result cached: key={}, size={}", key, recording.size());
+            }
+        };
+    }
+
+    public record CachedResult(MediaType contentType, byte[] body) {
+    }
+
+    private static final class RecordingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private RecordingOutputStream(OutputStream target, long limit) {
+            this.target = target;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+            if (reserve(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            if (reserve(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        private boolean reserve(int len) {
+            if (copy != null && copy.size() + (long) len > limit) {
+                copy = null;
+            }
+            return copy != null;
+        }
+
+        private boolean isOverflowed() {
+            return copy == null;
+        }
+
+        private int size() {
+            return copy.size();
+        }
+
+        private byte[] toByteArray() {
+            return copy.toByteArray();
+        }
+    }
+}
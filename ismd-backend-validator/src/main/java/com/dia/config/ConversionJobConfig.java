@@ -0,0 +1,58 @@
+package com.dia.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class ConversionJobConfig {
+
+    /**
+     * Bounded pool for asynchronous conversions. Once all workers are busy and the queue is full, further
+     * submissions are rejected with {@link org.springframework.core.task.TaskRejectedException}
+     * instead of piling up. With {@code spring.threads.virtual.enabled} (Java 21 build) the workers are
+     * virtual threads; the pool size and queue still bound the number of jobs.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor conversionJobExecutor(
+            @Value("${conversion.jobs.pool-size:2}") int poolSize,
+            @Value("${conversion.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("conversion-job-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("conversion-job-").getVirtualThreadFactory());
+        }
+        return executor;
+    }
+
+    /**
+     * Bounded pool converting the entries of batch requests. When the pool and its queue are full, the thread
+     * writing the batch response converts the entry itself, which throttles the batch instead of failing it.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor conversionBatchExecutor(
+            @Value("${conversion.batch.pool-size:4}") int poolSize,
+            @Value("${conversion.batch.queue-capacity:100}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("conversion-batch-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("conversion-batch-").getVirtualThreadFactory());
+        }
+        return executor;
+    }
+}
@@ -1,24 +1,50 @@
 package com.dia.controller;
 
+import com.dia.batch.BatchEntry;
+import com.dia.batch.BatchResponseFormat;
+import com.dia.cache.ConversionResultCache;
+import com.dia.cache.ConversionResultCache.CachedResult;
+import com.dia.detector.FormatSniffer;
+import com.dia.detector.FormatSniffer.SniffedUpload;
+import com.dia.engine.ConversionContext;
 import com.dia.enums.FileFormat;
+import com.dia.exceptions.BatchLimitExceededException;
 import com.dia.exceptions.JsonExportException;
+import com.dia.exceptions.TurtleExportException;
 import com.dia.exceptions.UnsupportedFormatException;
+import com.dia.job.ConversionJob;
+import com.dia.job.ConversionJobResponse;
+import com.dia.service.BatchConversionService;
+import com.dia.service.ConversionJobService;
 import com.dia.service.ConverterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.riot.RDFFormat;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
-import static com.dia.constants.ConvertorControllerConstants.*;
+import static com.dia.constants.ConvertorControllerConstants.LOG_REQUEST_ID;
 
 @RestController
 @RequestMapping("/api/convertor")
@@ -26,16 +52,28 @@ import static com.dia.constants.ConvertorControllerConstants.*;
 @Slf4j
 public class ConverterController {
 
-    private static final long MAX_FILE_SIZE = 5242880;
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    private static final MediaType N_TRIPLES = MediaType.valueOf("application/n-triples");
+    private static final MediaType NDJSON = MediaType.valueOf("application/x-ndjson");
+    private static final Set<String> OUTPUT_FORMATS = Set.of("json", "ttl", "nt");
 
     private final ConverterService converterService;
+    private final ConversionJobService conversionJobService;
+    private final BatchConversionService batchConversionService;
+    private final FormatSniffer formatSniffer;
+    private final ConversionResultCache conversionResultCache;
+
+    @Value("${conversion.upload.max-file-size:200MB}")
+    private DataSize maxFileSize;
 
     @PostMapping("/convert")
-    public ResponseEntity<String> convertFile(
+    public ResponseEntity<StreamingResponseBody> convertFile(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "output", required = false) String output,
             @RequestParam(value= "removeInvalidSources", required = false) Boolean removeInvalidSources,
-            @RequestHeader(value = "Accept", required = false) String acceptHeader
+            @RequestParam(value = "stream", defaultValue = "false") boolean stream,
+            @RequestHeader(value = "Accept", required = false) String acceptHeader,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
     ) {
         String requestId = UUID.randomUUID().toString();
         MDC.put(LOG_REQUEST_ID, requestId);
@@ -48,154 +86,342 @@ public class ConverterController {
         try {
             if (file.isEmpty()) {
                 log.warn("Empty file upload attempt");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Nebyl vložen žádný soubor.");
+                return textResponse(HttpStatus.BAD_REQUEST, "Nebyl vložen žádný soubor.");
             }
 
-            if (file.getSize() > MAX_FILE_SIZE) {
+            if (file.getSize() > maxFileSize.toBytes()) {
                 log.warn("File too large: filename={}, size={}, maxAllowedSize={}",
-                        file.getOriginalFilename(), file.getSize(), MAX_FILE_SIZE);
-                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
-                        .body("Soubor je příliš velký. Maximální povolená velikost je 5 MB.");
+                        file.getOriginalFilename(), file.getSize(), maxFileSize.toBytes());
+                return textResponse(HttpStatus.PAYLOAD_TOO_LARGE, fileTooLargeMessage());
             }
 
-            FileFormat fileFormat = checkFileFormat(file);
-            if (fileFormat == FileFormat.UNSUPPORTED) {
-                log.warn("Unsupported file type upload attempt");
-                return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
-            }
+            ConversionContext context;
+            String cacheKey;
+            FileFormat fileFormat;
+            try (SniffedUpload upload = sniff(file)) {
+                fileFormat = upload.format();
+                if (fileFormat == FileFormat.UNSUPPORTED) {
+                    log.warn("Unsupported file type upload attempt");
+                    return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+                }
 
-            log.info("File format determined: requestId={}, format={}", requestId, fileFormat);
+                log.info("File format determined: requestId={}, format={}", requestId, fileFormat);
 
-            switch (fileFormat) {
-                case TURTLE -> {
-                    log.debug("Processing Turtle file: requestId={}", requestId);
-                    byte[] fileContent = file.getBytes();
-                    log.info("Returning Turtle file without conversion: requestId={}", requestId);
-                    return ResponseEntity.ok()
-                            .contentType(MediaType.TEXT_PLAIN)
-                            .body(new String(fileContent, StandardCharsets.UTF_8));
-                }
-                case ARCHI_XML -> {
-                    log.debug("Processing Archi XML file: requestId={}", requestId);
-                    String xmlContent = new String(file.getBytes(), StandardCharsets.UTF_8);
-                    converterService.parseArchiFromString(xmlContent);
-                    converterService.convertArchi(removeInvalidSources != null && removeInvalidSources);
-                    log.info("Archi XML file successfully processed: requestId={}", requestId);
-                }
-                case XMI -> log.debug("Processing XMI file: requestId={}", requestId);
-                case XLSX -> log.debug("Processing XLS file: requestId={}", requestId);
-                default -> {
-                    log.warn("Unhandled file format: requestId={}, format={}", requestId, fileFormat);
-                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                switch (fileFormat) {
+                    case TURTLE -> {
+                        log.debug("Processing Turtle file: requestId={}", requestId);
+                        cacheKey = null;
+                        context = converterService.parseTurtle(upload.input());
+                        converterService.convertArchi(context, removeInvalidSources != null && removeInvalidSources);
+                        log.info("Turtle file successfully processed: requestId={}", requestId);
+                    }
+                    case ARCHI_XML -> {
+                        log.debug("Processing Archi XML file: requestId={}", requestId);
+                        boolean removeSources = removeInvalidSources != null && removeInvalidSources;
+                        Path spooled = Files.createTempFile("ismd-upload-", ".xml");
+                        try {
+                            try (OutputStream copy = Files.newOutputStream(spooled)) {
+                                cacheKey = conversionResultCache.key(upload.input(), copy,
+                                        outputFormat, stream, removeSources);
+                            }
+
+                            String etag = toETag(cacheKey);
+                            if (matchesETag(ifNoneMatch, etag)) {
+                                log.info("Conversion result not modified: requestId={}", requestId);
+                                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                            }
+
+                            CachedResult cached = conversionResultCache.get(cacheKey);
+                            if (cached != null) {
+                                log.info("Returning cached conversion result: requestId={}, size={}",
+                                        requestId, cached.body().length);
+                                byte[] body = cached.body();
+                                return ResponseEntity.ok()
+                                        .eTag(etag)
+                                        .contentType(cached.contentType())
+                                        .body(outputStream -> outputStream.write(body));
+                            }
+
+                            context = converterService.parseArchi(spooled);
+                        } finally {
+                            Files.deleteIfExists(spooled);
+                        }
+                        converterService.convertArchi(context, removeSources);
+                        log.info("Archi XML file successfully processed: requestId={}", requestId);
+                    }
+                    case XLSX -> {
+                        log.debug("Processing XLSX file: requestId={}", requestId);
+                        cacheKey = null;
+                        context = converterService.parseXlsx(upload.input());
+                        converterService.convertArchi(context, removeInvalidSources != null && removeInvalidSources);
+                        log.info("XLSX file successfully processed: requestId={}", requestId);
+                    }
+                    case XMI -> {
+                        log.debug("Processing XMI file: requestId={}", requestId);
+                        cacheKey = null;
+                        context = converterService.parseXmi(upload.input());
+                        converterService.convertArchi(context, removeInvalidSources != null && removeInvalidSources);
+                        log.info("XMI file successfully processed: requestId={}", requestId);
+                    }
+                    default -> {
+                        log.warn("Unhandled file format: requestId={}, format={}", requestId, fileFormat);
+                        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                    }
                 }
             }
 
-            ResponseEntity<String> response = getResponseEntity(outputFormat);
+            ResponseEntity<StreamingResponseBody> response = getResponseEntity(context, outputFormat, stream);
+            if (cacheKey != null) {
+                response = stream ? withETag(response, cacheKey) : withCaching(response, cacheKey);
+            }
             log.info("File successfully converted: requestId={}, inputFormat={}, outputFormat={}",
                     requestId, fileFormat, output);
             return response;
         } catch (UnsupportedFormatException e) {
             log.error("Unsupported format exception: requestId={}, message={}", requestId, e.getMessage());
-            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
-                    .body(e.getMessage());
+            return textResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage());
         } catch (Exception e) {
             log.error("Error processing file conversion: requestId={}", requestId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(e.getMessage());
+            return textResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         } finally {
             MDC.remove(LOG_REQUEST_ID);
         }
     }
 
-    private FileFormat checkFileFormat(MultipartFile file) throws IOException {
-        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : "unknown";
-        log.debug("Checking file format: filename={}", filename);
-
-        if (checkForXlsx(file)) {
-            log.debug("XLSX format detected: filename={}", filename);
-            return FileFormat.XLSX;
-        } else if (checkForXmlOrXmi(file) == FileFormat.ARCHI_XML) {
-            log.debug("Archi XML format detected: filename={}", filename);
-            return FileFormat.ARCHI_XML;
-        } else if (checkForXmlOrXmi(file) == FileFormat.XMI) {
-            log.debug("XMI format detected: filename={}", filename);
-            return FileFormat.XMI;
-        } else if (checkForTurtle(file) == FileFormat.TURTLE) {
-            log.debug("Turtle format detected: filename={}", filename);
-        }
+    /**
+     * Queues an asynchronous conversion. The result format is taken only from {@code output}; the Accept header
+     * applies to the job status returned here, which is always JSON.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "output", defaultValue = "json") String output,
+            @RequestParam(value= "removeInvalidSources", required = false) Boolean removeInvalidSources
+    ) {
+        String requestId = UUID.randomUUID().toString();
+        MDC.put(LOG_REQUEST_ID, requestId);
 
-        log.debug("Unsupported format detected: filename={}, contentType={}",
-                filename, file.getContentType());
-        return FileFormat.UNSUPPORTED;
-    }
+        String outputFormat = output.toLowerCase();
+
+        log.info("Conversion job requested: filename={}, size={}, outputFormat={}, remove invalid sources={}",
+                file.getOriginalFilename(), file.getSize(), outputFormat, removeInvalidSources);
+
+        try {
+            if (file.isEmpty()) {
+                log.warn("Empty file upload attempt");
+                return messageResponse(HttpStatus.BAD_REQUEST, "Nebyl vložen žádný soubor.");
+            }
+            if (!OUTPUT_FORMATS.contains(outputFormat)) {
+                log.warn("Unsupported output format requested: requestId={}, format={}", requestId, outputFormat);
+                return messageResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Nepodporovaný výstupní formát: " + output);
+            }
+
+            if (file.getSize() > maxFileSize.toBytes()) {
+                log.warn("File too large: filename={}, size={}, maxAllowedSize={}",
+                        file.getOriginalFilename(), file.getSize(), maxFileSize.toBytes());
+                return messageResponse(HttpStatus.PAYLOAD_TOO_LARGE, fileTooLargeMessage());
+            }
 
-    private boolean checkForXlsx(MultipartFile file) {
-        String fileName = file.getOriginalFilename();
-        if (fileName != null) {
-            String extension = fileName.substring(fileName.lastIndexOf(".") + 1).toLowerCase();
-            return extension.equals("xlsx");
+            try (SniffedUpload sniffed = sniff(file)) {
+                FileFormat fileFormat = sniffed.format();
+                if (fileFormat == FileFormat.UNSUPPORTED) {
+                    log.warn("Unsupported file type upload attempt");
+                    return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+                }
+                if (fileFormat != FileFormat.ARCHI_XML) {
+                    log.warn("Conversion job for format not supported: requestId={}, format={}", requestId, fileFormat);
+                    return messageResponse(HttpStatus.NOT_IMPLEMENTED,
+                            "Asynchronní konverze formátu " + fileFormat + " zatím není podporována.");
+                }
+            }
+
+            Path upload = spool(file, "ismd-job-");
+
+            ConversionJob job = conversionJobService.submitArchi(requestId,
+                    upload, removeInvalidSources != null && removeInvalidSources, outputFormat);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/convertor/jobs/" + job.getId()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ConversionJobResponse.from(job));
+        } catch (TaskRejectedException e) {
+            return messageResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Fronta konverzí je plná. Zkuste to prosím později.");
+        } catch (Exception e) {
+            log.error("Error submitting conversion job: requestId={}", requestId, e);
+            return messageResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        } finally {
+            MDC.remove(LOG_REQUEST_ID);
         }
-        return false;
     }
 
-    private FileFormat checkForXmlOrXmi(MultipartFile file) throws IOException {
-        String contentType = file.getContentType();
-        if (contentType != null && (contentType.equals("application/xml")
-                || contentType.equals("text/xml")
-                || contentType.contains("xml"))) {
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> convertBatch(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "output", required = false) String output,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value= "removeInvalidSources", required = false) Boolean removeInvalidSources,
+            @RequestHeader(value = "Accept", required = false) String acceptHeader
+    ) {
+        String requestId = UUID.randomUUID().toString();
+        MDC.put(LOG_REQUEST_ID, requestId);
+
+        String outputFormat = determineOutputFormat(output, acceptHeader);
 
-            byte[] bytes = new byte[4096];
-            int bytesRead;
-            try (InputStream stream = file.getInputStream()) {
-                bytesRead = stream.read(bytes);
+        log.info("Batch conversion requested: files={}, outputFormat={}, responseFormat={}, remove invalid sources={}",
+                files.size(), outputFormat, format, removeInvalidSources);
+
+        try {
+            if (files.stream().allMatch(MultipartFile::isEmpty)) {
+                log.warn("Empty batch upload attempt");
+                return textResponse(HttpStatus.BAD_REQUEST, "Nebyl vložen žádný soubor.");
+            }
+            if (!OUTPUT_FORMATS.contains(outputFormat)) {
+                log.warn("Unsupported output format requested: requestId={}, format={}", requestId, outputFormat);
+                return textResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Nepodporovaný výstupní formát: " + output);
             }
-            if (bytesRead > 0) {
-                String xmlHeader = new String(bytes, StandardCharsets.UTF_8);
+            BatchResponseFormat responseFormat = BatchResponseFormat.from(format);
 
-                if (xmlHeader.contains(ARCHI_3_HEADER)
-                        || xmlHeader.contains(ARCHIMATE_HEADER)) {
-                    return FileFormat.ARCHI_XML;
-                }
+            List<BatchEntry> entries = batchConversionService.spool(files, maxFileSize.toBytes());
+            if (entries.isEmpty()) {
+                log.warn("Batch upload without convertible entries: requestId={}", requestId);
+                return textResponse(HttpStatus.BAD_REQUEST, "Nebyl vložen žádný soubor.");
+            }
+
+            boolean removeSources = removeInvalidSources != null && removeInvalidSources;
+            StreamingResponseBody body = withRequestId(requestId, outputStream -> batchConversionService.convert(
+                    entries, outputFormat, removeSources, responseFormat, outputStream));
 
-                if (xmlHeader.contains(XMI_HEADER)
-                        || xmlHeader.contains("XMI.version=\"2.1\"")) {
-                    return FileFormat.XMI;
+            log.info("Batch conversion accepted: requestId={}, entries={}", requestId, entries.size());
+            return responseFormat == BatchResponseFormat.ZIP
+                    ? ResponseEntity.ok()
+                            .contentType(MediaType.valueOf("application/zip"))
+                            .header("Content-Disposition",
+                                    ContentDisposition.attachment().filename("konverze.zip").build().toString())
+                            .body(body)
+                    : ResponseEntity.ok()
+                            .contentType(NDJSON)
+                            .body(body);
+        } catch (UnsupportedFormatException e) {
+            log.error("Unsupported format exception: requestId={}, message={}", requestId, e.getMessage());
+            return textResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage());
+        } catch (BatchLimitExceededException e) {
+            log.warn("Batch too large: requestId={}, message={}", requestId, e.getMessage());
+            return textResponse(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        } catch (Exception e) {
+            log.error("Error processing batch conversion: requestId={}", requestId, e);
+            return textResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        } finally {
+            MDC.remove(LOG_REQUEST_ID);
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJobStatus(@PathVariable String jobId) {
+        return conversionJobService.findJob(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ConversionJobResponse.from(job)))
+                .orElseGet(() -> jobNotFound(jobId));
+    }
+
+    /**
+     * Returns the result of a completed job in the output format the job was submitted with.
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<StreamingResponseBody> getJobResult(@PathVariable String jobId) {
+        Optional<ConversionJob> found = conversionJobService.findJob(jobId);
+        if (found.isEmpty()) {
+            return jobNotFound(jobId);
+        }
+
+        ConversionJob job = found.get();
+        MDC.put(LOG_REQUEST_ID, jobId);
+        try {
+            return switch (job.getStatus()) {
+                case QUEUED, RUNNING -> textResponse(HttpStatus.CONFLICT, "Konverze ještě nebyla dokončena.");
+                case FAILED -> textResponse(HttpStatus.INTERNAL_SERVER_ERROR, job.getError());
+                case COMPLETED -> {
+                    Path result = job.getResult();
+                    log.debug("Streaming job result: requestId={}, outputFormat={}", jobId, job.getOutputFormat());
+                    yield ResponseEntity.ok()
+                            .contentType(contentType(job.getOutputFormat()))
+                            .body(outputStream -> Files.copy(result, outputStream));
                 }
-            }
+            };
+        } finally {
+            MDC.remove(LOG_REQUEST_ID);
         }
-        return FileFormat.UNSUPPORTED;
     }
 
-    private FileFormat checkForTurtle(MultipartFile file) {
-        String contentType = file.getContentType();
-        if (contentType != null && contentType.equals("text/turtle")) {
-            return FileFormat.TURTLE;
+    @ExceptionHandler({JsonExportException.class, TurtleExportException.class})
+    public ResponseEntity<String> handleStreamedExportException(RuntimeException e) {
+        log.error("Streamed export failed: message={}", e.getMessage(), e);
+        return messageResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<String> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException e) {
+        log.warn("Upload rejected by multipart limits: message={}", e.getMessage());
+        return messageResponse(HttpStatus.PAYLOAD_TOO_LARGE, fileTooLargeMessage());
+    }
+
+    private <T> ResponseEntity<T> jobNotFound(String jobId) {
+        log.warn("Conversion job not found: requestId={}", jobId);
+        return ResponseEntity.notFound().build();
+    }
+
+    private SniffedUpload sniff(MultipartFile file) throws IOException {
+        return formatSniffer.sniff(file.getInputStream(), file.getOriginalFilename(), file.getContentType());
+    }
+
+    /**
+     * Moves the upload into a temporary file the caller owns. A part the container already wrote to disk is
+     * renamed rather than copied.
+     */
+    private Path spool(MultipartFile file, String prefix) throws IOException {
+        Path upload = Files.createTempFile(prefix, ".xml");
+        try {
+            file.transferTo(upload.toFile());
+            return upload;
+        } catch (IOException e) {
+            Files.deleteIfExists(upload);
+            throw e;
         }
+    }
 
-        return FileFormat.UNSUPPORTED;
+    private String fileTooLargeMessage() {
+        return "Soubor je příliš velký. Maximální povolená velikost je " + maxFileSize.toMegabytes() + " MB.";
     }
 
-    private ResponseEntity<String> getResponseEntity(
-            @RequestParam(value = "output", defaultValue = "json") String output) throws JsonExportException {
+    private ResponseEntity<StreamingResponseBody> getResponseEntity(
+            ConversionContext context,
+            @RequestParam(value = "output", defaultValue = "json") String output,
+            boolean stream) throws JsonExportException {
         String requestId = MDC.get(LOG_REQUEST_ID);
         log.debug("Preparing response entity: requestId={}, outputFormat={}", requestId, output);
 
         return switch (output.toLowerCase()) {
             case "json" -> {
-                log.debug("Exporting to JSON: requestId={}", requestId);
-                String jsonOutput = converterService.exportArchiToJson();
-                log.debug("JSON export completed: requestId={}, outputSize={}", requestId, jsonOutput.length());
+                log.debug("Streaming JSON export: requestId={}", requestId);
                 yield ResponseEntity.ok()
                         .contentType(MediaType.APPLICATION_JSON)
-                        .body(jsonOutput);
+                        .body(withRequestId(requestId,
+                                outputStream -> converterService.exportArchiToJson(context, outputStream)));
             }
             case "ttl" -> {
-                log.debug("Exporting to Turtle: requestId={}", requestId);
-                String ttlOutput = converterService.exportArchiToTurtle();
-                log.debug("Turtle export completed: requestId={}, outputSize={}", requestId, ttlOutput.length());
+                RDFFormat format = stream ? RDFFormat.TURTLE_BLOCKS : RDFFormat.TURTLE_PRETTY;
+                log.debug("Streaming Turtle export: requestId={}, format={}", requestId, format);
                 yield ResponseEntity.ok()
                         .contentType(MediaType.TEXT_PLAIN)
-                        .body(ttlOutput);
+                        .body(withRequestId(requestId,
+                                outputStream -> converterService.exportArchiToTurtle(context, outputStream, format)));
+            }
+            case "nt" -> {
+                log.debug("Streaming N-Triples export: requestId={}", requestId);
+                yield ResponseEntity.ok()
+                        .contentType(N_TRIPLES)
+                        .body(withRequestId(requestId, outputStream ->
+                                converterService.exportArchiToTurtle(context, outputStream, RDFFormat.NTRIPLES)));
             }
             default -> {
                 log.warn("Unsupported output format requested: requestId={}, format={}", requestId, output);
@@ -204,6 +430,79 @@ public class ConverterController {
         };
     }
 
+    private MediaType contentType(String outputFormat) {
+        return switch (outputFormat) {
+            case "ttl" -> MediaType.TEXT_PLAIN;
+            case "nt" -> N_TRIPLES;
+            default -> MediaType.APPLICATION_JSON;
+        };
+    }
+
+    private StreamingResponseBody withRequestId(String requestId, StreamingResponseBody body) {
+        return outputStream -> {
+            MDC.put(LOG_REQUEST_ID, requestId);
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                MDC.remove(LOG_REQUEST_ID);
+            }
+        };
+    }
+
+    private ResponseEntity<StreamingResponseBody> withCaching(ResponseEntity<StreamingResponseBody> response,
+                                                              String cacheKey) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(toETag(cacheKey))
+                .body(conversionResultCache.caching(cacheKey, response.getHeaders().getContentType(),
+                        response.getBody()));
+    }
+
+    /**
+     * Streamed responses are meant to stay within bounded memory, so they carry the ETag but are not recorded.
+     */
+    private ResponseEntity<StreamingResponseBody> withETag(ResponseEntity<StreamingResponseBody> response,
+                                                           String cacheKey) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(toETag(cacheKey))
+                .body(response.getBody());
+    }
+
+    private String toETag(String cacheKey) {
+        return "\"" + cacheKey + "\"";
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<StreamingResponseBody> textResponse(HttpStatus status, String message) {
+        byte[] body = message != null ? message.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return ResponseEntity.status(status)
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(outputStream -> outputStream.write(body));
+    }
+
+    private ResponseEntity<String> messageResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(message);
+    }
+
     private String determineOutputFormat(String output, String acceptHeader) {
         if (output != null && !output.isEmpty()) {
             return output.toLowerCase();
@@ -214,6 +513,8 @@ public class ConverterController {
                 return "json";
             } else if (acceptHeader.contains("text/turtle") || acceptHeader.contains("application/x-turtle")) {
                 return "ttl";
+            } else if (acceptHeader.contains(N_TRIPLES.toString())) {
+                return "nt";
             }
         }
 
@@ -12,36 +12,43 @@ import com.dia.utility.UtilityMethods;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.jena.ontology.OntClass;
-import org.apache.jena.ontology.OntModel;
-import org.apache.jena.ontology.OntProperty;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.listeners.StatementListener;
 import org.apache.jena.rdf.model.*;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.RiotParseException;
+import org.apache.jena.riot.system.ErrorHandler;
 import org.apache.jena.vocabulary.*;
+import com.dia.reader.*;
 import org.slf4j.MDC;
-import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static com.dia.constants.ArchiOntologyConstants.*;
 import static com.dia.constants.ConvertorControllerConstants.LOG_REQUEST_ID;
 
-@Component
 @Slf4j
 public class ArchiConverter {
 
-    private String ontologyNamespace;
-
     private static final Set<String> COMMON_PROPERTY_NAMES = new HashSet<>(Arrays.asList(
             LABEL_TYP, LABEL_POPIS, LABEL_DEF, LABEL_ZDROJ, LABEL_SZ, LABEL_AN,
             LABEL_EP, LABEL_ID, LABEL_AIS, LABEL_AGENDA,
@@ -57,20 +64,54 @@ public class ArchiConverter {
         TYPE_MAPPINGS.put("typ vlastnosti", TYP_VLASTNOST);
     }
 
+    private static final Map<String, String> LABEL_PATTERNS = new LinkedHashMap<>();
+
+    static {
+        LABEL_PATTERNS.put(LABEL_POPIS, LABEL_POPIS);
+        LABEL_PATTERNS.put(LABEL_DEF, LABEL_DEF);
+        LABEL_PATTERNS.put(LABEL_ID, LABEL_ID);
+        LABEL_PATTERNS.put("ustanovení dokládající neveřejnost", LABEL_SUPP);
+        LABEL_PATTERNS.put(LABEL_AGENDA, LABEL_AGENDA);
+        LABEL_PATTERNS.put("agendový informační systém", LABEL_AIS);
+        LABEL_PATTERNS.put("je pojem sdílen v PPDF?", LABEL_JE_PPDF);
+        LABEL_PATTERNS.put("je pojem veřejný?", LABEL_JE_VEREJNY);
+        LABEL_PATTERNS.put("alternativní název", LABEL_AN);
+        LABEL_PATTERNS.put("datový typ", LABEL_DT);
+        LABEL_PATTERNS.put("typ", LABEL_TYP);
+    }
+
+    /**
+     * Number of elements one fork/join task converts without splitting further.
+     */
+    private static final int ELEMENT_BATCH_SIZE = 256;
+
     private final Map<String, String> propertyMapping = new HashMap<>();
-    private final OntModel ontModel;
+    private final Model model;
     private final Map<String, Resource> resourceMap;
-
-    private Document archiDoc;
+    private final IriMinter iriMinter;
+
+    private ArchiDocument archiDoc;
+    /**
+     * Set when the model was loaded from a vocabulary in Turtle; such a graph is already in its converted form.
+     */
+    private boolean graphInput;
+    private Map<String, String> modelProperties;
     private String modelName;
     @Getter
     @Setter
     private Boolean removeELI;
+    /**
+     * Pool the elements are converted on. Without a pool, or for models that fit into a single batch,
+     * elements are converted sequentially on the calling thread.
+     */
+    @Setter
+    private ForkJoinPool elementPool;
 
     public ArchiConverter() {
         this.resourceMap = new HashMap<>();
         OFNBaseModel ofnBaseModel = new OFNBaseModel();
-        this.ontModel = ofnBaseModel.getOntModel();
+        this.model = ofnBaseModel.getModel();
+        this.iriMinter = new IriMinter(model);
     }
 
     public void parseFromString(String content) throws FileParsingException {
@@ -78,37 +119,179 @@ public class ArchiConverter {
         int contentLength = content != null ? content.length() : 0;
 
         log.info("Starting XML parsing: requestId={}, contentLength={}", requestId, contentLength);
+        parse(document -> new ArchiXmlReader().read(new StringReader(Objects.requireNonNull(content)), document));
+    }
+
+    public void parse(InputStream input) throws FileParsingException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+
+        log.info("Starting XML parsing from stream: requestId={}", requestId);
+        parse(document -> new ArchiXmlReader().read(Objects.requireNonNull(input), document));
+    }
+
+    /**
+     * Reads a spooled upload. The file is mapped into memory rather than read through heap buffers.
+     */
+    public void parse(Path file) throws FileParsingException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+
+        log.info("Starting XML parsing from file: requestId={}", requestId);
+        parse(document -> {
+            try (InputStream input = new MappedFileInputStream(file)) {
+                new ArchiXmlReader().read(input, document);
+            }
+        });
+    }
+
+    /**
+     * Reads a vocabulary kept in an XLSX workbook. The workbook is spooled to a temporary file, because its parts
+     * are looked up by name and the shared strings are usually stored after the sheets.
+     */
+    public void parseXlsx(InputStream input) throws FileParsingException {
+        Path workbook = null;
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newDefaultInstance();
+            workbook = Files.createTempFile("ismd-xlsx-", ".xlsx");
+            Files.copy(Objects.requireNonNull(input), workbook, StandardCopyOption.REPLACE_EXISTING);
+            parseXlsx(workbook);
+        } catch (IOException e) {
+            log.error("Failed to spool XLSX workbook: requestId={}", MDC.get(LOG_REQUEST_ID), e);
+            throw new FileParsingException("Při zpracovávání XLSX došlo k chybě.", e);
+        } finally {
+            deleteQuietly(workbook);
+        }
+    }
+
+    public void parseXlsx(Path workbook) throws FileParsingException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+
+        log.info("Starting XLSX parsing: requestId={}", requestId);
+        parse("XLSX", document -> new XlsxVocabularyReader().read(workbook, document));
+    }
 
-            log.debug("Configuring XML parser: requestId={}, namespaceAware=true", requestId);
-            factory.setNamespaceAware(true);
+    /**
+     * Reads a UML 2.1 model exported as XMI 2.1 straight from the stream. The stream itself is not closed.
+     */
+    public void parseXmi(InputStream input) throws FileParsingException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
 
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            log.debug("XML parser security features enabled: requestId={}", requestId);
+        log.info("Starting XMI parsing from stream: requestId={}", requestId);
+        parse("XMI", document -> new XmiVocabularyReader().read(Objects.requireNonNull(input), document));
+    }
 
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            log.debug("Parsing XML content: requestId={}", requestId);
-            archiDoc = builder.parse(new ByteArrayInputStream(Objects.requireNonNull(content).getBytes()));
-            log.debug("XML document successfully parsed: requestId={}", requestId);
+    /**
+     * Loads a vocabulary in Turtle straight into the model. The document is parsed as a stream and every triple
+     * goes directly to the graph through a {@link ConversionGraphSink}; syntax errors are reported with the line
+     * and column they were found at. The stream itself is not closed.
+     */
+    public void parseTurtle(InputStream input) throws FileParsingException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+        log.info("Starting Turtle parsing from stream: requestId={}", requestId);
+
+        try {
+            ConversionGraphSink sink = new ConversionGraphSink(model.getGraph(), model);
+            RDFParser.source(Objects.requireNonNull(input))
+                    .lang(Lang.TURTLE)
+                    .errorHandler(new LocatingErrorHandler())
+                    .parse(sink);
+
+            if (sink.getConceptNamespace() != null) {
+                setOntologyNamespace(sink.getConceptNamespace());
+            }
+            readVocabularyMetadata(sink.getOntology());
+            graphInput = true;
+            log.info("Turtle parsing completed successfully: requestId={}, triples={}",
+                    requestId, sink.getTripleCount());
+        } catch (RiotParseException e) {
+            log.error("Turtle parsing error: requestId={}, line={}, column={}, error={}",
+                    requestId, e.getLine(), e.getCol(), e.getOriginalMessage());
+            throw new FileParsingException("Chyba v souboru Turtle na řádku " + e.getLine() + ", sloupci "
+                    + e.getCol() + ": " + e.getOriginalMessage(), e);
+        } catch (RiotException e) {
+            log.error("Turtle parsing error: requestId={}, error={}", requestId, e.getMessage(), e);
+            throw new FileParsingException("Při zpracovávání Turtle došlo k chybě.", e);
+        }
+    }
+
+    /**
+     * Name, description and namespace of a vocabulary loaded from Turtle, taken from its ontology resource.
+     */
+    private void readVocabularyMetadata(Node ontology) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("adresa lokálního katalogu dat", getEffectiveOntologyNamespace());
+        modelName = null;
+
+        if (ontology != null) {
+            Resource resource = model.wrapAsResource(ontology);
+            modelName = localizedValue(resource, RDFS.label);
+            String description = localizedValue(resource, DCTerms.description);
+            if (description != null) {
+                properties.put(LABEL_POPIS, description);
+            }
+        }
+        modelProperties = Collections.unmodifiableMap(properties);
+    }
+
+    private String localizedValue(Resource resource, Property property) {
+        String value = null;
+        StmtIterator statements = resource.listProperties(property);
+        try {
+            while (statements.hasNext()) {
+                RDFNode object = statements.next().getObject();
+                if (!object.isLiteral()) {
+                    continue;
+                }
+                Literal literal = object.asLiteral();
+                if ("cs".equals(literal.getLanguage())) {
+                    return literal.getString();
+                }
+                if (value == null) {
+                    value = literal.getString();
+                }
+            }
+        } finally {
+            statements.close();
+        }
+        return value;
+    }
+
+    private void parse(DocumentSource source) throws FileParsingException {
+        parse("XML", source);
+    }
+
+    private void parse(String format, DocumentSource source) throws FileParsingException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+        try {
+            log.debug("Parsing {} content: requestId={}", format, requestId);
+            ArchiDocument document = new ArchiDocument();
+            source.readInto(document);
+            archiDoc = document;
+            log.debug("{} document successfully parsed: requestId={}, elements={}, relationships={}",
+                    format, requestId, archiDoc.getElements().size(), archiDoc.getRelationships().size());
 
             log.debug("Building property mappings: requestId={}", requestId);
             buildPropertyMapping();
-            log.info("XML parsing completed successfully: requestId={}", requestId);
-        } catch (ParserConfigurationException e) {
-            log.error("XML parser configuration failed: requestId={}, error={}", requestId, e.getMessage(), e);
-            throw new FileParsingException("Během konfigurace XML parseru došlo k chybě.", e);
-        } catch (SAXException e) {
-            log.error("XML parsing error: requestId={}, error={}", requestId, e.getMessage(), e);
-            throw new FileParsingException("Při zpracovávání XML došlo k chybě.", e);
-        } catch (IOException e) {
-            log.error("IO error while parsing XML: requestId={}, error={}", requestId, e.getMessage(), e);
-            throw new FileParsingException("Při čtení XML došlo k chybě.", e);
+            modelProperties = null;
+            log.info("{} parsing completed successfully: requestId={}", format, requestId);
+        } catch (FileParsingException e) {
+            log.error("{} parsing error: requestId={}, error={}", format, requestId, e.getMessage());
+            throw e;
+        } catch (XMLStreamException | IOException e) {
+            log.error("{} parsing error: requestId={}, error={}", format, requestId, e.getMessage(), e);
+            throw new FileParsingException("Při zpracovávání " + format + " došlo k chybě.", e);
         } catch (Exception e) {
-            log.error("Unexpected error during XML parsing: requestId={}", requestId, e);
-            throw new FileParsingException("Neočekávaná chyba při zpracování XML.", e);
+            log.error("Unexpected error during {} parsing: requestId={}", format, requestId, e);
+            throw new FileParsingException("Neočekávaná chyba při zpracování " + format + ".", e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary file: path={}", file, e);
         }
     }
 
@@ -117,15 +300,24 @@ public class ArchiConverter {
         log.info("Starting Archi model conversion: requestId={}", requestId);
 
         try {
+            if (graphInput) {
+                if (modelName == null) {
+                    modelName = "Untitled Model";
+                    log.warn("No model name found, using default: requestId={}, modelName={}", requestId, modelName);
+                }
+                log.info("Model loaded from Turtle needs no conversion: requestId={}, modelName={}",
+                        requestId, modelName);
+                return;
+            }
+
             if (archiDoc == null) {
                 log.error("Document not found for conversion: requestId={}", requestId);
                 throw new ConversionException("Dokument ke konverzi nebyl nalezen.");
             }
 
             log.debug("Extracting model name: requestId={}", requestId);
-            NodeList nameNodes = archiDoc.getElementsByTagNameNS(ARCHI_NS, "name");
-            if (nameNodes.getLength() > 0) {
-                modelName = nameNodes.item(0).getTextContent();
+            if (archiDoc.getModelName() != null) {
+                modelName = archiDoc.getModelName();
                 log.debug("Model name extracted: requestId={}, modelName={}", requestId, modelName);
             } else {
                 modelName = "Untitled Model";
@@ -162,23 +354,40 @@ public class ArchiConverter {
         }
     }
 
+    public int getElementCount() {
+        return archiDoc != null ? archiDoc.getElements().size() : 0;
+    }
+
+    public int getRelationshipCount() {
+        return archiDoc != null ? archiDoc.getRelationships().size() : 0;
+    }
+
+    public long getTripleCount() {
+        return model.size();
+    }
+
     public String exportToJson() throws JsonExportException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportToJson(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    public void exportToJson(OutputStream output) throws JsonExportException {
         String requestId = MDC.get(LOG_REQUEST_ID);
         log.info("Starting JSON export: requestId={}, modelName={}", requestId, modelName);
 
         try {
             log.debug("Creating JSON exporter: requestId={}", requestId);
             JsonExporter exporter = new JsonExporter(
-                    ontModel,
+                    model,
                     resourceMap,
                     modelName,
                     getModelProperties(),
                     getEffectiveOntologyNamespace()
             );
 
-            String result = exporter.exportToJson();
-            log.info("JSON export completed: requestId={}, outputSize={}", requestId, result.length());
-            return result;
+            exporter.exportToJson(output);
+            log.info("JSON export completed: requestId={}", requestId);
         } catch (JsonExportException e) {
             log.error("JSON export error: requestId={}, error={}", requestId, e.getMessage(), e);
             throw e;
@@ -189,21 +398,26 @@ public class ArchiConverter {
     }
 
     public String exportToTurtle() throws TurtleExportException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportToTurtle(output, RDFFormat.TURTLE_PRETTY);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    public void exportToTurtle(OutputStream output, RDFFormat format) throws TurtleExportException {
         String requestId = MDC.get(LOG_REQUEST_ID);
-        log.info("Starting Turtle export: requestId={}, modelName={}", requestId, modelName);
+        log.info("Starting Turtle export: requestId={}, modelName={}, format={}", requestId, modelName, format);
 
         try {
             log.debug("Creating Turtle exporter: requestId={}", requestId);
             TurtleExporter exporter = new TurtleExporter(
-                    ontModel,
+                    model,
                     resourceMap,
                     modelName,
                     getModelProperties()
             );
 
-            String result = exporter.exportToTurtle();
-            log.info("Turtle export completed: requestId={}, outputSize={}", requestId, result.length());
-            return result;
+            exporter.exportToTurtle(output, format);
+            log.info("Turtle export completed: requestId={}", requestId);
         } catch (TurtleExportException e) {
             log.error("Turtle export error: requestId={}, error={}", requestId, e.getMessage(), e);
             throw e;
@@ -220,7 +434,7 @@ public class ArchiConverter {
             if (entry.getKey().contains("adresa lokálního katalogu dat")) {
                 String ns = entry.getValue();
                 if (ns != null && !ns.isEmpty() && UtilityMethods.isValidUrl(ns)) {
-                    this.ontologyNamespace = ns;
+                    setOntologyNamespace(ns);
                 }
             }
         }
@@ -229,9 +443,7 @@ public class ArchiConverter {
     private void setModelIRI() {
         String sanitisedIri = assembleIri(modelName);
 
-        ontModel.createOntology(sanitisedIri);
-
-        Resource ontologyResource = ontModel.getResource(sanitisedIri);
+        Resource ontologyResource = model.createResource(sanitisedIri, OWL2.Ontology);
         if (ontologyResource != null) {
             ontologyResource.addProperty(RDF.type, SKOS.ConceptScheme);
             ontologyResource.addProperty(SKOS.prefLabel, modelName, "cs");
@@ -249,19 +461,16 @@ public class ArchiConverter {
     private String assembleIri(String iri) {
         String effectiveNamespace = getEffectiveOntologyNamespace();
 
-        return effectiveNamespace + UtilityMethods.sanitizeForIRI(iri);
+        return effectiveNamespace + iriMinter.sanitize(iri);
     }
 
     private void buildPropertyMapping() {
         propertyMapping.clear();
 
-        NodeList propertyDefs = archiDoc.getElementsByTagNameNS(ARCHI_NS, "propertyDefinition");
+        for (ArchiPropertyDefinitionRecord propDef : archiDoc.getPropertyDefinitions()) {
+            String propId = propDef.id();
 
-        for (int i = 0; i < propertyDefs.getLength(); i++) {
-            Element propDef = (Element) propertyDefs.item(i);
-            String propId = propDef.getAttribute(IDENT);
-
-            String propName = extractPropName(propDef);
+            String propName = propDef.name();
             if (propName == null) continue;
 
             propertyMapping.put(propId, propName);
@@ -275,62 +484,30 @@ public class ArchiConverter {
     }
 
     private Map<String, String> getModelProperties() {
-        Map<String, String> modelProperties = new HashMap<>();
-
-        Element modelPropertiesElement = findModelPropertiesElement();
-        if (modelPropertiesElement == null) {
-            return modelProperties;
-        }
+        if (modelProperties == null) {
+            Map<String, String> properties = new HashMap<>();
 
-        extractPropertiesFromElement(modelPropertiesElement, modelProperties);
-
-        return modelProperties;
-    }
-
-    private Element findModelPropertiesElement() {
-        NodeList propertiesNodes = archiDoc.getElementsByTagNameNS(ARCHI_NS, "properties");
-
-        for (int p = 0; p < propertiesNodes.getLength(); p++) {
-            Element propertiesElement = (Element) propertiesNodes.item(p);
-            if (propertiesElement.getParentNode().getNodeName().endsWith("model")) {
-                return propertiesElement;
+            for (ArchiPropertyRecord property : archiDoc.getModelProperties()) {
+                processProperty(property, properties);
             }
-        }
 
-        return null;
-    }
-
-    private void extractPropertiesFromElement(Element propertiesElement, Map<String, String> modelProperties) {
-        NodeList propertyNodes = propertiesElement.getElementsByTagNameNS(ARCHI_NS, "property");
-
-        for (int i = 0; i < propertyNodes.getLength(); i++) {
-            Element property = (Element) propertyNodes.item(i);
-            processProperty(property, modelProperties);
+            modelProperties = Collections.unmodifiableMap(properties);
         }
+
+        return modelProperties;
     }
 
-    private void processProperty(Element property, Map<String, String> modelProperties) {
-        String propRef = property.getAttribute("propertyDefinitionRef");
+    private void processProperty(ArchiPropertyRecord property, Map<String, String> modelProperties) {
+        String propRef = property.definitionRef();
         String propName = propertyMapping.getOrDefault(propRef, propRef);
 
-        String value = getPropertyValue(property);
-        if (value != null) {
-            modelProperties.put(propName, value);
+        modelProperties.put(propName, property.value());
 
-            if (isOntologyNamespaceProperty(propRef)) {
-                ontologyNamespace = value;
-            }
+        if (isOntologyNamespaceProperty(propRef)) {
+            setOntologyNamespace(property.value());
         }
     }
 
-    private String getPropertyValue(Element property) {
-        NodeList valueNodes = property.getElementsByTagNameNS(ARCHI_NS, "value");
-        if (valueNodes.getLength() > 0) {
-            return valueNodes.item(0).getTextContent();
-        }
-        return null;
-    }
-
     private void initializeTypeClasses() {
         createNamespacedResource(TYP_POJEM);
         createNamespacedResource(TYP_TRIDA);
@@ -343,43 +520,117 @@ public class ArchiConverter {
     }
 
     private void processElements() throws ConversionException {
-        NodeList elements = archiDoc.getElementsByTagNameNS(ARCHI_NS, "element");
-        if (elements.getLength() < 0) {
+        List<ArchiElementRecord> elements = archiDoc.getElements();
+        if (elements.size() < 0) {
             throw new ConversionException("Soubor neobsahuje žádné elementy.");
         }
 
-        for (int i = 0; i < elements.getLength(); i++) {
-            Element element = (Element) elements.item(i);
+        if (elementPool == null || elements.size() <= ELEMENT_BATCH_SIZE) {
+            resourceMap.putAll(convertElements(elements, model));
+            return;
+        }
+
+        List<ConvertedBatch> batches = elementPool.invoke(
+                new ElementConversionTask(elements, MDC.getCopyOfContextMap()));
+        Graph graph = model.getGraph();
+        for (ConvertedBatch batch : batches) {
+            batch.triples().forEach(graph::add);
+            batch.resources().forEach((id, resource) -> resourceMap.put(id, resource.inModel(model)));
+        }
+        log.debug("Elements converted in parallel: requestId={}, batches={}",
+                MDC.get(LOG_REQUEST_ID), batches.size());
+    }
 
-            String name = getElementName(element);
+    private Map<String, Resource> convertElements(List<ArchiElementRecord> elements, Model target) {
+        Map<String, Resource> resources = new HashMap<>();
+        for (ArchiElementRecord element : elements) {
+            String name = getFirstName(element.names());
             if (name.equals("Subjekt") || name.equals("Objekt") || name.equals("Vlastnost")) {
                 continue;
             }
 
-            String id = element.getAttribute(IDENT);
+            String id = element.id();
 
-            Map<String, String> properties = getElementProperties(element);
+            Map<String, String> properties = getElementProperties(element.names(), element.properties());
 
             String elementType = properties.getOrDefault("typ", "").trim();
             String ontologyClass = TYPE_MAPPINGS.getOrDefault(elementType, TYP_POJEM);
 
-            Resource resource = createResourceFromElement(id, name, ontologyClass, properties);
-            resourceMap.put(id, resource);
+            Resource resource = createResourceFromElement(id, name, ontologyClass, properties, target);
+            resources.put(id, resource);
         }
+        return resources;
     }
 
-    private void processRelationships() {
-        NodeList relationships = archiDoc.getElementsByTagNameNS(ARCHI_NS, "relationship");
+    /**
+     * Converts one batch of elements into its own buffer model. The model itself is only read while batches
+     * run; the triples are recorded in the order they were added and replayed into the model afterwards, batch
+     * by batch, so the result is the same as that of a sequential conversion.
+     */
+    private ConvertedBatch convertBatch(List<ArchiElementRecord> elements) {
+        Model buffer = ModelFactory.createDefaultModel();
+        List<Triple> triples = new ArrayList<>();
+        buffer.register(new StatementListener() {
+            @Override
+            public void addedStatement(Statement statement) {
+                triples.add(statement.asTriple());
+            }
+        });
+
+        Map<String, Resource> resources = convertElements(elements, buffer);
+        return new ConvertedBatch(triples, resources);
+    }
+
+    private record ConvertedBatch(List<Triple> triples, Map<String, Resource> resources) {
+    }
 
-        for (int i = 0; i < relationships.getLength(); i++) {
-            Element relationship = (Element) relationships.item(i);
+    private final class ElementConversionTask extends RecursiveTask<List<ConvertedBatch>> {
+
+        private final List<ArchiElementRecord> elements;
+        private final Map<String, String> mdc;
+
+        private ElementConversionTask(List<ArchiElementRecord> elements, Map<String, String> mdc) {
+            this.elements = elements;
+            this.mdc = mdc;
+        }
+
+        @Override
+        protected List<ConvertedBatch> compute() {
+            if (elements.size() <= ELEMENT_BATCH_SIZE) {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                setMdc(mdc);
+                try {
+                    return List.of(convertBatch(elements));
+                } finally {
+                    setMdc(previous);
+                }
+            }
+
+            int middle = elements.size() / 2;
+            ElementConversionTask left = new ElementConversionTask(elements.subList(0, middle), mdc);
+            ElementConversionTask right = new ElementConversionTask(elements.subList(middle, elements.size()), mdc);
+            left.fork();
+            List<ConvertedBatch> batches = new ArrayList<>(right.compute());
+            batches.addAll(0, left.join());
+            return batches;
+        }
+
+        private static void setMdc(Map<String, String> context) {
+            if (context != null) {
+                MDC.setContextMap(context);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    private void processRelationships() {
+        for (ArchiRelationshipRecord relationship : archiDoc.getRelationships()) {
             processIndividualRelationship(relationship);
         }
     }
 
     private void mapStandardizedLabel(String propId, String propName) {
-        Map<String, String> labelPatterns = new LinkedHashMap<>();
-
         if (propName.equals("související zdroj")) {
             propertyMapping.put(propId, LABEL_SZ);
             return;
@@ -389,19 +640,7 @@ public class ArchiConverter {
             return;
         }
 
-        labelPatterns.put(LABEL_POPIS, LABEL_POPIS);
-        labelPatterns.put(LABEL_DEF, LABEL_DEF);
-        labelPatterns.put(LABEL_ID, LABEL_ID);
-        labelPatterns.put("ustanovení dokládající neveřejnost", LABEL_SUPP);
-        labelPatterns.put(LABEL_AGENDA, LABEL_AGENDA);
-        labelPatterns.put("agendový informační systém", LABEL_AIS);
-        labelPatterns.put("je pojem sdílen v PPDF?", LABEL_JE_PPDF);
-        labelPatterns.put("je pojem veřejný?", LABEL_JE_VEREJNY);
-        labelPatterns.put("alternativní název", LABEL_AN);
-        labelPatterns.put("datový typ", LABEL_DT);
-        labelPatterns.put("typ", LABEL_TYP);
-
-        for (Map.Entry<String, String> pattern : labelPatterns.entrySet()) {
+        for (Map.Entry<String, String> pattern : LABEL_PATTERNS.entrySet()) {
             if (propName.contains(pattern.getKey())) {
                 propertyMapping.put(propId, pattern.getValue());
                 break;
@@ -422,30 +661,19 @@ public class ArchiConverter {
     }
 
     private void createNamespacedResource(String resourceName) {
-        ontModel.createResource(resolveNamespacedUri(resourceName));
+        model.createResource(resolveNamespacedUri(resourceName));
     }
 
     private String resolveNamespacedUri(String name) {
         return getEffectiveOntologyNamespace() + name;
     }
 
-    private String getEffectiveOntologyNamespace() {
-        if (ontologyNamespace != null && !ontologyNamespace.isEmpty() && UtilityMethods.isValidUrl(ontologyNamespace)) {
-            if (!ontologyNamespace.endsWith("/")) {
-                return ontologyNamespace + "/";
-            }
-            return ontologyNamespace;
-        }
-
-        return NS;
+    private void setOntologyNamespace(String namespace) {
+        iriMinter.setConfiguredNamespace(namespace);
     }
 
-    private String extractPropName(Element propDef) {
-        NodeList nodeList = propDef.getElementsByTagNameNS(ARCHI_NS, "name");
-        if (nodeList.getLength() > 0) {
-            return nodeList.item(0).getTextContent();
-        }
-        return null;
+    private String getEffectiveOntologyNamespace() {
+        return iriMinter.getNamespace();
     }
 
     private boolean isOntologyNamespaceProperty(String propRef) {
@@ -453,11 +681,11 @@ public class ArchiConverter {
         return propertyName.contains("adresa lokálního katalogu dat");
     }
 
-    private void processIndividualRelationship(Element relationship) {
-        String id = relationship.getAttribute(IDENT);
-        String sourceId = relationship.getAttribute("source");
-        String targetId = relationship.getAttribute("target");
-        String type = relationship.getAttribute("xsi:type");
+    private void processIndividualRelationship(ArchiRelationshipRecord relationship) {
+        String id = relationship.id();
+        String sourceId = relationship.source();
+        String targetId = relationship.target();
+        String type = relationship.type();
 
         if (!resourceMap.containsKey(sourceId) || !resourceMap.containsKey(targetId)) {
             return;
@@ -468,7 +696,11 @@ public class ArchiConverter {
 
         switch (type) {
             case "Specialization":
-                processSpecializationRelationship(source, target);
+                // superclasses are taken from the "nadřazená třída" property of the element
+                break;
+            case "Generalization":
+                // UML generalizations read from XMI carry no such property, the superclass is the target
+                source.addProperty(iriMinter.property(LABEL_NT), target);
                 break;
             case "Composition":
                 processCompositionRelationship(source, target);
@@ -480,25 +712,18 @@ public class ArchiConverter {
         }
     }
 
-    private void processSpecializationRelationship(Resource source, Resource target) {
-        if (source instanceof OntClass sourceClass && target instanceof OntClass targetClass) {
-            sourceClass.addSuperClass(targetClass);
-            source.addProperty(ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_NT), target);
-        }
-    }
-
     private void processCompositionRelationship(Resource source, Resource target) {
         String relName = UtilityMethods.capitalize(getLocalName(target));
 
-        OntProperty property = ontModel.createOntProperty(getEffectiveOntologyNamespace() + relName);
+        Resource property = model.createResource(getEffectiveOntologyNamespace() + relName, RDF.Property);
 
-        property.addDomain(source);
-        property.addRange(target);
+        property.addProperty(RDFS.domain, source);
+        property.addProperty(RDFS.range, target);
 
         addCompositionLabels(property, target);
     }
 
-    private void addCompositionLabels(OntProperty property, Resource target) {
+    private void addCompositionLabels(Resource property, Resource target) {
         StmtIterator labelStatements = target.listProperties(RDFS.label);
 
         while (labelStatements.hasNext()) {
@@ -510,7 +735,7 @@ public class ArchiConverter {
                 String language = labelLiteral.getLanguage();
 
                 if (language != null && !language.isEmpty()) {
-                    property.addLabel(label, language);
+                    property.addProperty(RDFS.label, label, language);
 
                     log.debug("Added label '{}' to property {}",
                             language + label, property.getURI());
@@ -520,26 +745,27 @@ public class ArchiConverter {
 
         if (!property.hasProperty(RDFS.label)) {
             String defaultName = getLocalName(target);
-            property.addLabel(defaultName, "cs");
+            property.addProperty(RDFS.label, defaultName, "cs");
             log.debug("Added default label '{}' to property {}",
                     defaultName, property.getURI());
         }
     }
 
-    private void processAssociationRelationship(Element relationship, String id, Resource source, Resource target) {
-        String relName = getRelationshipName(relationship);
+    private void processAssociationRelationship(ArchiRelationshipRecord relationship, String id,
+                                                Resource source, Resource target) {
+        String relName = getFirstName(relationship.names());
         if (relName == null || relName.isEmpty()) {
             return;
         }
 
-        Map<String, String> relProps = getElementProperties(relationship);
+        Map<String, String> relProps = getElementProperties(relationship.names(), relationship.properties());
 
         String baseVocabularyIri = getEffectiveOntologyNamespace();
         if (baseVocabularyIri.endsWith("/")) {
             baseVocabularyIri = baseVocabularyIri.substring(0, baseVocabularyIri.length() - 1);
         }
 
-        String iri = baseVocabularyIri + "/pojem/" + UtilityMethods.sanitizeForIRI(relName);
+        String iri = baseVocabularyIri + "/pojem/" + iriMinter.sanitize(relName);
 
         if (relProps.containsKey(LABEL_ID)) {
             String explicitIri = relProps.get(LABEL_ID);
@@ -555,17 +781,16 @@ public class ArchiConverter {
     }
 
     private Resource createRelationshipResource(String iri, String relName, Resource source, Resource target) {
-        String namespace = getEffectiveOntologyNamespace();
-        Resource relResource = ontModel.createResource(iri);
+        Resource relResource = iriMinter.resource(model, iri);
 
         relResource.addProperty(RDF.type, OWL2.ObjectProperty);
-        relResource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_VZTAH));
-        relResource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_POJEM));
+        relResource.addProperty(RDF.type, iriMinter.resource(TYP_VZTAH));
+        relResource.addProperty(RDF.type, iriMinter.resource(TYP_POJEM));
 
         relResource.addProperty(RDFS.label, relName, "cs");
 
-        relResource.addProperty(ontModel.getProperty(namespace + LABEL_DEF_O), source);
-        relResource.addProperty(ontModel.getProperty(namespace + LABEL_OBOR_HODNOT), target);
+        relResource.addProperty(iriMinter.property(LABEL_DEF_O), source);
+        relResource.addProperty(iriMinter.property(LABEL_OBOR_HODNOT), target);
 
         addSchemeRelationship(relResource);
 
@@ -580,16 +805,16 @@ public class ArchiConverter {
         if (relProps.containsKey(LABEL_ZDROJ)) {
             String sourceUrl = relProps.get(LABEL_ZDROJ);
             if (!sourceUrl.isEmpty()) {
-                Property zdrojProp = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_ZDROJ);
-                DataTypeConverter.addTypedProperty(relResource, zdrojProp, sourceUrl, null, ontModel);
+                Property zdrojProp = iriMinter.property(LABEL_ZDROJ);
+                DataTypeConverter.addTypedProperty(relResource, zdrojProp, sourceUrl, null, model);
             }
         }
 
         if (relProps.containsKey(LABEL_SUPP)) {
             String provision = relProps.get(LABEL_SUPP);
             if (!provision.isEmpty()) {
-                relResource.addProperty(ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_SUPP),
-                        ontModel.createResource(provision));
+                relResource.addProperty(iriMinter.property(LABEL_SUPP),
+                        iriMinter.resource(model, provision));
             }
         }
     }
@@ -599,27 +824,26 @@ public class ArchiConverter {
         if (props.containsKey(propKey)) {
             String value = props.get(propKey);
             if (!value.isEmpty()) {
-                String namespace = getEffectiveOntologyNamespace();
-                Property prop = ontModel.getProperty(namespace + ontPropLabel);
+                Property prop = iriMinter.property(ontPropLabel);
 
                 if (isResourceProperty(prop)) {
                     try {
-                        resource.addProperty(prop, ontModel.createResource(value));
+                        resource.addProperty(prop, iriMinter.resource(model, value));
                         log.debug("Added resource property {} with value {}", prop.getLocalName(), value);
                     } catch (Exception e) {
                         log.warn("Failed to add resource property '{}': {}. Adding as literal.", value, e.getMessage());
                         resource.addProperty(prop, value);
                     }
                 } else {
-                    DataTypeConverter.addTypedProperty(resource, prop, value, "cs", ontModel);
+                    DataTypeConverter.addTypedProperty(resource, prop, value, "cs", model);
                 }
             }
         }
     }
 
     private Resource createResourceFromElement(String id, String name, String ontologyClass,
-                                               Map<String, String> properties) {
-        Resource resource = createResourceWithIri(id, name, properties);
+                                               Map<String, String> properties, Model target) {
+        Resource resource = createResourceWithIri(id, name, properties, target);
 
         addRdfTypesAndClasses(resource, ontologyClass);
 
@@ -644,11 +868,11 @@ public class ArchiConverter {
         return resource;
     }
 
-    private Resource createResourceWithIri(String id, String name, Map<String, String> properties) {
+    private Resource createResourceWithIri(String id, String name, Map<String, String> properties, Model target) {
         if (properties.containsKey(LABEL_ID)) {
             String iri = properties.get(LABEL_ID);
             if (iri != null && !iri.isEmpty() && UtilityMethods.isValidUrl(iri)) {
-                return ontModel.createResource(iri);
+                return iriMinter.resource(target, iri);
             }
 
         }
@@ -657,36 +881,34 @@ public class ArchiConverter {
 
         if (name != null && !name.isEmpty() && !UtilityMethods.looksLikeId(name)) {
             if (modelName.equals(name)) {
-                return ontModel.createResource(namespace + UtilityMethods.sanitizeForIRI(name));
+                return iriMinter.resource(target, namespace + iriMinter.sanitize(name));
             } else {
                 String baseVocabularyIri = namespace;
                 if (baseVocabularyIri.endsWith("/")) {
                     baseVocabularyIri = baseVocabularyIri.substring(0, baseVocabularyIri.length() - 1);
                 }
 
-                return ontModel.createResource(baseVocabularyIri + "/pojem/" + UtilityMethods.sanitizeForIRI(name));
+                return iriMinter.resource(target, baseVocabularyIri + "/pojem/" + iriMinter.sanitize(name));
             }
         }
 
-        return ontModel.createResource(namespace + id);
+        return iriMinter.resource(target, namespace + id);
     }
 
     private void addRdfTypesAndClasses(Resource resource, String ontologyClass) {
-        String namespace = getEffectiveOntologyNamespace();
-
-        resource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_POJEM));
+        resource.addProperty(RDF.type, iriMinter.resource(TYP_POJEM));
 
         switch (ontologyClass) {
             case TYP_TSP -> {
-                resource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_TRIDA));
-                resource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_TSP));
+                resource.addProperty(RDF.type, iriMinter.resource(TYP_TRIDA));
+                resource.addProperty(RDF.type, iriMinter.resource(TYP_TSP));
             }
             case TYP_TOP -> {
-                resource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_TRIDA));
-                resource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_TOP));
+                resource.addProperty(RDF.type, iriMinter.resource(TYP_TRIDA));
+                resource.addProperty(RDF.type, iriMinter.resource(TYP_TOP));
             }
-            case TYP_VLASTNOST -> resource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_VLASTNOST));
-            default -> resource.addProperty(RDF.type, ontModel.getResource(namespace + ontologyClass));
+            case TYP_VLASTNOST -> resource.addProperty(RDF.type, iriMinter.resource(TYP_VLASTNOST));
+            default -> resource.addProperty(RDF.type, iriMinter.resource(ontologyClass));
         }
     }
 
@@ -706,16 +928,14 @@ public class ArchiConverter {
     }
 
     private void addDescriptionAndDefinition(Resource resource, Map<String, String> properties) {
-        String namespace = getEffectiveOntologyNamespace();
-
         if (properties.containsKey(LABEL_POPIS)) {
-            Property popisProp = ontModel.getProperty(namespace + LABEL_POPIS);
-            DataTypeConverter.addTypedProperty(resource, popisProp, properties.get(LABEL_POPIS), "cs", ontModel);
+            Property popisProp = iriMinter.property(LABEL_POPIS);
+            DataTypeConverter.addTypedProperty(resource, popisProp, properties.get(LABEL_POPIS), "cs", model);
         }
 
         if (properties.containsKey(LABEL_DEF)) {
-            Property defProp = ontModel.getProperty(namespace + LABEL_DEF);
-            DataTypeConverter.addTypedProperty(resource, defProp, properties.get(LABEL_DEF), "cs", ontModel);
+            Property defProp = iriMinter.property(LABEL_DEF);
+            DataTypeConverter.addTypedProperty(resource, defProp, properties.get(LABEL_DEF), "cs", model);
 
         }
 
@@ -728,8 +948,8 @@ public class ArchiConverter {
                     String lang = parts[1];
 
                     if (propName.equals(LABEL_POPIS) || propName.equals(LABEL_DEF)) {
-                        Property defProp = ontModel.getProperty(namespace + propName);
-                        DataTypeConverter.addTypedProperty(resource, defProp, entry.getValue(), lang, ontModel);
+                        Property defProp = iriMinter.property(propName);
+                        DataTypeConverter.addTypedProperty(resource, defProp, entry.getValue(), lang, model);
                     }
                 }
             }
@@ -746,16 +966,16 @@ public class ArchiConverter {
             return;
         }
 
-        Property altNameProperty = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_AN);
+        Property altNameProperty = iriMinter.property(LABEL_AN);
         if (!altNamesValue.contains(";")) {
-            DataTypeConverter.addTypedProperty(resource, altNameProperty, altNamesValue, "cs", ontModel);
+            DataTypeConverter.addTypedProperty(resource, altNameProperty, altNamesValue, "cs", model);
             return;
         }
 
         Arrays.stream(altNamesValue.split(";"))
                 .map(String::trim)
                 .filter(name -> !name.isEmpty())
-                .forEach(name -> DataTypeConverter.addTypedProperty(resource, altNameProperty, name, "cs", ontModel));
+                .forEach(name -> DataTypeConverter.addTypedProperty(resource, altNameProperty, name, "cs", model));
     }
 
     private void addSourceReferences(Resource resource, Map<String, String> properties) {
@@ -793,11 +1013,11 @@ public class ArchiConverter {
 
         try {
             String transformedUrl = transformEliUrl(url);
-            Property sourceProp = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_ZDROJ);
-            resource.addProperty(sourceProp, ontModel.createResource(transformedUrl));
+            Property sourceProp = iriMinter.property(LABEL_ZDROJ);
+            resource.addProperty(sourceProp, iriMinter.resource(model, transformedUrl));
         } catch (Exception e) {
             log.warn("Failed to add source URL '{}': {}. Adding as plain literal.", url, e.getMessage());
-            Property sourceProp = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_ZDROJ);
+            Property sourceProp = iriMinter.property(LABEL_ZDROJ);
             resource.addProperty(sourceProp, url);
         }
     }
@@ -810,15 +1030,15 @@ public class ArchiConverter {
         String relatedSourceUrl = properties.get(LABEL_SZ);
         if (relatedSourceUrl != null && !relatedSourceUrl.isEmpty()) {
             String transformedUrl = transformEliUrl(relatedSourceUrl);
-            Property relatedSourceProp = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_SZ);
-            resource.addProperty(relatedSourceProp, ontModel.createResource(transformedUrl));
+            Property relatedSourceProp = iriMinter.property(LABEL_SZ);
+            resource.addProperty(relatedSourceProp, iriMinter.resource(model, transformedUrl));
         }
     }
 
     private void addDomainAndRange(Resource resource, Map<String, String> properties) {
         if (properties.containsKey(LABEL_DEF_O)) {
-            resource.addProperty(ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_DEF_O),
-                    ontModel.createResource(properties.get(LABEL_DEF_O)));
+            resource.addProperty(iriMinter.property(LABEL_DEF_O),
+                    iriMinter.resource(model, properties.get(LABEL_DEF_O)));
         }
 
         if (properties.containsKey(LABEL_OBOR_HODNOT)) {
@@ -827,23 +1047,21 @@ public class ArchiConverter {
     }
 
     private void addRangeProperty(Resource resource, String rangeValue) {
-        String namespace = getEffectiveOntologyNamespace();
-
         if (rangeValue.startsWith("xsd:")) {
             String xsdType = XSD + rangeValue.substring(4);
-            resource.addProperty(ontModel.getProperty(namespace + LABEL_OBOR_HODNOT),
-                    ontModel.createResource(xsdType));
+            resource.addProperty(iriMinter.property(LABEL_OBOR_HODNOT),
+                    iriMinter.resource(model, xsdType));
         } else {
-            resource.addProperty(ontModel.getProperty(namespace + LABEL_OBOR_HODNOT),
-                    ontModel.createResource(rangeValue));
+            resource.addProperty(iriMinter.property(LABEL_OBOR_HODNOT),
+                    iriMinter.resource(model, rangeValue));
         }
     }
 
     private void addSuperclasses(Resource resource, Map<String, String> properties) {
         if (properties.containsKey(LABEL_NT)) {
             String superClass = properties.get(LABEL_NT);
-            resource.addProperty(ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_NT),
-                    ontModel.createResource(superClass));
+            resource.addProperty(iriMinter.property(LABEL_NT),
+                    iriMinter.resource(model, superClass));
         }
     }
 
@@ -852,8 +1070,8 @@ public class ArchiConverter {
             String provision = properties.get(LABEL_SUPP);
             if (provision != null && !provision.trim().isEmpty()) {
                 String transformedProvision = transformEliUrl(provision);
-                resource.addProperty(ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_SUPP),
-                        ontModel.createResource(transformedProvision));
+                resource.addProperty(iriMinter.property(LABEL_SUPP),
+                        iriMinter.resource(model, transformedProvision));
             }
         }
     }
@@ -907,8 +1125,8 @@ public class ArchiConverter {
                     + sharingWay;
         }
 
-        Property sdileniProp = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_ZPUSOB_SDILENI);
-        DataTypeConverter.addTypedProperty(resource, sdileniProp, formattedSharingWay, null, ontModel);
+        Property sdileniProp = iriMinter.property(LABEL_ZPUSOB_SDILENI);
+        DataTypeConverter.addTypedProperty(resource, sdileniProp, formattedSharingWay, null, model);
     }
 
     private void addDataAcquisitionWay(Resource resource, Map<String, String> properties) {
@@ -923,8 +1141,8 @@ public class ArchiConverter {
                             + acquisitionWay;
                 }
 
-                Property acquisitionProp = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_ZPUSOB_ZISKANI);
-                DataTypeConverter.addTypedProperty(resource, acquisitionProp, formattedAcquisitionWay, null, ontModel);
+                Property acquisitionProp = iriMinter.property(LABEL_ZPUSOB_ZISKANI);
+                DataTypeConverter.addTypedProperty(resource, acquisitionProp, formattedAcquisitionWay, null, model);
             }
         }
     }
@@ -940,8 +1158,8 @@ public class ArchiConverter {
                     formattedContentType = "https://data.dia.gov.cz/zdroj/číselníky/typy-obsahu-údajů/položky/"
                             + contentType;
                 }
-                Property contentTypeProp = ontModel.getProperty(getEffectiveOntologyNamespace() + LABEL_TYP_OBSAHU);
-                DataTypeConverter.addTypedProperty(resource, contentTypeProp, formattedContentType, null, ontModel);
+                Property contentTypeProp = iriMinter.property(LABEL_TYP_OBSAHU);
+                DataTypeConverter.addTypedProperty(resource, contentTypeProp, formattedContentType, null, model);
             }
         }
     }
@@ -956,12 +1174,11 @@ public class ArchiConverter {
             return;
         }
 
-        String namespace = getEffectiveOntologyNamespace();
-        Property ppdfProp = ontModel.getProperty(namespace + LABEL_JE_PPDF);
+        Property ppdfProp = iriMinter.property(LABEL_JE_PPDF);
 
         if (isResourceProperty(ppdfProp)) {
             try {
-                resource.addProperty(ppdfProp, ontModel.createResource(value));
+                resource.addProperty(ppdfProp, iriMinter.resource(model, value));
                 log.debug("Added PPDF resource: {} to resource {}", value, resource.getURI());
             } catch (Exception e) {
                 log.warn("Failed to add PPDF value '{}': {}. Adding as literal.", value, e.getMessage());
@@ -973,11 +1190,11 @@ public class ArchiConverter {
                         "ano".equalsIgnoreCase(value) ||
                         "yes".equalsIgnoreCase(value);
                 DataTypeConverter.addTypedProperty(resource, ppdfProp,
-                        boolValue ? "true" : "false", null, ontModel);
+                        boolValue ? "true" : "false", null, model);
             } else {
                 log.warn("Unrecognized boolean value for {} property: '{}'. Expected true/false, ano/ne, or yes/no.",
                         LABEL_JE_PPDF, value);
-                DataTypeConverter.addTypedProperty(resource, ppdfProp, "", null, ontModel);
+                DataTypeConverter.addTypedProperty(resource, ppdfProp, "", null, model);
             }
         }
     }
@@ -998,9 +1215,9 @@ public class ArchiConverter {
                     "yes".equalsIgnoreCase(value);
 
             if (isPublic) {
-                resource.addProperty(RDF.type, ontModel.getResource(getEffectiveOntologyNamespace() + TYP_VEREJNY_UDAJ));
+                resource.addProperty(RDF.type, iriMinter.resource(TYP_VEREJNY_UDAJ));
             } else {
-                resource.addProperty(RDF.type, ontModel.getResource(getEffectiveOntologyNamespace() + TYP_NEVEREJNY_UDAJ));
+                resource.addProperty(RDF.type, iriMinter.resource(TYP_NEVEREJNY_UDAJ));
             }
         } else {
             log.warn("Unrecognized boolean value for {} property: '{}'. Expected true/false, ano/ne, or yes/no.",
@@ -1012,26 +1229,22 @@ public class ArchiConverter {
 
 
     private void addNonPublicData(Resource resource, Map<String, String> properties) {
-        String namespace = getEffectiveOntologyNamespace();
-
         if (properties.containsKey(LABEL_UDN)) {
-            resource.addProperty(RDF.type, ontModel.getResource(namespace + TYP_NEVEREJNY_UDAJ));
+            resource.addProperty(RDF.type, iriMinter.resource(TYP_NEVEREJNY_UDAJ));
             String legalProvision = properties.get(LABEL_UDN);
             if (legalProvision != null && !legalProvision.isEmpty()) {
-                Property udnProp = ontModel.getProperty(namespace + LABEL_UDN);
-                DataTypeConverter.addTypedProperty(resource, udnProp, legalProvision, null, ontModel);
+                Property udnProp = iriMinter.property(LABEL_UDN);
+                DataTypeConverter.addTypedProperty(resource, udnProp, legalProvision, null, model);
             }
         }
     }
 
     private void addAgendaSystem(Resource resource, Map<String, String> properties) {
-        String namespace = getEffectiveOntologyNamespace();
-
-        addAgendaInformationSystem(resource, properties, namespace);
-        addAgenda(resource, properties, namespace);
+        addAgendaInformationSystem(resource, properties);
+        addAgenda(resource, properties);
     }
 
-    private void addAgendaInformationSystem(Resource resource, Map<String, String> properties, String namespace) {
+    private void addAgendaInformationSystem(Resource resource, Map<String, String> properties) {
         if (properties.containsKey(LABEL_AIS)) {
             String ais = properties.get(LABEL_AIS);
             if (ais != null && !ais.isEmpty()) {
@@ -1045,14 +1258,14 @@ public class ArchiConverter {
                 }
 
                 resource.addProperty(
-                        ontModel.getProperty(namespace + LABEL_AIS),
-                        ontModel.createResource(formattedAis)
+                        iriMinter.property(LABEL_AIS),
+                        iriMinter.resource(model, formattedAis)
                 );
             }
         }
     }
 
-    private void addAgenda(Resource resource, Map<String, String> properties, String namespace) {
+    private void addAgenda(Resource resource, Map<String, String> properties) {
         if (properties.containsKey(LABEL_AGENDA)) {
             String agenda = properties.get(LABEL_AGENDA);
             if (agenda != null && !agenda.isEmpty()) {
@@ -1060,8 +1273,8 @@ public class ArchiConverter {
                 String formattedAgenda = getFormattedAgenda(agenda);
 
                 resource.addProperty(
-                        ontModel.getProperty(namespace + LABEL_AGENDA),
-                        ontModel.createResource(formattedAgenda)
+                        iriMinter.property(LABEL_AGENDA),
+                        iriMinter.resource(model, formattedAgenda)
                 );
             }
         }
@@ -1084,71 +1297,47 @@ public class ArchiConverter {
     private void addSchemeRelationship(Resource resource) {
         Resource ontologyResource = resourceMap.get("ontology");
         if (ontologyResource != null && resource.hasProperty(RDF.type,
-                ontModel.getResource(getEffectiveOntologyNamespace() + TYP_POJEM))) {
+                iriMinter.resource(TYP_POJEM))) {
             resource.addProperty(SKOS.inScheme, ontologyResource);
         }
     }
 
-    private String getElementName(Element element) {
-        NodeList nameNodes = element.getElementsByTagNameNS(ARCHI_NS, "name");
-        if (nameNodes.getLength() > 0) {
-            return nameNodes.item(0).getTextContent();
+    private String getFirstName(List<ArchiLangValue> names) {
+        if (!names.isEmpty()) {
+            return names.get(0).value();
         }
         return "";
     }
 
-    private String getRelationshipName(Element relationship) {
-        NodeList nameNodes = relationship.getElementsByTagNameNS(ARCHI_NS, "name");
-        if (nameNodes.getLength() > 0) {
-            return nameNodes.item(0).getTextContent();
-        }
-        return "";
-    }
-
-    private Map<String, String> getElementProperties(Element element) {
+    private Map<String, String> getElementProperties(List<ArchiLangValue> names, List<ArchiPropertyRecord> properties) {
         Map<String, String> result = new HashMap<>();
 
-        NodeList propertiesNodes = element.getElementsByTagNameNS(ARCHI_NS, "properties");
-        if (propertiesNodes.getLength() > 0) {
-            Element propertiesElement = (Element) propertiesNodes.item(0);
-            NodeList propertyNodes = propertiesElement.getElementsByTagNameNS(ARCHI_NS, "property");
-
-            for (int i = 0; i < propertyNodes.getLength(); i++) {
-                Element property = (Element) propertyNodes.item(i);
-                String propRef = property.getAttribute("propertyDefinitionRef");
-                String propName = propertyMapping.getOrDefault(propRef, propRef);
-
-                NodeList valueNodes = property.getElementsByTagNameNS(ARCHI_NS, "value");
-                if (valueNodes.getLength() > 0) {
-                    Element valueNode = (Element) valueNodes.item(0);
-                    String value = valueNode.getTextContent();
-                    String lang = valueNode.getAttributeNS("http://www.w3.org/XML/1998/namespace"
-                            , "lang");
-
-                    if (propName.equals(LABEL_AN) && (lang.isEmpty() || lang.equals("cs"))) {
-                        checkAltNameProperties(result, value);
-                    } else {
-                        checkNonCSProperties(lang, result, value, propName);
-                    }
-                }
+        for (ArchiPropertyRecord property : properties) {
+            String propRef = property.definitionRef();
+            String propName = propertyMapping.getOrDefault(propRef, propRef);
+
+            String value = property.value();
+            String lang = property.lang();
+
+            if (propName.equals(LABEL_AN) && (lang.isEmpty() || lang.equals("cs"))) {
+                checkAltNameProperties(result, value);
+            } else {
+                checkNonCSProperties(lang, result, value, propName);
             }
         }
 
-        processNameNodes(element, result);
+        processNameNodes(names, result);
 
         return result;
     }
 
-    private void processNameNodes(Element element, Map<String, String> result) {
-        NodeList nameNodes = element.getElementsByTagNameNS(ARCHI_NS, "name");
-        for (int i = 0; i < nameNodes.getLength(); i++) {
-            Element nameElement = (Element) nameNodes.item(i);
-            String lang = nameElement.getAttributeNS("http://www.w3.org/XML/1998/namespace"
-                    , "lang");
+    private void processNameNodes(List<ArchiLangValue> names, Map<String, String> result) {
+        for (ArchiLangValue name : names) {
+            String lang = name.lang();
 
             if (!lang.isEmpty() && !lang.equals("cs")) {
-                result.put("lang=" + lang, nameElement.getTextContent());
-                log.debug("Found {} name: {}", lang, nameElement.getTextContent());
+                result.put("lang=" + lang, name.value());
+                log.debug("Found {} name: {}", lang, name.value());
             }
         }
     }
@@ -1199,4 +1388,31 @@ public class ArchiConverter {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Logs warnings and fails on errors with a {@link RiotParseException} carrying the position.
+     */
+    private static final class LocatingErrorHandler implements ErrorHandler {
+
+        @Override
+        public void warning(String message, long line, long col) {
+            log.warn("Turtle parsing warning: requestId={}, line={}, column={}, warning={}",
+                    MDC.get(LOG_REQUEST_ID), line, col, message);
+        }
+
+        @Override
+        public void error(String message, long line, long col) {
+            throw new RiotParseException(message, line, col);
+        }
+
+        @Override
+        public void fatal(String message, long line, long col) {
+            throw new RiotParseException(message, line, col);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentSource {
+        void readInto(ArchiDocument document) throws XMLStreamException, IOException, FileParsingException;
+    }
+}
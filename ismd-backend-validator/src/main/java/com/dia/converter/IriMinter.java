@@ -0,0 +1,90 @@
+package com.dia.converter;
+
+import com.dia.utility.UtilityMethods;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.dia.constants.ArchiOntologyConstants.NS;
+
+/**
+ * Mints the IRIs of a single conversion.
+ * <p>
+ * The effective ontology namespace is validated once when it is configured instead of on every lookup, sanitized
+ * names are remembered, properties and classes of the namespace are resolved once per namespace and URI nodes are
+ * interned, so repeated names, agendas or sources share one {@link Node}. Safe to use from the parallel element
+ * conversion.
+ */
+final class IriMinter {
+
+    private final Model model;
+    private final Map<String, String> sanitizedNames = new ConcurrentHashMap<>();
+    private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+    private volatile Namespace namespace = new Namespace(NS);
+
+    IriMinter(Model model) {
+        this.model = model;
+    }
+
+    /**
+     * Sets the namespace from the model, falling back to the default one when it is missing or not a valid URL.
+     */
+    void setConfiguredNamespace(String configured) {
+        String effective = NS;
+        if (configured != null && !configured.isEmpty() && UtilityMethods.isValidUrl(configured)) {
+            effective = configured.endsWith("/") ? configured : configured + "/";
+        }
+        if (!effective.equals(namespace.iri())) {
+            namespace = new Namespace(effective);
+        }
+    }
+
+    String getNamespace() {
+        return namespace.iri();
+    }
+
+    String sanitize(String name) {
+        if (name == null) {
+            return UtilityMethods.sanitizeForIRI(null);
+        }
+        return sanitizedNames.computeIfAbsent(name, UtilityMethods::sanitizeForIRI);
+    }
+
+    /**
+     * Property {@code localName} of the ontology namespace.
+     */
+    Property property(String localName) {
+        Namespace current = namespace;
+        return current.properties().computeIfAbsent(localName, name -> model.getProperty(current.iri() + name));
+    }
+
+    /**
+     * Class or other resource {@code localName} of the ontology namespace.
+     */
+    Resource resource(String localName) {
+        Namespace current = namespace;
+        return current.resources().computeIfAbsent(localName, name -> model.getResource(current.iri() + name));
+    }
+
+    /**
+     * Resource with the given IRI in {@code target}, backed by an interned node.
+     */
+    Resource resource(Model target, String iri) {
+        if (iri == null) {
+            return target.createResource(iri);
+        }
+        return target.wrapAsResource(nodes.computeIfAbsent(iri, NodeFactory::createURI));
+    }
+
+    private record Namespace(String iri, Map<String, Property> properties, Map<String, Resource> resources) {
+
+        private Namespace(String iri) {
+            this(iri, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+}
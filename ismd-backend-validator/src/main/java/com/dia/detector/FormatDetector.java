@@ -0,0 +1,13 @@
+package com.dia.detector;
+
+import com.dia.enums.FileFormat;
+
+/**
+ * Recognizes one input format from the prefix of an upload. Detectors are Spring beans asked in their
+ * {@link org.springframework.core.annotation.Order order}; the first one that does not answer
+ * {@link FileFormat#UNSUPPORTED} wins.
+ */
+public interface FormatDetector {
+
+    FileFormat detect(UploadPrefix prefix);
+}
@@ -0,0 +1,71 @@
+package com.dia.detector;
+
+import com.dia.enums.FileFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.List;
+
+/**
+ * Determines the format of an upload from a single bounded read of its prefix. The prefix is handed back in front
+ * of the rest of the stream, so the chosen parser reads the upload exactly once.
+ */
+@Component
+@Slf4j
+public class FormatSniffer {
+
+    static final int PREFIX_SIZE = 4096;
+
+    private final List<FormatDetector> detectors;
+
+    public FormatSniffer(List<FormatDetector> detectors) {
+        this.detectors = detectors;
+    }
+
+    /**
+     * Reads the prefix of {@code input}. The returned upload owns {@code input} and closes it.
+     */
+    public SniffedUpload sniff(InputStream input, String filename, String contentType) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = input.readNBytes(PREFIX_SIZE);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+
+        UploadPrefix prefix = new UploadPrefix(bytes, bytes.length, filename, contentType);
+        FileFormat format = detect(prefix);
+        log.debug("Upload format detected: filename={}, contentType={}, format={}", filename, contentType, format);
+        return new SniffedUpload(format, new SequenceInputStream(new ByteArrayInputStream(bytes), input));
+    }
+
+    private FileFormat detect(UploadPrefix prefix) {
+        if (prefix.length() == 0) {
+            return FileFormat.UNSUPPORTED;
+        }
+        for (FormatDetector detector : detectors) {
+            FileFormat format = detector.detect(prefix);
+            if (format != FileFormat.UNSUPPORTED) {
+                return format;
+            }
+        }
+        return FileFormat.UNSUPPORTED;
+    }
+
+    /**
+     * Detected format and the complete upload, starting with the already read prefix.
+     */
+    public record SniffedUpload(FileFormat format, InputStream input) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
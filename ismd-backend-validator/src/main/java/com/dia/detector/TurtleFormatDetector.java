@@ -0,0 +1,60 @@
+package com.dia.detector;
+
+import com.dia.enums.FileFormat;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turtle documents, recognized by a leading {@code @prefix}/{@code @base} or SPARQL style {@code PREFIX}/{@code BASE}
+ * directive after an optional byte order mark, whitespace and comments. Documents without directives are accepted
+ * when the file has the {@code .ttl} extension.
+ */
+@Component
+@Order(300)
+public class TurtleFormatDetector implements FormatDetector {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[][] DIRECTIVES = {
+            UploadPrefix.ascii("@prefix"), UploadPrefix.ascii("@base"),
+            UploadPrefix.ascii("PREFIX"), UploadPrefix.ascii("BASE")
+    };
+
+    @Override
+    public FileFormat detect(UploadPrefix prefix) {
+        int offset = skipWhitespaceAndComments(prefix, prefix.startsWith(UTF8_BOM) ? UTF8_BOM.length : 0);
+        for (byte[] directive : DIRECTIVES) {
+            if (prefix.startsWith(directive, offset) && isFollowedBySpace(prefix, offset + directive.length)) {
+                return FileFormat.TURTLE;
+            }
+        }
+        if (prefix.hasExtension("ttl")) {
+            return FileFormat.TURTLE;
+        }
+        return FileFormat.UNSUPPORTED;
+    }
+
+    private int skipWhitespaceAndComments(UploadPrefix prefix, int offset) {
+        byte[] bytes = prefix.bytes();
+        while (offset < prefix.length()) {
+            byte b = bytes[offset];
+            if (b == '#') {
+                while (offset < prefix.length() && bytes[offset] != '\n') {
+                    offset++;
+                }
+            } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                offset++;
+            } else {
+                break;
+            }
+        }
+        return offset;
+    }
+
+    private boolean isFollowedBySpace(UploadPrefix prefix, int offset) {
+        if (offset >= prefix.length()) {
+            return false;
+        }
+        byte b = prefix.bytes()[offset];
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
@@ -0,0 +1,45 @@
+package com.dia.detector;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The first bytes of an upload together with the client supplied metadata. Detectors match byte patterns
+ * directly on the buffer instead of decoding it to a string.
+ */
+public record UploadPrefix(byte[] bytes, int length, String filename, String contentType) {
+
+    public boolean startsWith(byte[] signature) {
+        return startsWith(signature, 0);
+    }
+
+    public boolean startsWith(byte[] signature, int offset) {
+        if (offset + signature.length > length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (bytes[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean contains(byte[] pattern) {
+        int last = length - pattern.length;
+        byte first = pattern[0];
+        for (int i = 0; i <= last; i++) {
+            if (bytes[i] == first && startsWith(pattern, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasExtension(String extension) {
+        return filename != null && filename.toLowerCase().endsWith("." + extension);
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,29 @@
+package com.dia.detector;
+
+import com.dia.enums.FileFormat;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * XLSX workbooks are ZIP archives; the local file header signature is followed by the names of the package
+ * parts, so a plain ZIP is told apart by the content types part or the {@code .xlsx} extension.
+ */
+@Component
+@Order(100)
+public class XlsxFormatDetector implements FormatDetector {
+
+    private static final byte[] ZIP_SIGNATURE = {'P', 'K', 3, 4};
+    private static final byte[] CONTENT_TYPES_PART = UploadPrefix.ascii("[Content_Types].xml");
+    private static final byte[] WORKBOOK_FOLDER = UploadPrefix.ascii("xl/");
+
+    @Override
+    public FileFormat detect(UploadPrefix prefix) {
+        if (!prefix.startsWith(ZIP_SIGNATURE)) {
+            return FileFormat.UNSUPPORTED;
+        }
+        if (prefix.hasExtension("xlsx") || prefix.contains(CONTENT_TYPES_PART) || prefix.contains(WORKBOOK_FOLDER)) {
+            return FileFormat.XLSX;
+        }
+        return FileFormat.UNSUPPORTED;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dia.detector;
+
+import com.dia.enums.FileFormat;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static com.dia.constants.ConvertorControllerConstants.*;
+
+/**
+ * Archi exchange format and XMI 2.1 documents, recognized by the namespaces declared on the root element.
+ */
+@Component
+@Order(200)
+public class XmlFormatDetector implements FormatDetector {
+
+    private static final byte[] ARCHI_3_NAMESPACE = UploadPrefix.ascii(ARCHI_3_HEADER);
+    private static final byte[] ARCHIMATE_NAMESPACE = UploadPrefix.ascii(ARCHIMATE_HEADER);
+    private static final byte[] XMI_NAMESPACE = UploadPrefix.ascii(XMI_HEADER);
+    private static final byte[] XMI_VERSION = UploadPrefix.ascii("XMI.version=\"2.1\"");
+
+    @Override
+    public FileFormat detect(UploadPrefix prefix) {
+        if (prefix.contains(ARCHI_3_NAMESPACE) || prefix.contains(ARCHIMATE_NAMESPACE)) {
+            return FileFormat.ARCHI_XML;
+        }
+        if (prefix.contains(XMI_NAMESPACE) || prefix.contains(XMI_VERSION)) {
+            return FileFormat.XMI;
+        }
+        return FileFormat.UNSUPPORTED;
+    }
+}
@@ -0,0 +1,30 @@
+package com.dia.engine;
+
+import com.dia.converter.ArchiConverter;
+import lombok.Getter;
+
+import static com.dia.metrics.ConversionMetrics.FORMAT_ARCHI_XML;
+
+/**
+ * Holds the state of a single conversion (parse → convert → export).
+ * A new context is created by {@link ConverterEngine} for every request and discarded afterwards,
+ * so concurrent conversions never share a model.
+ */
+@Getter
+public class ConversionContext {
+
+    private final ArchiConverter archiConverter;
+    /**
+     * Format the model was read from, used to tag the metrics of the later stages.
+     */
+    private final String inputFormat;
+
+    public ConversionContext() {
+        this(FORMAT_ARCHI_XML);
+    }
+
+    public ConversionContext(String inputFormat) {
+        this.archiConverter = new ArchiConverter();
+        this.inputFormat = inputFormat;
+    }
+}
@@ -1,62 +1,136 @@
 package com.dia.engine;
 
-import com.dia.converter.ArchiConverter;
 import com.dia.exceptions.ConversionException;
 import com.dia.exceptions.FileParsingException;
 import com.dia.exceptions.JsonExportException;
 import com.dia.exceptions.TurtleExportException;
-import lombok.RequiredArgsConstructor;
+import com.dia.metrics.ConversionMetrics;
+import com.dia.metrics.ConversionMetrics.CountingInputStream;
+import com.dia.metrics.ConversionMetrics.CountingOutputStream;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.riot.RDFFormat;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
 import static com.dia.constants.ConvertorControllerConstants.LOG_REQUEST_ID;
+import static com.dia.metrics.ConversionMetrics.*;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ConverterEngine {
 
-    private final ArchiConverter archiConverter;
+    /**
+     * Limits how many models are converted at once. Uploads and exports are mostly blocking I/O and may run on
+     * as many (virtual) threads as the server allows, but the conversion itself is CPU bound, so running more
+     * of them than there are cores only adds memory pressure.
+     */
+    private final Semaphore conversionPermits;
+    /**
+     * Shared by all conversions to convert the elements of large models in parallel; {@code null} when element
+     * conversion is configured to stay sequential.
+     */
+    private final ForkJoinPool elementPool;
+    private final ConversionMetrics metrics;
 
-    public void parseArchiFromString(String content) throws FileParsingException {
-        String requestId = MDC.get(LOG_REQUEST_ID);
-        int contentLength = content != null ? content.length() : 0;
+    public ConverterEngine(@Value("${conversion.max-concurrent-conversions:0}") int maxConcurrentConversions,
+                           @Value("${conversion.element-parallelism:0}") int elementParallelism,
+                           ConversionMetrics metrics) {
+        this.metrics = metrics;
+        int permits = maxConcurrentConversions > 0
+                ? maxConcurrentConversions
+                : Runtime.getRuntime().availableProcessors();
+        this.conversionPermits = new Semaphore(permits, true);
+        int parallelism = elementParallelism > 0
+                ? elementParallelism
+                : Runtime.getRuntime().availableProcessors();
+        this.elementPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
 
-        log.info("Starting Archi XML parsing: requestId={}, contentLength={}",
-                requestId, contentLength);
+    @PreDestroy
+    public void shutdown() {
+        if (elementPool != null) {
+            elementPool.shutdown();
+        }
+    }
 
-        try {
-            long startTime = System.currentTimeMillis();
-            archiConverter.parseFromString(content);
-            long duration = System.currentTimeMillis() - startTime;
+    public ConversionContext parseArchiFromString(String content) throws FileParsingException {
+        return parse(FORMAT_ARCHI_XML, "Archi XML", context -> {
+            context.getArchiConverter().parseFromString(content);
+            return utf8Length(content);
+        });
+    }
 
-            log.info("Archi XML parsing completed: requestId={}, durationMs={}",
-                    requestId, duration);
-        } catch (FileParsingException e) {
-            log.error("Failed to parse Archi XML: requestId={}, error={}",
-                    requestId, e.getMessage(), e);
-            throw e;
-        } catch (Exception e) {
-            log.error("Unexpected error during Archi XML parsing: requestId={}",
-                    requestId, e);
-            throw new FileParsingException("Během čtení souboru došlo k nečekané chybě.", e);
-        }
+    public ConversionContext parseArchi(InputStream input) throws FileParsingException {
+        return parse(FORMAT_ARCHI_XML, "Archi XML", context -> {
+            CountingInputStream counting = metrics.counting(input);
+            context.getArchiConverter().parse(counting);
+            return counting.getCount();
+        });
+    }
+
+    public ConversionContext parseArchi(Path upload) throws FileParsingException {
+        return parse(FORMAT_ARCHI_XML, "Archi XML", context -> {
+            context.getArchiConverter().parse(upload);
+            return Files.size(upload);
+        });
+    }
+
+    public ConversionContext parseXlsx(InputStream input) throws FileParsingException {
+        return parse(FORMAT_XLSX, "XLSX", context -> {
+            CountingInputStream counting = metrics.counting(input);
+            context.getArchiConverter().parseXlsx(counting);
+            return counting.getCount();
+        });
+    }
+
+    public ConversionContext parseXmi(InputStream input) throws FileParsingException {
+        return parse(FORMAT_XMI, "XMI", context -> {
+            CountingInputStream counting = metrics.counting(input);
+            context.getArchiConverter().parseXmi(counting);
+            return counting.getCount();
+        });
     }
 
-    public void convertArchi(Boolean removeInvalidSources) throws ConversionException {
+    public ConversionContext parseTurtle(InputStream input) throws FileParsingException {
+        return parse(FORMAT_TURTLE, "Turtle", context -> {
+            CountingInputStream counting = metrics.counting(input);
+            context.getArchiConverter().parseTurtle(counting);
+            return counting.getCount();
+        });
+    }
+
+    public void convertArchi(ConversionContext context, Boolean removeInvalidSources) throws ConversionException {
         String requestId = MDC.get(LOG_REQUEST_ID);
         log.info("Starting Archi model conversion: requestId={}", requestId);
         log.info("Invalid sources removal requested: {}, requestId={}", removeInvalidSources, requestId);
 
         try {
-            long startTime = System.currentTimeMillis();
-            archiConverter.setRemoveELI(removeInvalidSources);
-            archiConverter.convert();
-            long duration = System.currentTimeMillis() - startTime;
+            long waitStart = System.nanoTime();
+            conversionPermits.acquire();
+            try {
+                long waitNanos = System.nanoTime() - waitStart;
+                metrics.permitWait(waitNanos);
+                log.debug("Conversion permit acquired: requestId={}, waitMs={}",
+                        requestId, waitNanos / 1_000_000);
 
-            log.info("Archi model conversion completed: requestId={}, durationMs={}",
-                    requestId, duration);
+                convert(context, removeInvalidSources, requestId);
+            } finally {
+                conversionPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Archi model conversion interrupted while waiting: requestId={}", requestId);
+            throw new ConversionException("Konverze byla přerušena.", e);
         } catch (ConversionException e) {
             log.error("Failed to convert Archi model: requestId={}, error={}",
                     requestId, e.getMessage(), e);
@@ -68,49 +142,193 @@ public class ConverterEngine {
         }
     }
 
-    public String exportToJson() throws JsonExportException {
+    private void convert(ConversionContext context, Boolean removeInvalidSources, String requestId)
+            throws ConversionException {
+        Timer.Sample sample = metrics.start();
+        try {
+            context.getArchiConverter().setRemoveELI(removeInvalidSources);
+            context.getArchiConverter().setElementPool(elementPool);
+            context.getArchiConverter().convert();
+            long duration = metrics.success(sample, STAGE_CONVERT, context.getInputFormat(), FORMAT_NONE);
+            metrics.triples(context.getInputFormat(), context.getArchiConverter().getTripleCount());
+
+            log.info("Archi model conversion completed: requestId={}, durationMs={}",
+                    requestId, duration);
+        } catch (RuntimeException e) {
+            metrics.failure(sample, STAGE_CONVERT, context.getInputFormat(), FORMAT_NONE);
+            throw e;
+        }
+    }
+
+    public String exportToJson(ConversionContext context) throws JsonExportException {
         String requestId = MDC.get("requestId");
         log.info("Starting JSON export: requestId={}", requestId);
 
+        Timer.Sample sample = metrics.start();
         try {
-            long startTime = System.currentTimeMillis();
-            String result = archiConverter.exportToJson();
-            long duration = System.currentTimeMillis() - startTime;
+            String result = context.getArchiConverter().exportToJson();
+            long duration = metrics.success(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_JSON);
+            metrics.output(context.getInputFormat(), FORMAT_JSON, utf8Length(result));
 
             log.info("JSON export completed: requestId={}, outputSize={}, durationMs={}",
                     requestId, result.length(), duration);
             return result;
         } catch (JsonExportException e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_JSON);
+            log.error("Failed to export to JSON: requestId={}, error={}",
+                    requestId, e.getMessage(), e);
+            throw e;
+        } catch (Exception e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_JSON);
+            log.error("Unexpected error during JSON export: requestId={}",
+                    requestId, e);
+            throw new JsonExportException("Během exportu do JSON došlo k nečekané chybě", e);
+        }
+    }
+
+    public void exportToJson(ConversionContext context, OutputStream output) throws JsonExportException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+        log.info("Starting streamed JSON export: requestId={}", requestId);
+
+        Timer.Sample sample = metrics.start();
+        try {
+            CountingOutputStream counting = metrics.counting(output);
+            context.getArchiConverter().exportToJson(counting);
+            long duration = metrics.success(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_JSON);
+            metrics.output(context.getInputFormat(), FORMAT_JSON, counting.getCount());
+
+            log.info("Streamed JSON export completed: requestId={}, outputSize={}, durationMs={}",
+                    requestId, counting.getCount(), duration);
+        } catch (JsonExportException e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_JSON);
             log.error("Failed to export to JSON: requestId={}, error={}",
                     requestId, e.getMessage(), e);
             throw e;
         } catch (Exception e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_JSON);
             log.error("Unexpected error during JSON export: requestId={}",
                     requestId, e);
             throw new JsonExportException("Během exportu do JSON došlo k nečekané chybě", e);
         }
     }
 
-    public String exportToTurtle() throws TurtleExportException {
+    public String exportToTurtle(ConversionContext context) throws TurtleExportException {
         String requestId = MDC.get(LOG_REQUEST_ID);
         log.info("Starting Turtle export: requestId={}", requestId);
 
+        Timer.Sample sample = metrics.start();
         try {
-            long startTime = System.currentTimeMillis();
-            String result = archiConverter.exportToTurtle();
-            long duration = System.currentTimeMillis() - startTime;
+            String result = context.getArchiConverter().exportToTurtle();
+            long duration = metrics.success(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_TURTLE);
+            metrics.output(context.getInputFormat(), FORMAT_TURTLE, utf8Length(result));
 
             log.info("Turtle export completed: requestId={}, outputSize={}, durationMs={}",
                     requestId, result.length(), duration);
             return result;
         } catch (TurtleExportException e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_TURTLE);
             log.error("Failed to export to Turtle: requestId={}, error={}",
                     requestId, e.getMessage(), e);
             throw e;
         } catch (Exception e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), FORMAT_TURTLE);
             log.error("Unexpected error during Turtle export: requestId={}",
                     requestId, e);
             throw new TurtleExportException("Během exportu do Turtle došlo k nečekané chybě.", e);
         }
     }
+
+    public void exportToTurtle(ConversionContext context, OutputStream output, RDFFormat format)
+            throws TurtleExportException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+        log.info("Starting streamed Turtle export: requestId={}, format={}", requestId, format);
+
+        String outputFormat = RDFFormat.NTRIPLES.equals(format) ? FORMAT_NTRIPLES : FORMAT_TURTLE;
+        Timer.Sample sample = metrics.start();
+        try {
+            CountingOutputStream counting = metrics.counting(output);
+            context.getArchiConverter().exportToTurtle(counting, format);
+            long duration = metrics.success(sample, STAGE_EXPORT, context.getInputFormat(), outputFormat);
+            metrics.output(context.getInputFormat(), outputFormat, counting.getCount());
+
+            log.info("Streamed Turtle export completed: requestId={}, outputSize={}, durationMs={}",
+                    requestId, counting.getCount(), duration);
+        } catch (TurtleExportException e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), outputFormat);
+            log.error("Failed to export to Turtle: requestId={}, error={}",
+                    requestId, e.getMessage(), e);
+            throw e;
+        } catch (Exception e) {
+            metrics.failure(sample, STAGE_EXPORT, context.getInputFormat(), outputFormat);
+            log.error("Unexpected error during Turtle export: requestId={}",
+                    requestId, e);
+            throw new TurtleExportException("Během exportu do Turtle došlo k nečekané chybě.", e);
+        }
+    }
+
+    /**
+     * Runs one parse stage: times it, records the input size returned by {@code reader} and turns unexpected
+     * errors into a {@link FileParsingException}.
+     */
+    private ConversionContext parse(String format, String label, InputReader reader) throws FileParsingException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+        log.info("Starting {} parsing: requestId={}", label, requestId);
+
+        Timer.Sample sample = metrics.start();
+        try {
+            ConversionContext context = new ConversionContext(format);
+            long inputSize = reader.read(context);
+            long duration = metrics.success(sample, STAGE_PARSE, format, FORMAT_NONE);
+            recordInput(context, inputSize);
+
+            log.info("{} parsing completed: requestId={}, durationMs={}",
+                    label, requestId, duration);
+            return context;
+        } catch (FileParsingException e) {
+            metrics.failure(sample, STAGE_PARSE, format, FORMAT_NONE);
+            log.error("Failed to parse {}: requestId={}, error={}",
+                    label, requestId, e.getMessage(), e);
+            throw e;
+        } catch (Exception e) {
+            metrics.failure(sample, STAGE_PARSE, format, FORMAT_NONE);
+            log.error("Unexpected error during {} parsing: requestId={}",
+                    label, requestId, e);
+            throw new FileParsingException("Během čtení souboru došlo k nečekané chybě.", e);
+        }
+    }
+
+    private void recordInput(ConversionContext context, long bytes) {
+        metrics.input(context.getInputFormat(), bytes,
+                context.getArchiConverter().getElementCount(),
+                context.getArchiConverter().getRelationshipCount());
+    }
+
+    private static long utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Fills the context from the upload and returns the number of bytes read.
+     */
+    @FunctionalInterface
+    private interface InputReader {
+        long read(ConversionContext context) throws Exception;
+    }
 }
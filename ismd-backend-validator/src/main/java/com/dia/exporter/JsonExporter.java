@@ -2,12 +2,15 @@ package com.dia.exporter;
 
 import com.dia.exceptions.JsonExportException;
 import com.dia.utility.UtilityMethods;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.jena.ontology.OntModel;
-import org.apache.jena.rdf.model.Property;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ResIterator;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
@@ -15,10 +18,11 @@ import org.apache.jena.vocabulary.OWL2;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.slf4j.MDC;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static com.dia.constants.ArchiOntologyConstants.*;
@@ -28,115 +32,148 @@ import static com.dia.constants.JsonExportConstants.*;
 @Slf4j
 public class JsonExporter {
 
-    private final OntModel ontModel;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Model model;
     @Getter
     private final Map<String, Resource> resourceMap;
     private final String modelName;
     private final Map<String, String> modelProperties;
     private final String effectiveNamespace;
 
-    public JsonExporter(OntModel ontModel, Map<String, Resource> resourceMap, String modelName,
+    /*
+     * Export plan: the predicates and concept types the export reads, resolved once per export instead of
+     * once per concept and field.
+     */
+    private final Map<String, Node> defaultPredicates = new HashMap<>();
+    private final Map<String, Node> customPredicates = new HashMap<>();
+    private final Set<Node> exportedPredicates = new HashSet<>();
+    private final Map<Node, String> conceptTypes = new LinkedHashMap<>();
+
+    public JsonExporter(Model model, Map<String, Resource> resourceMap, String modelName,
                         Map<String, String> modelProperties, String effectiveNamespace) {
-        this.ontModel = ontModel;
+        this.model = model;
         this.resourceMap = new HashMap<>(resourceMap);
         this.modelName = modelName;
         this.modelProperties = modelProperties;
         this.effectiveNamespace = effectiveNamespace;
+        planExport();
+    }
+
+    private void planExport() {
+        for (String label : List.of(LABEL_POPIS, LABEL_DEF, LABEL_AN, LABEL_SUPP, LABEL_ZDROJ, LABEL_SZ,
+                LABEL_DEF_O, LABEL_OBOR_HODNOT, LABEL_NT, LABEL_JE_PPDF, LABEL_AIS, LABEL_AGENDA, LABEL_UDN)) {
+            defaultPredicates.put(label, NodeFactory.createURI(NS + label));
+            customPredicates.put(label, NodeFactory.createURI(effectiveNamespace + label));
+        }
+        exportedPredicates.add(RDFS.label.asNode());
+        exportedPredicates.addAll(defaultPredicates.values());
+        exportedPredicates.addAll(customPredicates.values());
+
+        for (String type : List.of(TYP_TRIDA, TYP_VZTAH, TYP_VLASTNOST, TYP_TSP, TYP_TOP,
+                TYP_VEREJNY_UDAJ, TYP_NEVEREJNY_UDAJ)) {
+            conceptTypes.put(NodeFactory.createURI(effectiveNamespace + type), type);
+        }
     }
 
     public String exportToJson() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportToJson(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    public void exportToJson(OutputStream output) {
         String requestId = MDC.get(LOG_REQUEST_ID);
         log.info("Starting JSON export operation: requestId={}, modelName={}", requestId, modelName);
-        return handleJsonOperation(() -> {
-            log.debug("Building JSON structure: requestId={}", requestId);
-            JSONObject unorderedRoot = new JSONObject();
+        handleJsonOperation(() -> {
+            try (JsonGenerator generator = createGenerator(output)) {
+                generator.writeStartObject();
 
-            log.debug("Adding model metadata: requestId={}", requestId);
-            addModelMetadata(unorderedRoot);
+                log.debug("Writing model metadata: requestId={}", requestId);
+                writeModelMetadata(generator);
 
-            log.debug("Creating concepts array: requestId={}", requestId);
-            unorderedRoot.put(JSON_FIELD_POJMY, createConceptsArray());
+                log.debug("Writing concepts array: requestId={}", requestId);
+                int concepts = writeConceptsArray(generator);
 
-            log.debug("Formatting and ordering JSON: requestId={}", requestId);
-            return formatJsonWithOrderedFields(unorderedRoot);
+                generator.writeEndObject();
+                log.debug("JSON written: requestId={}, concepts={}", requestId, concepts);
+            }
+            return null;
         });
     }
 
-    private void addModelMetadata(JSONObject root) throws JSONException {
-        root.put(JSON_FIELD_CONTEXT, CONTEXT);
-        root.put(JSON_FIELD_IRI, getOntologyIRI());
-        root.put(JSON_FIELD_TYP, addJSONtypes());
+    private JsonGenerator createGenerator(OutputStream output) throws IOException {
+        JsonGenerator generator = OBJECT_MAPPER.createGenerator(output, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.useDefaultPrettyPrinter();
+        return generator;
+    }
+
+    private void writeModelMetadata(JsonGenerator generator) throws IOException {
+        generator.writeStringField(JSON_FIELD_CONTEXT, CONTEXT);
 
-        if (modelName != null && !modelName.isEmpty()) {
-            addMultilingualModelProperty(root, JSON_FIELD_NAZEV, modelName);
+        String ontologyIri = getOntologyIRI();
+        if (ontologyIri != null && !ontologyIri.isEmpty()) {
+            generator.writeStringField(JSON_FIELD_IRI, ontologyIri);
         }
 
+        generator.writeArrayFieldStart(JSON_FIELD_TYP);
+        generator.writeString(TYPE_SLOVNIK);
+        generator.writeString(TYPE_TEZAURUS);
+        generator.writeString(TYPE_KM);
+        generator.writeEndArray();
+
+        writeMultilingualModelProperty(generator, JSON_FIELD_NAZEV, modelName);
+
         String description = modelProperties.getOrDefault(LABEL_POPIS, "");
-        if (description != null && !description.isEmpty()) {
-            addMultilingualModelProperty(root, JSON_FIELD_POPIS, description);
-        }
+        writeMultilingualModelProperty(generator, JSON_FIELD_POPIS, description);
     }
 
-    private void addMultilingualModelProperty(JSONObject root, String propertyName,
-                                              String csValue) throws JSONException {
-        JSONObject propObj = new JSONObject();
+    private void writeMultilingualModelProperty(JsonGenerator generator, String propertyName,
+                                                String csValue) throws IOException {
         if (csValue != null && !csValue.isEmpty()) {
-            propObj.put("cs", csValue);
-        }
-        if (propObj.length() > 0) {
-            root.put(propertyName, propObj);
+            generator.writeObjectFieldStart(propertyName);
+            generator.writeStringField("cs", csValue);
+            generator.writeEndObject();
         }
     }
 
-    private String formatJsonWithOrderedFields(JSONObject unorderedRoot) throws JsonExportException {
-        try {
-            Map<String, Object> originalMap = jsonToMap(unorderedRoot);
-
-            Map<String, Object> orderedMap = createOrderedModelMap(originalMap);
-
-            processConceptsArray(originalMap, orderedMap);
+    /**
+     * Writes concepts one at a time; only the concept being written is held in memory.
+     * The array is omitted entirely when there are no concepts, as empty values are everywhere else.
+     */
+    private int writeConceptsArray(JsonGenerator generator) throws IOException {
+        Resource pojemType = model.getResource(effectiveNamespace + TYP_POJEM);
+        int written = 0;
 
-            addRemainingFields(originalMap, orderedMap);
-
-            Map<String, Object> filteredMap = UtilityMethods.filterMap(orderedMap);
-
-            return convertMapToFormattedJson(filteredMap);
-        } catch (JSONException e) {
-            log.error("Error parsing JSON: {}", e.getMessage(), e);
-            throw new JsonExportException("Při čtení JSON došlo k chybě: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Error formatting JSON: {}", e.getMessage(), e);
-            throw new JsonExportException("Při formátování JSON došlo k chybě: " + e.getMessage());
-        }
-    }
+        ResIterator concepts = model.listSubjectsWithProperty(RDF.type, pojemType);
+        try {
+            while (concepts.hasNext()) {
+                Resource concept = concepts.next();
+                Map<String, Object> conceptMap = UtilityMethods.filterMap(createConceptMap(concept));
+                if (conceptMap.isEmpty()) {
+                    continue;
+                }
 
-    private Map<String, Object> jsonToMap(JSONObject json) throws JSONException {
-        Map<String, Object> map = new LinkedHashMap<>();
-        JSONArray names = json.names();
-
-        if (names != null) {
-            for (int i = 0; i < names.length(); i++) {
-                String key = names.getString(i);
-                Object value = json.get(key);
-
-                if (value instanceof JSONObject jsonObject) {
-                    map.put(key, jsonToMap(jsonObject));
-                } else if (value instanceof JSONArray jsonArray) {
-                    map.put(key, jsonToArray(jsonArray));
-                } else if (value == JSONObject.NULL) {
-                    map.put(key, null);
-                } else {
-                    map.put(key, value);
+                if (written == 0) {
+                    generator.writeArrayFieldStart(JSON_FIELD_POJMY);
                 }
+                generator.writeObject(conceptMap);
+                written++;
             }
+        } finally {
+            concepts.close();
         }
 
-        return map;
+        if (written > 0) {
+            generator.writeEndArray();
+        }
+        return written;
     }
 
     private String getOntologyIRI() {
         Resource ontologyResource;
-        StmtIterator iter = ontModel.listStatements(null, RDF.type, OWL2.Ontology);
+        StmtIterator iter = model.listStatements(null, RDF.type, OWL2.Ontology);
         if (iter.hasNext()) {
             ontologyResource = iter.next().getSubject();
             return ontologyResource.getURI();
@@ -145,364 +182,173 @@ public class JsonExporter {
         return modelProperties.getOrDefault(LABEL_ALKD, effectiveNamespace);
     }
 
-    private Map<String, Object> createOrderedModelMap(Map<String, Object> originalMap) {
-        Map<String, Object> orderedMap = new LinkedHashMap<>();
-
-        addFieldIfExists(originalMap, orderedMap, JSON_FIELD_CONTEXT);
-        addFieldIfExists(originalMap, orderedMap, JSON_FIELD_IRI);
-        addFieldIfExists(originalMap, orderedMap, JSON_FIELD_TYP);
-
-        addFieldWithDefault(originalMap, orderedMap, JSON_FIELD_NAZEV, createEmptyMultilingualField());
-        addFieldWithDefault(originalMap, orderedMap, JSON_FIELD_POPIS, createEmptyMultilingualField());
-
-        return orderedMap;
-    }
-
-    private void processConceptsArray(Map<String, Object> originalMap, Map<String, Object> orderedMap) {
-        if (originalMap.containsKey(JSON_FIELD_POJMY)) {
-            Object pojmyObj = originalMap.get(JSON_FIELD_POJMY);
+    private Map<String, Object> createConceptMap(Resource concept) {
+        Map<String, Object> pojemObj = new LinkedHashMap<>();
+        ConceptStatements statements = new ConceptStatements(concept);
 
-            if (pojmyObj instanceof List<?> rawList) {
-                List<Map<String, Object>> orderedPojmyList = new ArrayList<>();
+        pojemObj.put("iri", concept.getURI());
+        pojemObj.put("typ", getConceptTypes(statements));
 
-                for (Object item : rawList) {
-                    if (item instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> mapItem = (Map<String, Object>) item;
-                        orderedPojmyList.add(orderPojemFields(mapItem));
-                    } else {
-                        log.warn("Unexpected non-map object in pojmy list: {}", item);
-                    }
-                }
+        addMultilingualProperty(statements.of(RDFS.label.asNode()), JSON_FIELD_NAZEV, pojemObj);
 
-                orderedMap.put(JSON_FIELD_POJMY, orderedPojmyList);
-            } else {
-                log.warn("Expected pojmy to be a List but was: {}", pojmyObj.getClass().getName());
-                orderedMap.put(JSON_FIELD_POJMY, new ArrayList<>());
-            }
-        } else {
-            orderedMap.put(JSON_FIELD_POJMY, new ArrayList<>());
-        }
-    }
-
-    private void addRemainingFields(Map<String, Object> originalMap, Map<String, Object> orderedMap) {
-        originalMap.forEach((key, value) -> {
-            if (!orderedMap.containsKey(key)) {
-                orderedMap.put(key, value);
-            }
-        });
-    }
+        addMultilingualProperty(statements.fromEitherNamespace(LABEL_POPIS), LABEL_POPIS, pojemObj);
 
-    private String convertMapToFormattedJson(Map<String, Object> map) throws JsonExportException {
-        try {
-            Map<String, Object> filteredMap = UtilityMethods.filterMap(map);
+        addMultilingualProperty(statements.fromEitherNamespace(LABEL_DEF), LABEL_DEF, pojemObj);
 
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.enable(SerializationFeature.INDENT_OUTPUT);
-            return mapper.writeValueAsString(filteredMap);
-        } catch (Exception e) {
-            throw new JsonExportException("Při konverzi do JSON došlo k chybě: " + e.getMessage());
-        }
-    }
+        addAlternativeNames(statements.fromEitherNamespace(LABEL_AN), pojemObj);
 
-    private Map<String, String> createEmptyMultilingualField() {
-        Map<String, String> emptyField = new LinkedHashMap<>();
-        emptyField.put("cs", "");
-        return emptyField;
-    }
+        addResourceArrayProperty(statements.fromEitherNamespace(LABEL_SUPP), LABEL_SUPP, pojemObj);
 
-    private void addFieldWithDefault(Map<String, Object> source, Map<String, Object> target,
-                                     String fieldName, Object defaultValue) {
-        target.put(fieldName, source.getOrDefault(fieldName, defaultValue));
-    }
+        addResourceArrayProperty(statements.fromEitherNamespace(LABEL_ZDROJ), LABEL_ZDROJ, pojemObj);
 
+        addResourceArrayProperty(statements.fromEitherNamespace(LABEL_SZ), LABEL_SZ, pojemObj);
 
-    private Map<String, Object> orderPojemFields(Map<String, Object> pojemMap) {
-        Map<String, Object> orderedPojem = new LinkedHashMap<>();
+        addResourceProperty(statements.fromEitherNamespace(LABEL_DEF_O), LABEL_DEF_O, pojemObj);
 
-        String[] orderedFields = {"iri", "typ", "název", "alternativní název", "popis", "definice"};
+        addRangeProperty(statements.fromEitherNamespace(LABEL_OBOR_HODNOT), pojemObj);
 
-        for (String field : orderedFields) {
-            addFieldIfExists(pojemMap, orderedPojem, field);
-        }
+        addResourceArrayProperty(statements.fromEitherNamespace(LABEL_NT), LABEL_NT, pojemObj);
 
-        pojemMap.forEach((key, value) -> {
-            if (!orderedPojem.containsKey(key)) {
-                orderedPojem.put(key, value);
-            }
-        });
+        addRppMetadata(statements, pojemObj);
 
-        return orderedPojem;
+        return pojemObj;
     }
 
-    private List<Object> jsonToArray(JSONArray array) throws JSONException {
-        List<Object> list = new ArrayList<>();
+    private void addAlternativeNames(List<Statement> statements, Map<String, Object> pojemObj) {
+        List<String> altNamesArray = new ArrayList<>();
 
-        for (int i = 0; i < array.length(); i++) {
-            Object value = array.get(i);
-
-            if (value instanceof JSONObject jsonObject) {
-                list.add(jsonToMap(jsonObject));
-            } else if (value instanceof JSONArray jsonArray) {
-                list.add(jsonToArray(jsonArray));
-            } else if (value == JSONObject.NULL) {
-                list.add(null);
-            } else {
-                list.add(value);
+        for (Statement stmt : statements) {
+            String value = stmt.getString();
+            if (value != null && !value.isEmpty()) {
+                altNamesArray.add(value);
             }
         }
 
-        return list;
-    }
-
-    private void addFieldIfExists(Map<String, Object> source, Map<String, Object> target, String field) {
-        if (source.containsKey(field)) {
-            target.put(field, source.get(field));
+        if (!altNamesArray.isEmpty()) {
+            pojemObj.put(LABEL_AN, altNamesArray);
         }
     }
 
-    private JSONArray addJSONtypes() {
-        JSONArray typArray = new JSONArray();
-        typArray.put(TYPE_SLOVNIK);
-        typArray.put(TYPE_TEZAURUS);
-        typArray.put(TYPE_KM);
-        return typArray;
-    }
-
-    private JSONArray createConceptsArray() {
-        JSONArray pojmy = new JSONArray();
-        Resource pojemType = ontModel.getResource(effectiveNamespace + TYP_POJEM);
-
-        ontModel.listSubjectsWithProperty(RDF.type, pojemType)
-                .forEachRemaining(concept -> {
-                    try {
-                        pojmy.put(createConceptObject(concept));
-                    } catch (JSONException e) {
-                        log.warn("Could not process concept: {}", concept.getURI(), e);
-                    }
-                });
-
-        return pojmy;
-    }
-
-    private JSONObject createConceptObject(Resource concept) throws JSONException {
-        JSONObject pojemObj = new JSONObject();
-        String namespace = effectiveNamespace;
-
-        pojemObj.put("iri", concept.getURI());
-        pojemObj.put("typ", getConceptTypes(concept));
-
-        addMultilingualProperty(concept, RDFS.label, JSON_FIELD_NAZEV, pojemObj);
-
-        addAlternativeNamesFromEitherNamespace(concept, pojemObj, namespace);
-
-        addMultilingualPropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_DEF);
-
-        addMultilingualPropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_POPIS);
-
-        addResourceArrayPropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_SUPP);
-
-        addResourceArrayPropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_ZDROJ);
-
-        addResourceArrayPropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_SZ);
-
-        addDomainAndRangeWithBothNamespaces(concept, pojemObj, namespace);
-
-        addResourceArrayPropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_NT);
-
-        addRppMetadataWithBothNamespaces(concept, pojemObj, namespace);
-
-        return pojemObj;
-    }
-
-    private void addResourceArrayPropertyFromEitherNamespace(Resource concept,
-                                                             JSONObject pojemObj,
-                                                             String namespace,
-                                                             String labelSupp) throws JSONException {
-        Property suppDefault = ontModel.getProperty(NS + labelSupp);
-        Property suppCustom = ontModel.getProperty(namespace + labelSupp);
-        if (concept.hasProperty(suppDefault)) {
-            addResourceArrayProperty(concept, suppDefault, labelSupp, pojemObj);
-        } else if (concept.hasProperty(suppCustom)) {
-            addResourceArrayProperty(concept, suppCustom, labelSupp, pojemObj);
+    private void addRangeProperty(List<Statement> statements, Map<String, Object> pojemObj) {
+        if (statements.isEmpty() || !statements.get(0).getObject().isResource()) {
+            return;
         }
-    }
 
-    private void addMultilingualPropertyFromEitherNamespace(Resource concept,
-                                                            JSONObject pojemObj,
-                                                            String namespace,
-                                                            String labelDef) throws JSONException {
-        Property langDefault = ontModel.getProperty(NS + labelDef);
-        Property langCustom = ontModel.getProperty(namespace + labelDef);
-        if (concept.hasProperty(langDefault)) {
-            addMultilingualProperty(concept, langDefault, labelDef, pojemObj);
-        } else if (concept.hasProperty(langCustom)) {
-            addMultilingualProperty(concept, langCustom, labelDef, pojemObj);
+        String rangeUri = statements.get(0).getObject().asResource().getURI();
+        if (rangeUri.startsWith(XSD)) {
+            pojemObj.put(LABEL_OBOR_HODNOT, "xsd:" + rangeUri.substring(XSD.length()));
+        } else {
+            pojemObj.put(LABEL_OBOR_HODNOT, rangeUri);
         }
     }
 
-    private void addAlternativeNamesFromEitherNamespace(Resource concept, JSONObject pojemObj, String namespace) throws JSONException {
-        Property anPropDefault = ontModel.getProperty(NS + LABEL_AN);
-        Property anPropCustom = ontModel.getProperty(namespace + LABEL_AN);
-
-        StmtIterator stmtIter = concept.listProperties(anPropDefault);
-        if (!stmtIter.hasNext()) {
-            stmtIter = concept.listProperties(anPropCustom);
+    private void addRppMetadata(ConceptStatements statements, Map<String, Object> pojemObj) {
+        List<Statement> ppdf = statements.fromEitherNamespace(LABEL_JE_PPDF);
+        if (!ppdf.isEmpty() && ppdf.get(0).getObject().isLiteral()) {
+            pojemObj.put(LABEL_JE_PPDF, ppdf.get(0).getBoolean());
         }
 
-        if (stmtIter.hasNext()) {
-            JSONArray altNamesArray = new JSONArray();
-
-            while (stmtIter.hasNext()) {
-                Statement stmt = stmtIter.next();
-                String value = stmt.getString();
-                if (value != null && !value.isEmpty()) {
-                    altNamesArray.put(value);
-                }
-            }
-
-            if (altNamesArray.length() > 0) {
-                pojemObj.put(LABEL_AN, altNamesArray);
-            }
-        }
-    }
+        addResourceProperty(statements.fromEitherNamespace(LABEL_AIS), LABEL_AIS, pojemObj);
 
-    private void addDomainAndRangeWithBothNamespaces(Resource concept, JSONObject pojemObj,
-                                                     String namespace) throws JSONException {
-        addSingleResourcePropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_DEF_O);
+        addResourceProperty(statements.fromEitherNamespace(LABEL_AGENDA), LABEL_AGENDA, pojemObj);
 
-        addRangePropertyWithBothNamespaces(concept, pojemObj, namespace);
+        addResourceArrayProperty(statements.fromEitherNamespace(LABEL_UDN), LABEL_UDN, pojemObj);
     }
 
-    private void addSingleResourcePropertyFromEitherNamespace(Resource concept, JSONObject pojemObj,
-                                                              String namespace, String labelDefO) throws JSONException {
-        Property domainDefault = ontModel.getProperty(NS + labelDefO);
-        Property domainCustom = ontModel.getProperty(namespace + labelDefO);
+    private List<String> getConceptTypes(ConceptStatements statements) {
+        List<String> types = new ArrayList<>();
+        types.add(TYP_POJEM);
 
-        if (concept.hasProperty(domainDefault)) {
-            addResourceProperty(concept, NS + labelDefO, labelDefO, pojemObj);
-        } else if (concept.hasProperty(domainCustom)) {
-            addResourceProperty(concept, namespace + labelDefO, labelDefO, pojemObj);
+        for (Map.Entry<Node, String> type : conceptTypes.entrySet()) {
+            if (statements.hasType(type.getKey())) {
+                types.add(type.getValue());
+            }
         }
-    }
 
-    private void addRangePropertyWithBothNamespaces(Resource concept, JSONObject pojemObj,
-                                                    String namespace) throws JSONException {
-        Property rangeDefault = ontModel.getProperty(NS + LABEL_OBOR_HODNOT);
-        Property rangeCustom = ontModel.getProperty(namespace + LABEL_OBOR_HODNOT);
+        return types;
+    }
 
-        Statement rangeStmt = concept.getProperty(rangeDefault);
-        if (rangeStmt == null) {
-            rangeStmt = concept.getProperty(rangeCustom);
-        }
+    private void addMultilingualProperty(List<Statement> statements, String jsonProperty,
+                                         Map<String, Object> pojemObj) {
+        Map<String, String> propObj = new LinkedHashMap<>();
 
-        if (rangeStmt != null && rangeStmt.getObject().isResource()) {
-            String rangeUri = rangeStmt.getObject().asResource().getURI();
+        for (Statement propStmt : statements) {
+            String value = propStmt.getString();
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
 
-            if (rangeUri.startsWith(XSD)) {
-                pojemObj.put(LABEL_OBOR_HODNOT, "xsd:" + rangeUri.substring(XSD.length()));
+            String lang = propStmt.getLanguage();
+            if (lang != null && !lang.isEmpty()) {
+                propObj.put(lang, value);
             } else {
-                pojemObj.put(LABEL_OBOR_HODNOT, rangeUri);
+                propObj.put("cs", value);
             }
         }
+        if (!propObj.isEmpty()) {
+            pojemObj.put(jsonProperty, propObj);
+        }
     }
 
-    private void addRppMetadataWithBothNamespaces(Resource concept, JSONObject pojemObj,
-                                                  String namespace) throws JSONException {
-        Property ppdfDefault = ontModel.getProperty(NS + LABEL_JE_PPDF);
-        Property ppdfCustom = ontModel.getProperty(namespace + LABEL_JE_PPDF);
-
-        Statement stmt = concept.getProperty(ppdfDefault);
-        if (stmt == null) {
-            stmt = concept.getProperty(ppdfCustom);
+    private void addResourceArrayProperty(List<Statement> statements, String jsonProperty,
+                                          Map<String, Object> pojemObj) {
+        List<String> propArray = new ArrayList<>();
+        for (Statement propStmt : statements) {
+            if (propStmt.getObject().isResource()) {
+                propArray.add(propStmt.getObject().asResource().getURI());
+            }
         }
-
-        if (stmt != null && stmt.getObject().isLiteral()) {
-            boolean value = stmt.getBoolean();
-            pojemObj.put(LABEL_JE_PPDF, value);
+        if (!propArray.isEmpty()) {
+            pojemObj.put(jsonProperty, propArray);
         }
-
-        addSingleResourcePropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_AIS);
-
-        addSingleResourcePropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_AGENDA);
-
-        addResourceArrayPropertyFromEitherNamespace(concept, pojemObj, namespace, LABEL_UDN);
     }
 
-    private JSONArray getConceptTypes(Resource concept) {
-        JSONArray types = new JSONArray();
-        types.put(TYP_POJEM);
-
-        String[][] typeMapping = {
-                {TYP_TRIDA, TYP_TRIDA},
-                {TYP_VZTAH, TYP_VZTAH},
-                {TYP_VLASTNOST, TYP_VLASTNOST},
-                {TYP_TSP, TYP_TSP},
-                {TYP_TOP, TYP_TOP},
-                {TYP_VEREJNY_UDAJ, TYP_VEREJNY_UDAJ},
-                {TYP_NEVEREJNY_UDAJ, TYP_NEVEREJNY_UDAJ}
-        };
-
-        for (String[] mapping : typeMapping) {
-            if (concept.hasProperty(RDF.type, ontModel.getResource(effectiveNamespace + mapping[0]))) {
-                types.put(mapping[1]);
-            }
+    private void addResourceProperty(List<Statement> statements, String jsonProperty,
+                                     Map<String, Object> targetObj) {
+        if (!statements.isEmpty() && statements.get(0).getObject().isResource()) {
+            targetObj.put(jsonProperty, statements.get(0).getObject().asResource().getURI());
         }
-
-        return types;
     }
 
-    private void addMultilingualProperty(Resource concept, Property property,
-                                         String jsonProperty, JSONObject pojemObj) throws JSONException {
-        StmtIterator propIter = concept.listProperties(property);
-        if (propIter.hasNext()) {
-            JSONObject propObj = new JSONObject();
-            boolean hasNonEmptyValue = false;
-
-            while (propIter.hasNext()) {
-                Statement propStmt = propIter.next();
-                String value = propStmt.getString();
-                if (value == null || value.isEmpty()) {
-                    continue;
-                }
-
-                String lang = propStmt.getLanguage();
-                if (lang != null && !lang.isEmpty()) {
-                    propObj.put(lang, propStmt.getString());
-                } else {
-                    propObj.put("cs", propStmt.getString());
+    /**
+     * Statements of one concept, read in a single sweep and grouped by the predicates the export uses.
+     */
+    private final class ConceptStatements {
+
+        private final Map<Node, List<Statement>> byPredicate = new HashMap<>();
+        private final Set<Node> types = new HashSet<>();
+
+        private ConceptStatements(Resource concept) {
+            StmtIterator iterator = concept.listProperties();
+            try {
+                while (iterator.hasNext()) {
+                    Statement statement = iterator.next();
+                    Node predicate = statement.getPredicate().asNode();
+                    if (predicate.equals(RDF.type.asNode())) {
+                        types.add(statement.getObject().asNode());
+                    } else if (exportedPredicates.contains(predicate)) {
+                        byPredicate.computeIfAbsent(predicate, key -> new ArrayList<>(2)).add(statement);
+                    }
                 }
-                hasNonEmptyValue = true;
-            }
-            if (hasNonEmptyValue && propObj.length() > 0) {
-                pojemObj.put(jsonProperty, propObj);
+            } finally {
+                iterator.close();
             }
         }
-    }
 
-    private void addResourceArrayProperty(Resource concept, Property property,
-                                          String jsonProperty, JSONObject pojemObj) throws JSONException {
-        StmtIterator propIter = concept.listProperties(property);
-        if (propIter.hasNext()) {
-            JSONArray propArray = new JSONArray();
-            while (propIter.hasNext()) {
-                Statement propStmt = propIter.next();
-                if (propStmt.getObject().isResource()) {
-                    propArray.put(propStmt.getObject().asResource().getURI());
-                }
-            }
-            if (propArray.length() > 0) {
-                pojemObj.put(jsonProperty, propArray);
-            }
+        private boolean hasType(Node type) {
+            return types.contains(type);
+        }
+
+        private List<Statement> of(Node predicate) {
+            return byPredicate.getOrDefault(predicate, List.of());
         }
-    }
 
-    private void addResourceProperty(Resource concept, String propertyUri, String jsonProperty,
-                                     JSONObject targetObj) throws JSONException {
-        Property property = ontModel.getProperty(propertyUri);
-        Statement stmt = concept.getProperty(property);
-        if (stmt != null && stmt.getObject().isResource()) {
-            targetObj.put(jsonProperty, stmt.getObject().asResource().getURI());
+        /**
+         * Values under the default OFN namespace, or under the model's own namespace when there are none.
+         */
+        private List<Statement> fromEitherNamespace(String label) {
+            List<Statement> defaultValues = of(defaultPredicates.get(label));
+            return defaultValues.isEmpty() ? of(customPredicates.get(label)) : defaultValues;
         }
     }
 
@@ -522,6 +368,6 @@ public class JsonExporter {
 
     @FunctionalInterface
     private interface JsonSupplier<T> {
-        T get() throws JsonExportException, JSONException;
+        T get() throws IOException;
     }
 }
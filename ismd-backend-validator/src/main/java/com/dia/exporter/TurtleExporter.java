@@ -4,20 +4,28 @@ import com.dia.exceptions.TurtleExportException;
 import com.dia.utility.UtilityMethods;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.jena.ontology.OntModel;
-import org.apache.jena.ontology.OntModelSpec;
-import org.apache.jena.rdf.model.*;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ResIterator;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.*;
 import org.slf4j.MDC;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static com.dia.constants.ArchiOntologyConstants.*;
 import static com.dia.constants.ConvertorControllerConstants.*;
@@ -25,12 +33,13 @@ import static com.dia.constants.ConvertorControllerConstants.*;
 @Slf4j
 public class TurtleExporter {
 
-    private final OntModel ontModel;
+    private final Model model;
     @Getter
     private final Map<String, Resource> resourceMap;
     private final String modelName;
     private final Map<String, String> modelProperties;
     private final String effectiveNamespace;
+    private final Vocabulary vocabulary;
 
     private static final Map<String, String> STANDARD_PREFIXES = new HashMap<>();
 
@@ -43,506 +52,391 @@ public class TurtleExporter {
         STANDARD_PREFIXES.put("xsd", XSD);
     }
 
-    public TurtleExporter(OntModel ontModel, Map<String, Resource> resourceMap, String modelName, Map<String, String> modelProperties) {
-        this.ontModel = ontModel;
+    public TurtleExporter(Model model, Map<String, Resource> resourceMap, String modelName, Map<String, String> modelProperties) {
+        this.model = model;
         this.resourceMap = new HashMap<>(resourceMap);
         this.modelName = modelName;
         this.modelProperties = modelProperties;
         this.effectiveNamespace = determineEffectiveNamespace();
+        this.vocabulary = new Vocabulary(effectiveNamespace);
     }
 
     public String exportToTurtle() throws TurtleExportException {
-        String requestId = MDC.get(LOG_REQUEST_ID);
-        log.info("Starting Turtle export operation: requestId={}, modelName={}", requestId, modelName);
-        return handleTurtleOperation(()-> {
-            log.debug("Creating transformed model: requestId={}", requestId);
-            OntModel transformedModel = createTransformedModel();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportToTurtle(outputStream, RDFFormat.TURTLE_PRETTY);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
 
-            log.debug("Applying transformations: requestId={}", requestId);
-            applyTransformations(transformedModel);
+    /**
+     * Writes the transformed model in the given format. Formats with a streaming writer (e.g. {@code TURTLE_BLOCKS},
+     * {@code NTRIPLES}) are written subject by subject as the transformation runs; other formats such as
+     * {@code TURTLE_PRETTY} need the whole graph and are collected in memory first.
+     */
+    public void exportToTurtle(OutputStream outputStream, RDFFormat format) throws TurtleExportException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+        log.info("Starting Turtle export operation: requestId={}, modelName={}, format={}", requestId, modelName, format);
+        handleTurtleOperation(() -> {
+            if (StreamRDFWriter.registered(format)) {
+                log.debug("Streaming transformed model: requestId={}", requestId);
+                transform(StreamRDFWriter.getWriterStream(outputStream, format));
+            } else {
+                log.debug("Transforming model: requestId={}", requestId);
+                Graph transformedGraph = GraphMemFactory.createDefaultGraph();
+                transform(StreamRDFLib.graph(transformedGraph));
 
-            log.debug("Serializing model to Turtle: requestId={}", requestId);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            RDFDataMgr.write(outputStream, transformedModel, RDFFormat.TURTLE_PRETTY);
+                log.debug("Serializing model: requestId={}", requestId);
+                RDFDataMgr.write(outputStream, transformedGraph, format);
+            }
 
             log.debug("Turtle serialization completed: requestId={}", requestId);
-            return outputStream.toString(StandardCharsets.UTF_8);
+            return null;
         });
     }
 
-    private boolean isEmptyLiteralStatement(Statement stmt) {
-        if (stmt.getObject().isLiteral()) {
-            Literal lit = stmt.getObject().asLiteral();
-            String value = lit.getString();
-            return value == null || value.trim().isEmpty();
-        }
-        return false;
-    }
-
-    private void removeEmptyLiterals(OntModel model) {
-        List<Statement> toRemove = new ArrayList<>();
-
-        StmtIterator stmtIter = model.listStatements();
-        while (stmtIter.hasNext()) {
-            Statement stmt = stmtIter.next();
-            if (isEmptyLiteralStatement(stmt)) {
-                toRemove.add(stmt);
-                log.debug("Post-processing: removing empty literal statement: {}", stmt);
-            }
+    /**
+     * Rewrites the converted model into its SKOS/OFN form in a single pass over the subjects of the source graph.
+     * All statements of one subject are rewritten together and emitted as one block, so the sink may be an
+     * in-memory graph as well as a streaming writer.
+     */
+    void transform(StreamRDF output) {
+        Graph source = model.getGraph();
+        Node ontology = findOntologyResource(source);
+        Node conceptScheme = findConceptScheme(source, ontology);
+
+        output.start();
+        for (Map.Entry<String, String> prefix : createPrefixes().entrySet()) {
+            output.prefix(prefix.getKey(), prefix.getValue());
         }
 
-        model.remove(toRemove);
-    }
-
-    private void cleanupSKOSProperties(OntModel model) {
-        removeEmptyPropertyValues(model, SKOS.definition);
-        removeEmptyPropertyValues(model, SKOS.prefLabel);
-    }
-
-    private void removeEmptyPropertyValues(OntModel model, Property property) {
-        List<Statement> toRemove = new ArrayList<>();
-
-        StmtIterator stmts = model.listStatements(null, property, (RDFNode)null);
-        while (stmts.hasNext()) {
-            Statement stmt = stmts.next();
-            if (isEmptyLiteralStatement(stmt)) {
-                toRemove.add(stmt);
-                log.debug("Removing empty {} statement: {}", property.getLocalName(), stmt);
+        boolean ontologyWritten = false;
+        ResIterator subjects = model.listSubjects();
+        try {
+            while (subjects.hasNext()) {
+                Node subject = subjects.next().asNode();
+                ontologyWritten |= subject.equals(ontology);
+                transformSubject(source, subject, ontology, conceptScheme, output);
             }
+        } finally {
+            subjects.close();
         }
 
-        model.remove(toRemove);
-    }
-
-    private void cleanupNamespaceProperties(OntModel model) {
-       for (String propName : LABELS) {
-            Property property = model.createProperty(effectiveNamespace + propName);
-            removeEmptyPropertyValues(model, property);
+        if (!ontologyWritten) {
+            transformSubject(source, ontology, ontology, conceptScheme, output);
         }
+        output.finish();
     }
 
-    private OntModel createTransformedModel() {
-        OntModel newModel = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+    private void transformSubject(Graph source, Node subject, Node ontology, Node conceptScheme, StreamRDF output) {
+        List<Triple> triples = source.find(subject, Node.ANY, Node.ANY)
+                .mapWith(vocabulary::inNamespace)
+                .filterDrop(triple -> isEmptyLiteral(triple.getObject()))
+                .toList();
 
-        StmtIterator stmtIter = ontModel.listStatements();
-        while (stmtIter.hasNext()) {
-            Statement stmt = stmtIter.next();
-            if (!isEmptyLiteralStatement(stmt)) {
-                newModel.add(stmt);
-            } else {
-                log.debug("Filtering out empty literal statement: {}", stmt);
+        Set<Node> types = new HashSet<>();
+        for (Triple triple : triples) {
+            if (triple.getPredicate().equals(RDF.Nodes.type)) {
+                types.add(triple.getObject());
             }
         }
 
-        return newModel;
-    }
+        boolean isPojem = types.contains(vocabulary.pojem);
+        boolean isConcept = isPojem || types.contains(SKOS.Concept.asNode());
+        boolean isOntology = subject.equals(ontology);
 
-    private void applyTransformations(OntModel transformedModel) {
-        setupPrefixes(transformedModel);
+        Set<Triple> result = new LinkedHashSet<>();
+        Map<String, String> labels = new LinkedHashMap<>();
 
-        createConceptScheme(transformedModel);
-
-        transformResourcesToSKOSConcepts(transformedModel);
-
-        transformLabelsToSKOS(transformedModel);
-
-        ensureDomainRangeProperties(transformedModel);
-
-        mapCustomPropertiesToStandard(transformedModel);
+        for (Triple triple : triples) {
+            rewriteStatement(triple, isConcept, isOntology, labels, result);
+        }
 
-        addInSchemeRelationships(transformedModel);
+        if (isOntology) {
+            addConceptSchemeStatements(subject, result);
+        }
 
-        cleanupSKOSProperties(transformedModel);
+        if (isPojem) {
+            result.add(Triple.create(subject, RDF.Nodes.type, SKOS.Concept.asNode()));
+            mapResourceTypes(subject, types, triples, result);
+        }
 
-        cleanupNamespaceProperties(transformedModel);
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            result.add(Triple.create(subject, SKOS.prefLabel.asNode(),
+                    NodeFactory.createLiteralLang(label.getValue(), label.getKey())));
+        }
 
-        removeEmptyLiterals(transformedModel);
-    }
+        if (isConcept && conceptScheme != null) {
+            result.add(Triple.create(subject, SKOS.inScheme.asNode(), conceptScheme));
+        }
 
-    private String determineEffectiveNamespace() {
-        for (Map.Entry<String, String> entry : modelProperties.entrySet()) {
-            if (entry.getKey().contains("adresa lokálního katalogu dat")) {
-                String ns = entry.getValue();
-                if (ns != null && !ns.isEmpty() && UtilityMethods.isValidUrl(ns)) {
-                    return UtilityMethods.ensureNamespaceEndsWithDelimiter(ns);
-                }
+        for (Triple triple : result) {
+            if (!isEmptyLiteral(triple.getObject())) {
+                output.triple(triple);
             }
         }
-
-        return NS;
     }
 
-    private void setupPrefixes(OntModel transformedModel) {
-        for (Map.Entry<String, String> entry : STANDARD_PREFIXES.entrySet()) {
-            transformedModel.setNsPrefix(entry.getKey(), entry.getValue());
-        }
-
-        String prefix = determineMainPrefix(effectiveNamespace);
-        transformedModel.setNsPrefix(prefix, effectiveNamespace);
-    }
+    private void rewriteStatement(Triple triple, boolean isConcept, boolean isOntology,
+                                  Map<String, String> labels, Set<Triple> result) {
+        Node subject = triple.getSubject();
+        Node predicate = triple.getPredicate();
+        Node object = triple.getObject();
 
-    private String determineMainPrefix(String namespace) {
-        if (namespace == null || namespace.isEmpty()) {
-            return "domain";
+        if (predicate.equals(RDFS.Nodes.label)) {
+            if (object.isLiteral() && !object.getLiteralLexicalForm().isEmpty()) {
+                labels.put(languageOrDefault(object), object.getLiteralLexicalForm());
+            }
+            return;
         }
 
-        String domain = namespace
-                .replaceAll("https?://", "")
-                .replace("www\\.", "");
-
-        String[] parts = domain.split("[./]");
-
-        for (String part : parts) {
-            if (!part.isEmpty()) {
-                return part.toLowerCase();
+        if (predicate.equals(vocabulary.definition)) {
+            if (object.isLiteral() && !object.getLiteralLexicalForm().isEmpty()) {
+                result.add(Triple.create(subject, SKOS.definition.asNode(),
+                        NodeFactory.createLiteralLang(object.getLiteralLexicalForm(), languageOrDefault(object))));
             }
+            return;
         }
 
-        return "domain";
-    }
-
-    private void createConceptScheme(OntModel transformedModel) {
-        String ontologyUri = effectiveNamespace;
-        if (ontologyUri.endsWith("/") || ontologyUri.endsWith("#")) {
-            ontologyUri = ontologyUri.substring(0, ontologyUri.length() - 1);
+        if (predicate.equals(vocabulary.domain) && !object.isLiteral()) {
+            result.add(Triple.create(subject, RDFS.Nodes.domain, object));
+            return;
         }
 
-        Resource resource;
-        StmtIterator iter = transformedModel.listStatements(null, RDF.type, OWL2.Ontology);
-        if (iter.hasNext()) {
-            resource = iter.next().getSubject();
-        } else {
-            resource = transformedModel.createResource(ontologyUri);
-            resource.addProperty(RDF.type, OWL2.Ontology);
+        if (predicate.equals(vocabulary.range) && !object.isLiteral()) {
+            result.add(Triple.create(subject, RDFS.Nodes.range, object));
+            return;
         }
 
-        resource.addProperty(RDF.type, SKOS.ConceptScheme);
-
-        if (modelName != null && !modelName.isEmpty()) {
-            resource.removeAll(SKOS.prefLabel);
-            resource.addProperty(SKOS.prefLabel, modelName, "cs");
+        if (predicate.equals(vocabulary.sharedInPpdf)) {
+            if (object.isLiteral()) {
+                String literal = object.getLiteralLexicalForm().toLowerCase();
+                boolean value = "true".equals(literal) || "ano".equals(literal);
+                result.add(Triple.create(subject, vocabulary.sharedInPpdfTarget,
+                        ResourceFactory.createTypedLiteral(value).asNode()));
+            }
+            return;
         }
 
-        String description = modelProperties.getOrDefault(LABEL_POPIS, "");
-        if (description != null && !description.isEmpty()) {
-            resource.removeAll(DCTerms.description);
-            resource.addProperty(DCTerms.description, description, "cs");
+        Node mappedPredicate = vocabulary.mappedProperties.get(predicate);
+        if (mappedPredicate != null) {
+            result.add(Triple.create(subject, mappedPredicate, object));
+            return;
         }
-    }
-
-    private void transformResourcesToSKOSConcepts(OntModel transformedModel) {
-        Resource pojemType = transformedModel.createResource(effectiveNamespace + TYP_POJEM);
-        ResIterator pojemResources = transformedModel.listSubjectsWithProperty(RDF.type, pojemType);
-
-        while (pojemResources.hasNext()) {
-            Resource resource = pojemResources.next();
-
-            resource.addProperty(RDF.type, SKOS.Concept);
 
-            mapResourceTypes(resource, transformedModel);
+        if (isConcept && predicate.equals(SKOS.inScheme.asNode())) {
+            return;
         }
-    }
 
-    private void mapResourceTypes(Resource resource, OntModel transformedModel) {
-        String baseNamespace = NS;
-        String verejnySektorNamespace = baseNamespace + VS_POJEM;
-
-        if (hasResourceType(resource, transformedModel, TYP_TRIDA)) {
-            addResourceType(resource, OWL2.Class);
-            mapSubjectOrObjectType(resource, transformedModel, verejnySektorNamespace);
-        }
-        else if (hasResourceType(resource, transformedModel, TYP_VLASTNOST)) {
-            mapPropertyType(resource, transformedModel);
-        }
-        else if (hasResourceType(resource, transformedModel, TYP_VZTAH)) {
-            addResourceType(resource, OWL2.ObjectProperty);
+        if (isOntology && predicate.equals(SKOS.prefLabel.asNode()) && hasText(modelName)) {
+            return;
         }
 
-        mapDataAccessType(resource, transformedModel, baseNamespace);
-    }
-
-    private boolean hasResourceType(Resource resource, OntModel model, String typeName) {
-        Resource typeResource = model.createResource(effectiveNamespace + typeName);
-        return resource.hasProperty(RDF.type, typeResource);
-    }
-
-    private void addResourceType(Resource resource, Resource type) {
-        resource.addProperty(RDF.type, type);
-    }
-
-    private void mapSubjectOrObjectType(Resource resource, OntModel model, String vsNamespace) {
-        if (hasResourceType(resource, model, TYP_TSP)) {
-            addResourceType(resource, model.createResource(vsNamespace + LABEL_TSP));
-        } else if (hasResourceType(resource, model, TYP_TOP)) {
-            addResourceType(resource, model.createResource(vsNamespace + LABEL_TOP));
+        if (isOntology && predicate.equals(DCTerms.description.asNode()) && hasText(getDescription())) {
+            return;
         }
+
+        result.add(triple);
     }
 
-    private void mapPropertyType(Resource resource, OntModel model) {
-        Property rangeProperty = model.createProperty(effectiveNamespace + LABEL_OBOR_HODNOT);
-        Statement rangeStmt = resource.getProperty(rangeProperty);
+    private void addConceptSchemeStatements(Node ontology, Set<Triple> result) {
+        result.add(Triple.create(ontology, RDF.Nodes.type, OWL2.Ontology.asNode()));
+        result.add(Triple.create(ontology, RDF.Nodes.type, SKOS.ConceptScheme.asNode()));
 
-        if (rangeStmt != null && rangeStmt.getObject().isResource()) {
-            String rangeUri = rangeStmt.getObject().asResource().getURI();
-            if (rangeUri.startsWith(XSD)) {
-                addResourceType(resource, OWL2.DatatypeProperty);
-            } else {
-                addResourceType(resource, OWL2.ObjectProperty);
-            }
-        } else {
-            addResourceType(resource, OWL2.DatatypeProperty);
+        if (hasText(modelName)) {
+            result.add(Triple.create(ontology, SKOS.prefLabel.asNode(), NodeFactory.createLiteralLang(modelName, "cs")));
         }
-    }
 
-
-    private void mapDataAccessType(Resource resource, OntModel model, String baseNamespace) {
-        if (hasResourceType(resource, model, TYP_VEREJNY_UDAJ)) {
-            String publicDataUri = baseNamespace + LEGISLATIVNI_111_VU;
-            addResourceType(resource, model.createResource(publicDataUri));
-        } else if (hasResourceType(resource, model, TYP_NEVEREJNY_UDAJ)) {
-            String nonPublicDataUri = baseNamespace + LEGISLATIVNI_111_NVU;
-            addResourceType(resource, model.createResource(nonPublicDataUri));
+        String description = getDescription();
+        if (hasText(description)) {
+            result.add(Triple.create(ontology, DCTerms.description.asNode(),
+                    NodeFactory.createLiteralLang(description, "cs")));
         }
     }
 
-    private void transformLabelsToSKOS(OntModel transformedModel) {
-        Map<Resource, Map<String, String>> resourceLabels = new HashMap<>();
-
-        StmtIterator labelStmts = transformedModel.listStatements(null, RDFS.label, (RDFNode)null);
-        while (labelStmts.hasNext()) {
-            Statement stmt = labelStmts.next();
-            if (stmt.getObject().isLiteral()) {
-                Resource subject = stmt.getSubject();
-                Literal lit = stmt.getObject().asLiteral();
-                String lang = lit.getLanguage();
-                String text = lit.getString();
-
-                if (text == null || text.isEmpty()) {
-                    continue;
-                }
-
-                if (lang == null || lang.isEmpty()) {
-                    lang = "cs";
-                }
-
-                resourceLabels.computeIfAbsent(subject, k -> new HashMap<>()).put(lang, text);
+    private void mapResourceTypes(Node resource, Set<Node> types, List<Triple> triples, Set<Triple> result) {
+        if (types.contains(vocabulary.trida)) {
+            result.add(Triple.create(resource, RDF.Nodes.type, OWL2.Class.asNode()));
+            if (types.contains(vocabulary.tsp)) {
+                result.add(Triple.create(resource, RDF.Nodes.type, NodeFactory.createURI(NS + VS_POJEM + LABEL_TSP)));
+            } else if (types.contains(vocabulary.top)) {
+                result.add(Triple.create(resource, RDF.Nodes.type, NodeFactory.createURI(NS + VS_POJEM + LABEL_TOP)));
             }
+        } else if (types.contains(vocabulary.vlastnost)) {
+            result.add(Triple.create(resource, RDF.Nodes.type, propertyType(triples)));
+        } else if (types.contains(vocabulary.vztah)) {
+            result.add(Triple.create(resource, RDF.Nodes.type, OWL2.ObjectProperty.asNode()));
         }
 
-        transformedModel.removeAll(null, RDFS.label, null);
-
-        for (Map.Entry<Resource, Map<String, String>> entry : resourceLabels.entrySet()) {
-            Resource subject = entry.getKey();
-            Map<String, String> labels = entry.getValue();
-
-            for (Map.Entry<String, String> langLabel : labels.entrySet()) {
-                subject.addProperty(SKOS.prefLabel,
-                        transformedModel.createLiteral(langLabel.getValue(), langLabel.getKey()));
-            }
+        if (types.contains(vocabulary.verejnyUdaj)) {
+            result.add(Triple.create(resource, RDF.Nodes.type, NodeFactory.createURI(NS + LEGISLATIVNI_111_VU)));
+        } else if (types.contains(vocabulary.neverejnyUdaj)) {
+            result.add(Triple.create(resource, RDF.Nodes.type, NodeFactory.createURI(NS + LEGISLATIVNI_111_NVU)));
         }
-
-        transformDefinitionsToSKOS(transformedModel);
     }
 
-    private void transformDefinitionsToSKOS(OntModel transformedModel) {
-        Property defProperty = transformedModel.createProperty(effectiveNamespace + LABEL_DEF);
-        StmtIterator defStmts = transformedModel.listStatements(null, defProperty, (RDFNode)null);
-
-        List<Statement> toAdd = new ArrayList<>();
-        List<Statement> toRemove = new ArrayList<>();
-
-        while (defStmts.hasNext()) {
-            Statement stmt = defStmts.next();
-            if (stmt.getObject().isLiteral()) {
-                Literal lit = stmt.getObject().asLiteral();
-                String value = lit.getString();
-
-                if (value == null || value.isEmpty()) {
-                    toRemove.add(stmt);
-                    continue;
-                }
-
-                String lang = lit.getLanguage();
-
-                if (lang != null && !lang.isEmpty()) {
-                    toAdd.add(transformedModel.createStatement(
-                            stmt.getSubject(),
-                            SKOS.definition,
-                            transformedModel.createLiteral(value, lang)
-                    ));
-                } else {
-                    toAdd.add(transformedModel.createStatement(
-                            stmt.getSubject(),
-                            SKOS.definition,
-                            transformedModel.createLiteral(value, "cs")
-                    ));
+    private Node propertyType(List<Triple> triples) {
+        for (Triple triple : triples) {
+            if (triple.getPredicate().equals(vocabulary.range)) {
+                Node range = triple.getObject();
+                if (range.isLiteral()) {
+                    break;
                 }
+                return range.isURI() && range.getURI().startsWith(XSD)
+                        ? OWL2.DatatypeProperty.asNode()
+                        : OWL2.ObjectProperty.asNode();
             }
-            toRemove.add(stmt);
         }
-
-        transformedModel.remove(toRemove);
-        transformedModel.add(toAdd);
+        return OWL2.DatatypeProperty.asNode();
     }
 
-    private void ensureDomainRangeProperties(OntModel transformedModel) {
-        Property defOProperty = transformedModel.createProperty(effectiveNamespace + LABEL_DEF_O);
-        StmtIterator domainStmts = transformedModel.listStatements(null, defOProperty, (RDFNode)null);
-
-        List<Statement> toAdd = new ArrayList<>();
-        List<Statement> toRemove = new ArrayList<>();
-
-        while (domainStmts.hasNext()) {
-            Statement stmt = domainStmts.next();
-            if (stmt.getObject().isResource()) {
-                toAdd.add(transformedModel.createStatement(
-                        stmt.getSubject(),
-                        RDFS.domain,
-                        stmt.getObject()
-                ));
-                toRemove.add(stmt);
+    private Node findOntologyResource(Graph source) {
+        ExtendedIterator<Triple> ontologies = source.find(Node.ANY, RDF.Nodes.type, OWL2.Ontology.asNode());
+        try {
+            if (ontologies.hasNext()) {
+                return ontologies.next().getSubject();
             }
+        } finally {
+            ontologies.close();
         }
 
-        transformedModel.remove(toRemove);
-        transformedModel.add(toAdd);
-
-        Property rangeProperty = transformedModel.createProperty(effectiveNamespace + LABEL_OBOR_HODNOT);
-        StmtIterator rangeStmts = transformedModel.listStatements(null, rangeProperty, (RDFNode)null);
-
-        toAdd = new ArrayList<>();
-        toRemove = new ArrayList<>();
-
-        while (rangeStmts.hasNext()) {
-            Statement stmt = rangeStmts.next();
-            if (stmt.getObject().isResource()) {
-                Resource rangeValue = stmt.getObject().asResource();
+        String ontologyUri = effectiveNamespace;
+        if (ontologyUri.endsWith("/") || ontologyUri.endsWith("#")) {
+            ontologyUri = ontologyUri.substring(0, ontologyUri.length() - 1);
+        }
+        return NodeFactory.createURI(ontologyUri);
+    }
 
-                toAdd.add(transformedModel.createStatement(
-                        stmt.getSubject(),
-                        RDFS.range,
-                        rangeValue
-                ));
-                toRemove.add(stmt);
+    private Node findConceptScheme(Graph source, Node ontology) {
+        ExtendedIterator<Triple> schemes = source.find(Node.ANY, RDF.Nodes.type, SKOS.ConceptScheme.asNode());
+        try {
+            if (schemes.hasNext()) {
+                return schemes.next().getSubject();
             }
+        } finally {
+            schemes.close();
         }
-
-        transformedModel.remove(toRemove);
-        transformedModel.add(toAdd);
+        return ontology;
     }
 
-    private void mapCustomPropertiesToStandard(OntModel transformedModel) {
-        String baseNamespace = NS;
-        String agendovyNamespace = baseNamespace + AGENDOVY_104;
-        String legislativniNamespace = baseNamespace + LEGISLATIVNI_111;
-
-        mapProperty(transformedModel,
-                transformedModel.createProperty(effectiveNamespace + LABEL_ZDROJ),
-                DCTerms.source);
-
-        mapProperty(transformedModel,
-                transformedModel.createProperty(effectiveNamespace + LABEL_SZ),
-                DCTerms.references);
-
-        mapBooleanProperty(transformedModel,
-                transformedModel.createProperty(effectiveNamespace + LABEL_JE_PPDF),
-                transformedModel.createProperty(agendovyNamespace + LABEL_JE_PPDF_LONG));
-
-        mapProperty(transformedModel,
-                transformedModel.createProperty(effectiveNamespace + LABEL_SUPP),
-                transformedModel.createProperty(legislativniNamespace + LABEL_SUPP_LONG));
-
-        mapProperty(transformedModel,
-                transformedModel.createProperty(effectiveNamespace + LABEL_NT),
-                RDFS.subClassOf);
-
-        mapProperty(transformedModel,
-                transformedModel.createProperty(effectiveNamespace + LABEL_AIS),
-                transformedModel.createProperty(agendovyNamespace + LABEL_UDAJE_AIS));
+    private Map<String, String> createPrefixes() {
+        Map<String, String> prefixes = new TreeMap<>(STANDARD_PREFIXES);
+        prefixes.put(determineMainPrefix(effectiveNamespace), effectiveNamespace);
+        return prefixes;
+    }
 
-        mapProperty(transformedModel,
-                transformedModel.createProperty(effectiveNamespace + LABEL_AGENDA),
-                transformedModel.createProperty(agendovyNamespace + AGENDA_LONG));
+    private String getDescription() {
+        return modelProperties.getOrDefault(LABEL_POPIS, "");
+    }
 
-        Property opisProperty = transformedModel.createProperty(effectiveNamespace + LABEL_POPIS);
-        StmtIterator opisStmts = transformedModel.listStatements(null, opisProperty, (RDFNode)null);
-        List<Statement> toRemove = new ArrayList<>();
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
 
-        while (opisStmts.hasNext()) {
-            Statement stmt = opisStmts.next();
-            if (isEmptyLiteralStatement(stmt)) {
-                toRemove.add(stmt);
-            }
-        }
+    private static boolean isEmptyLiteral(Node node) {
+        return node.isLiteral() && node.getLiteralLexicalForm().trim().isEmpty();
+    }
 
-        transformedModel.remove(toRemove);
+    private static String languageOrDefault(Node literal) {
+        String lang = literal.getLiteralLanguage();
+        return lang == null || lang.isEmpty() ? "cs" : lang;
     }
 
-    private void mapBooleanProperty(OntModel model, Property sourceProperty, Property targetProperty) {
-        StmtIterator stmts = model.listStatements(null, sourceProperty, (RDFNode)null);
-        List<Statement> toAdd = new ArrayList<>();
-        List<Statement> toRemove = new ArrayList<>();
-
-        while (stmts.hasNext()) {
-            Statement stmt = stmts.next();
-            if (stmt.getObject().isLiteral()) {
-                boolean value = false;
-                String literal = stmt.getObject().asLiteral().getString().toLowerCase();
-                if ("true".equals(literal) || "ano".equals(literal)) {
-                    value = true;
+    private String determineEffectiveNamespace() {
+        for (Map.Entry<String, String> entry : modelProperties.entrySet()) {
+            if (entry.getKey().contains("adresa lokálního katalogu dat")) {
+                String ns = entry.getValue();
+                if (ns != null && !ns.isEmpty() && UtilityMethods.isValidUrl(ns)) {
+                    return UtilityMethods.ensureNamespaceEndsWithDelimiter(ns);
                 }
-                toAdd.add(model.createStatement(
-                        stmt.getSubject(),
-                        targetProperty,
-                        model.createTypedLiteral(value)
-                ));
             }
-            toRemove.add(stmt);
         }
 
-        model.remove(toRemove);
-        model.add(toAdd);
+        return NS;
     }
 
-    private void mapProperty(OntModel transformedModel, Property sourceProperty, Property targetProperty) {
-        StmtIterator stmts = transformedModel.listStatements(null, sourceProperty, (RDFNode)null);
+    private String determineMainPrefix(String namespace) {
+        if (namespace == null || namespace.isEmpty()) {
+            return "domain";
+        }
 
-        List<Statement> toAdd = new ArrayList<>();
-        List<Statement> toRemove = new ArrayList<>();
+        String domain = namespace
+                .replaceAll("https?://", "")
+                .replace("www\\.", "");
 
-        while (stmts.hasNext()) {
-            Statement stmt = stmts.next();
-            if (isEmptyLiteralStatement(stmt)) {
-                toRemove.add(stmt);
-                continue;
-            }
+        String[] parts = domain.split("[./]");
 
-            toAdd.add(transformedModel.createStatement(
-                    stmt.getSubject(),
-                    targetProperty,
-                    stmt.getObject()
-            ));
-            toRemove.add(stmt);
+        for (String part : parts) {
+            if (!part.isEmpty()) {
+                return part.toLowerCase();
+            }
         }
 
-        transformedModel.remove(toRemove);
-        transformedModel.add(toAdd);
+        return "domain";
     }
 
-    private void addInSchemeRelationships(OntModel transformedModel) {
-        Resource conceptScheme;
-        StmtIterator iter = transformedModel.listStatements(null, RDF.type, SKOS.ConceptScheme);
-        if (iter.hasNext()) {
-            conceptScheme = iter.next().getSubject();
-        } else {
-            return;
+    /**
+     * Nodes of the namespace-dependent OFN properties and types, resolved once per export.
+     */
+    private static final class Vocabulary {
+        private final Node pojem;
+        private final Node trida;
+        private final Node vlastnost;
+        private final Node vztah;
+        private final Node tsp;
+        private final Node top;
+        private final Node verejnyUdaj;
+        private final Node neverejnyUdaj;
+        private final Node definition;
+        private final Node domain;
+        private final Node range;
+        private final Node sharedInPpdf;
+        private final Node sharedInPpdfTarget;
+        private final Map<Node, Node> mappedProperties = new HashMap<>();
+        /**
+         * Properties of the default namespace, as loaded from Turtle, mapped to those of the vocabulary namespace.
+         */
+        private final Map<Node, Node> defaultNamespaceProperties = new HashMap<>();
+
+        private Vocabulary(String namespace) {
+            String agendovyNamespace = NS + AGENDOVY_104;
+            String legislativniNamespace = NS + LEGISLATIVNI_111;
+
+            pojem = NodeFactory.createURI(namespace + TYP_POJEM);
+            trida = NodeFactory.createURI(namespace + TYP_TRIDA);
+            vlastnost = NodeFactory.createURI(namespace + TYP_VLASTNOST);
+            vztah = NodeFactory.createURI(namespace + TYP_VZTAH);
+            tsp = NodeFactory.createURI(namespace + TYP_TSP);
+            top = NodeFactory.createURI(namespace + TYP_TOP);
+            verejnyUdaj = NodeFactory.createURI(namespace + TYP_VEREJNY_UDAJ);
+            neverejnyUdaj = NodeFactory.createURI(namespace + TYP_NEVEREJNY_UDAJ);
+
+            definition = NodeFactory.createURI(namespace + LABEL_DEF);
+            domain = NodeFactory.createURI(namespace + LABEL_DEF_O);
+            range = NodeFactory.createURI(namespace + LABEL_OBOR_HODNOT);
+            sharedInPpdf = NodeFactory.createURI(namespace + LABEL_JE_PPDF);
+            sharedInPpdfTarget = NodeFactory.createURI(agendovyNamespace + LABEL_JE_PPDF_LONG);
+
+            mappedProperties.put(NodeFactory.createURI(namespace + LABEL_ZDROJ), DCTerms.source.asNode());
+            mappedProperties.put(NodeFactory.createURI(namespace + LABEL_SZ), DCTerms.references.asNode());
+            mappedProperties.put(NodeFactory.createURI(namespace + LABEL_SUPP),
+                    NodeFactory.createURI(legislativniNamespace + LABEL_SUPP_LONG));
+            mappedProperties.put(NodeFactory.createURI(namespace + LABEL_NT), RDFS.Nodes.subClassOf);
+            mappedProperties.put(NodeFactory.createURI(namespace + LABEL_AIS),
+                    NodeFactory.createURI(agendovyNamespace + LABEL_UDAJE_AIS));
+            mappedProperties.put(NodeFactory.createURI(namespace + LABEL_AGENDA),
+                    NodeFactory.createURI(agendovyNamespace + AGENDA_LONG));
+
+            if (!NS.equals(namespace)) {
+                for (String label : List.of(LABEL_DEF, LABEL_DEF_O, LABEL_OBOR_HODNOT, LABEL_JE_PPDF, LABEL_ZDROJ,
+                        LABEL_SZ, LABEL_SUPP, LABEL_NT, LABEL_AIS, LABEL_AGENDA)) {
+                    defaultNamespaceProperties.put(NodeFactory.createURI(NS + label),
+                            NodeFactory.createURI(namespace + label));
+                }
+            }
         }
 
-        ResIterator conceptIter = transformedModel.listSubjectsWithProperty(RDF.type, SKOS.Concept);
-        while (conceptIter.hasNext()) {
-            Resource concept = conceptIter.next();
-            concept.removeAll(SKOS.inScheme);
-            concept.addProperty(SKOS.inScheme, conceptScheme);
+        private Triple inNamespace(Triple triple) {
+            Node predicate = defaultNamespaceProperties.get(triple.getPredicate());
+            return predicate == null ? triple : Triple.create(triple.getSubject(), predicate, triple.getObject());
         }
     }
 
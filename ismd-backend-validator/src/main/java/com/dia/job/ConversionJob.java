@@ -0,0 +1,55 @@
+package com.dia.job;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A conversion submitted through the jobs API. The job is updated by the worker thread and read by
+ * polling requests, so the mutable state is kept in volatile fields.
+ * <p>
+ * A completed job keeps only its exported result, written to a temporary file in {@link #outputFormat}; the
+ * conversion model is released as soon as the export has finished.
+ */
+@Getter
+public class ConversionJob {
+
+    private final String id;
+    private final boolean removeInvalidSources;
+    private final String outputFormat;
+    private final Instant submittedAt;
+
+    private volatile ConversionJobStatus status;
+    private volatile Path result;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public ConversionJob(String id, boolean removeInvalidSources, String outputFormat) {
+        this.id = id;
+        this.removeInvalidSources = removeInvalidSources;
+        this.outputFormat = outputFormat;
+        this.submittedAt = Instant.now();
+        this.status = ConversionJobStatus.QUEUED;
+    }
+
+    public void markRunning() {
+        status = ConversionJobStatus.RUNNING;
+    }
+
+    public void complete(Path result) {
+        this.result = result;
+        this.finishedAt = Instant.now();
+        this.status = ConversionJobStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = ConversionJobStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == ConversionJobStatus.COMPLETED || status == ConversionJobStatus.FAILED;
+    }
+}
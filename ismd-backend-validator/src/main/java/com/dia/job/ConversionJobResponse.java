@@ -0,0 +1,12 @@
+package com.dia.job;
+
+import java.time.Instant;
+
+public record ConversionJobResponse(String jobId, ConversionJobStatus status, String error,
+                                    Instant submittedAt, Instant finishedAt) {
+
+    public static ConversionJobResponse from(ConversionJob job) {
+        return new ConversionJobResponse(job.getId(), job.getStatus(), job.getError(),
+                job.getSubmittedAt(), job.getFinishedAt());
+    }
+}
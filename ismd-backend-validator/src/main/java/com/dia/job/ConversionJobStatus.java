@@ -0,0 +1,8 @@
+package com.dia.job;
+
+public enum ConversionJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,183 @@
+package com.dia.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the conversion pipeline.
+ * <p>
+ * Every stage (parse, convert, export) is timed under {@code conversion.stage.duration}, tagged with the stage,
+ * the input and output format and the outcome. The size of the work is recorded as distribution summaries:
+ * input bytes, element, relationship and triple counts and output bytes. Percentile histograms are switched on
+ * through {@code management.metrics.distribution.percentiles-histogram.conversion}.
+ */
+@Component
+public class ConversionMetrics {
+
+    public static final String STAGE_PARSE = "parse";
+    public static final String STAGE_CONVERT = "convert";
+    public static final String STAGE_EXPORT = "export";
+
+    public static final String FORMAT_ARCHI_XML = "archi-xml";
+    public static final String FORMAT_XLSX = "xlsx";
+    public static final String FORMAT_XMI = "xmi";
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_TURTLE = "turtle";
+    public static final String FORMAT_NTRIPLES = "ntriples";
+    public static final String FORMAT_NONE = "none";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAILURE = "failure";
+
+    private final MeterRegistry registry;
+
+    public ConversionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Records a successfully finished stage and returns its duration in milliseconds for logging.
+     */
+    public long success(Timer.Sample sample, String stage, String inputFormat, String outputFormat) {
+        return stop(sample, stage, inputFormat, outputFormat, OUTCOME_SUCCESS);
+    }
+
+    public void failure(Timer.Sample sample, String stage, String inputFormat, String outputFormat) {
+        stop(sample, stage, inputFormat, outputFormat, OUTCOME_FAILURE);
+    }
+
+    /**
+     * Records how long a conversion waited for a free conversion permit.
+     */
+    public void permitWait(long nanos) {
+        Timer.builder("conversion.permit.wait")
+                .description("Time spent waiting for a free conversion slot")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void input(String inputFormat, long bytes, int elements, int relationships) {
+        summary("conversion.input.size", "bytes", "Size of the uploaded model", inputFormat, FORMAT_NONE)
+                .record(bytes);
+        summary("conversion.input.elements", "elements", "Elements in the uploaded model", inputFormat, FORMAT_NONE)
+                .record(elements);
+        summary("conversion.input.relationships", "relationships", "Relationships in the uploaded model",
+                inputFormat, FORMAT_NONE)
+                .record(relationships);
+    }
+
+    public void triples(String inputFormat, long triples) {
+        summary("conversion.model.triples", "triples", "Triples in the converted model", inputFormat, FORMAT_NONE)
+                .record(triples);
+    }
+
+    public void output(String inputFormat, String outputFormat, long bytes) {
+        summary("conversion.output.size", "bytes", "Size of the exported result", inputFormat, outputFormat)
+                .record(bytes);
+    }
+
+    public CountingInputStream counting(InputStream input) {
+        return new CountingInputStream(input);
+    }
+
+    public CountingOutputStream counting(OutputStream output) {
+        return new CountingOutputStream(output);
+    }
+
+    private long stop(Timer.Sample sample, String stage, String inputFormat, String outputFormat, String outcome) {
+        long nanos = sample.stop(Timer.builder("conversion.stage.duration")
+                .description("Duration of a conversion pipeline stage")
+                .tag("stage", stage)
+                .tag("input", inputFormat)
+                .tag("output", outputFormat)
+                .tag("outcome", outcome)
+                .register(registry));
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private DistributionSummary summary(String name, String baseUnit, String description,
+                                        String inputFormat, String outputFormat) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(baseUnit)
+                .tag("input", inputFormat)
+                .tag("output", outputFormat)
+                .register(registry);
+    }
+
+    public static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    public static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
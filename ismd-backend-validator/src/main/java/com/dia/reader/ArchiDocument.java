@@ -0,0 +1,47 @@
+package com.dia.reader;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact in-memory form of an Archi exchange document, collected from the records
+ * emitted by {@link ArchiXmlReader}.
+ */
+@Getter
+public class ArchiDocument implements ArchiRecordHandler {
+
+    private String modelName;
+    private final List<ArchiPropertyRecord> modelProperties = new ArrayList<>();
+    private final List<ArchiElementRecord> elements = new ArrayList<>();
+    private final List<ArchiRelationshipRecord> relationships = new ArrayList<>();
+    private final List<ArchiPropertyDefinitionRecord> propertyDefinitions = new ArrayList<>();
+
+    @Override
+    public void onModelName(String name) {
+        if (modelName == null) {
+            modelName = name;
+        }
+    }
+
+    @Override
+    public void onModelProperty(ArchiPropertyRecord property) {
+        modelProperties.add(property);
+    }
+
+    @Override
+    public void onElement(ArchiElementRecord element) {
+        elements.add(element);
+    }
+
+    @Override
+    public void onRelationship(ArchiRelationshipRecord relationship) {
+        relationships.add(relationship);
+    }
+
+    @Override
+    public void onPropertyDefinition(ArchiPropertyDefinitionRecord propertyDefinition) {
+        propertyDefinitions.add(propertyDefinition);
+    }
+}
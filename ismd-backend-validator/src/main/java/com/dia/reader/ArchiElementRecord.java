@@ -0,0 +1,7 @@
+package com.dia.reader;
+
+import java.util.List;
+
+public record ArchiElementRecord(String id, String type, List<ArchiLangValue> names,
+                                 List<ArchiPropertyRecord> properties) {
+}
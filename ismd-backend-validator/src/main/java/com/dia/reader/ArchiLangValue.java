@@ -0,0 +1,4 @@
+package com.dia.reader;
+
+public record ArchiLangValue(String value, String lang) {
+}
@@ -0,0 +1,4 @@
+package com.dia.reader;
+
+public record ArchiPropertyDefinitionRecord(String id, String name) {
+}
@@ -0,0 +1,4 @@
+package com.dia.reader;
+
+public record ArchiPropertyRecord(String definitionRef, String value, String lang) {
+}
@@ -0,0 +1,17 @@
+package com.dia.reader;
+
+/**
+ * Receives the records of an Archi exchange document in document order.
+ */
+public interface ArchiRecordHandler {
+
+    void onModelName(String name);
+
+    void onModelProperty(ArchiPropertyRecord property);
+
+    void onElement(ArchiElementRecord element);
+
+    void onRelationship(ArchiRelationshipRecord relationship);
+
+    void onPropertyDefinition(ArchiPropertyDefinitionRecord propertyDefinition);
+}
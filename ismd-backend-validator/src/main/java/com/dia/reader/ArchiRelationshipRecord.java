@@ -0,0 +1,7 @@
+package com.dia.reader;
+
+import java.util.List;
+
+public record ArchiRelationshipRecord(String id, String type, String source, String target,
+                                      List<ArchiLangValue> names, List<ArchiPropertyRecord> properties) {
+}
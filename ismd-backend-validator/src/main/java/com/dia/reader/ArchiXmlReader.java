@@ -0,0 +1,273 @@
+package com.dia.reader;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.dia.constants.ArchiOntologyConstants.ARCHI_NS;
+import static com.dia.constants.ArchiOntologyConstants.IDENT;
+
+/**
+ * Streaming (StAX) reader for the ArchiMate 3.0 exchange format.
+ * <p>
+ * The document is never materialised as a tree: every {@code element}, {@code relationship} and
+ * {@code propertyDefinition} is turned into a compact record and handed to the {@link ArchiRecordHandler}
+ * as soon as its end tag is read. Views and organizations are skipped.
+ */
+public class ArchiXmlReader {
+
+    private static final String XSI_NS = XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+
+    /**
+     * Secured factory shared with the other readers of this package.
+     */
+    static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    public void read(Reader source, ArchiRecordHandler handler) throws XMLStreamException {
+        read(INPUT_FACTORY.createXMLStreamReader(source), handler);
+    }
+
+    /**
+     * Reads the document straight from a byte stream; the encoding is taken from the XML declaration.
+     * The stream itself is not closed.
+     */
+    public void read(InputStream source, ArchiRecordHandler handler) throws XMLStreamException {
+        read(INPUT_FACTORY.createXMLStreamReader(source), handler);
+    }
+
+    private void read(XMLStreamReader reader, ArchiRecordHandler handler) throws XMLStreamException {
+        try {
+            readEvents(reader, handler);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private void readEvents(XMLStreamReader reader, ArchiRecordHandler handler) throws XMLStreamException {
+        int depth = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("DOCTYPE is not allowed in Archi documents.", reader.getLocation());
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            depth++;
+            if (!ARCHI_NS.equals(reader.getNamespaceURI())) {
+                continue;
+            }
+
+            boolean consumed = true;
+            switch (reader.getLocalName()) {
+                case "name" -> {
+                    if (depth == 2) {
+                        handler.onModelName(readText(reader));
+                    } else {
+                        consumed = false;
+                    }
+                }
+                case "properties" -> {
+                    if (depth == 2) {
+                        readProperties(reader, handler::onModelProperty);
+                    } else {
+                        consumed = false;
+                    }
+                }
+                case "element" -> handler.onElement(readElement(reader));
+                case "relationship" -> handler.onRelationship(readRelationship(reader));
+                case "propertyDefinition" -> handler.onPropertyDefinition(readPropertyDefinition(reader));
+                case "views", "organizations" -> skipElement(reader);
+                default -> consumed = false;
+            }
+
+            if (consumed) {
+                depth--;
+            }
+        }
+    }
+
+    private ArchiElementRecord readElement(XMLStreamReader reader) throws XMLStreamException {
+        String id = attribute(reader, null, IDENT);
+        String type = attribute(reader, XSI_NS, "type");
+
+        List<ArchiLangValue> names = new ArrayList<>(1);
+        List<ArchiPropertyRecord> properties = new ArrayList<>();
+        readNamesAndProperties(reader, names, properties);
+
+        return new ArchiElementRecord(id, type, names, properties);
+    }
+
+    private ArchiRelationshipRecord readRelationship(XMLStreamReader reader) throws XMLStreamException {
+        String id = attribute(reader, null, IDENT);
+        String type = attribute(reader, XSI_NS, "type");
+        String source = attribute(reader, null, "source");
+        String target = attribute(reader, null, "target");
+
+        List<ArchiLangValue> names = new ArrayList<>(1);
+        List<ArchiPropertyRecord> properties = new ArrayList<>();
+        readNamesAndProperties(reader, names, properties);
+
+        return new ArchiRelationshipRecord(id, type, source, target, names, properties);
+    }
+
+    private ArchiPropertyDefinitionRecord readPropertyDefinition(XMLStreamReader reader) throws XMLStreamException {
+        String id = attribute(reader, null, IDENT);
+        String name = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (name == null && isArchi(reader, "name")) {
+                    name = readText(reader);
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        return new ArchiPropertyDefinitionRecord(id, name);
+    }
+
+    private void readNamesAndProperties(XMLStreamReader reader, List<ArchiLangValue> names,
+                                        List<ArchiPropertyRecord> properties) throws XMLStreamException {
+        boolean propertiesRead = false;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isArchi(reader, "name")) {
+                    String lang = lang(reader);
+                    names.add(new ArchiLangValue(readText(reader), lang));
+                } else if (!propertiesRead && isArchi(reader, "properties")) {
+                    readProperties(reader, properties::add);
+                    propertiesRead = true;
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private void readProperties(XMLStreamReader reader, Consumer<ArchiPropertyRecord> consumer)
+            throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isArchi(reader, "property")) {
+                    ArchiPropertyRecord property = readProperty(reader);
+                    if (property != null) {
+                        consumer.accept(property);
+                    }
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private ArchiPropertyRecord readProperty(XMLStreamReader reader) throws XMLStreamException {
+        String definitionRef = attribute(reader, null, "propertyDefinitionRef");
+        ArchiPropertyRecord property = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (property == null && isArchi(reader, "value")) {
+                    String lang = lang(reader);
+                    property = new ArchiPropertyRecord(definitionRef, readText(reader), lang);
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        return property;
+    }
+
+    private String readText(XMLStreamReader reader) throws XMLStreamException {
+        String text = "";
+        StringBuilder builder = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    if (text.isEmpty()) {
+                        text = reader.getText();
+                    } else {
+                        if (builder == null) {
+                            builder = new StringBuilder(text);
+                        }
+                        builder.append(reader.getText());
+                    }
+                }
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                default -> {
+                    // comments and processing instructions do not contribute to the text
+                }
+            }
+        }
+
+        return builder != null ? builder.toString() : text;
+    }
+
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private boolean isArchi(XMLStreamReader reader, String localName) {
+        return localName.equals(reader.getLocalName()) && ARCHI_NS.equals(reader.getNamespaceURI());
+    }
+
+    private String lang(XMLStreamReader reader) {
+        return attribute(reader, XMLConstants.XML_NS_URI, "lang");
+    }
+
+    private String attribute(XMLStreamReader reader, String namespace, String localName) {
+        String value = reader.getAttributeValue(namespace, localName);
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,121 @@
+package com.dia.reader;
+
+import lombok.Getter;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.DCTerms;
+import org.apache.jena.vocabulary.OWL2;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.apache.jena.vocabulary.SKOS;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.dia.constants.ArchiOntologyConstants.*;
+
+/**
+ * {@link StreamRDF} sink loading a vocabulary published in its SKOS/OFN form (as written by the Turtle export)
+ * into a conversion graph.
+ * <p>
+ * Every triple is added to the graph as it is parsed, nothing else is buffered. Predicates the Turtle export
+ * rewrites are mapped back to the properties of the conversion graph in the {@link
+ * com.dia.constants.ArchiOntologyConstants#NS default namespace}, which the exporters accept next to the namespace
+ * of the vocabulary, so the graph can be exported to JSON as well as back to Turtle. The sink also remembers the
+ * ontology resource and the namespace of the {@code Pojem} class the concepts are typed with.
+ */
+public class ConversionGraphSink implements StreamRDF {
+
+    private static final Map<Node, Node> PREDICATES = new HashMap<>();
+
+    static {
+        String agendovyNamespace = NS + AGENDOVY_104;
+        String legislativniNamespace = NS + LEGISLATIVNI_111;
+
+        PREDICATES.put(SKOS.prefLabel.asNode(), RDFS.Nodes.label);
+        PREDICATES.put(SKOS.definition.asNode(), ofn(LABEL_DEF));
+        PREDICATES.put(RDFS.Nodes.domain, ofn(LABEL_DEF_O));
+        PREDICATES.put(RDFS.Nodes.range, ofn(LABEL_OBOR_HODNOT));
+        PREDICATES.put(RDFS.Nodes.subClassOf, ofn(LABEL_NT));
+        PREDICATES.put(DCTerms.source.asNode(), ofn(LABEL_ZDROJ));
+        PREDICATES.put(DCTerms.references.asNode(), ofn(LABEL_SZ));
+        PREDICATES.put(NodeFactory.createURI(legislativniNamespace + LABEL_SUPP_LONG), ofn(LABEL_SUPP));
+        PREDICATES.put(NodeFactory.createURI(agendovyNamespace + LABEL_UDAJE_AIS), ofn(LABEL_AIS));
+        PREDICATES.put(NodeFactory.createURI(agendovyNamespace + AGENDA_LONG), ofn(LABEL_AGENDA));
+        PREDICATES.put(NodeFactory.createURI(agendovyNamespace + LABEL_JE_PPDF_LONG), ofn(LABEL_JE_PPDF));
+    }
+
+    private final Graph graph;
+    private final PrefixMapping prefixes;
+
+    @Getter
+    private Node ontology;
+    @Getter
+    private String conceptNamespace;
+    @Getter
+    private long tripleCount;
+
+    public ConversionGraphSink(Graph graph, PrefixMapping prefixes) {
+        this.graph = graph;
+        this.prefixes = prefixes;
+    }
+
+    @Override
+    public void start() {
+        // the graph is owned by the conversion
+    }
+
+    @Override
+    public void triple(Triple triple) {
+        Node predicate = triple.getPredicate();
+        if (predicate.equals(RDF.Nodes.type)) {
+            noteType(triple.getSubject(), triple.getObject());
+        }
+
+        Node mapped = PREDICATES.get(predicate);
+        graph.add(mapped == null ? triple : Triple.create(triple.getSubject(), mapped, triple.getObject()));
+        tripleCount++;
+    }
+
+    @Override
+    public void quad(Quad quad) {
+        triple(quad.asTriple());
+    }
+
+    @Override
+    public void base(String base) {
+        // relative IRIs are resolved by the parser
+    }
+
+    @Override
+    public void prefix(String prefix, String iri) {
+        prefixes.setNsPrefix(prefix, iri);
+    }
+
+    @Override
+    public void finish() {
+        // the graph is owned by the conversion
+    }
+
+    private void noteType(Node subject, Node type) {
+        if (ontology == null && type.equals(OWL2.Ontology.asNode())) {
+            ontology = subject;
+        }
+
+        if (conceptNamespace == null && type.isURI() && type.getURI().endsWith(TYP_POJEM)) {
+            String namespace = type.getURI().substring(0, type.getURI().length() - TYP_POJEM.length());
+            if (namespace.endsWith("/") || namespace.endsWith("#")) {
+                conceptNamespace = namespace;
+            }
+        }
+    }
+
+    private static Node ofn(String label) {
+        return NodeFactory.createURI(NS + label);
+    }
+}
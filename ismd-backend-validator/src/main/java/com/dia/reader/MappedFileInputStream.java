@@ -0,0 +1,115 @@
+package com.dia.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Input stream over a file mapped into memory one window at a time.
+ * <p>
+ * The bytes are read straight from the page cache, so a spooled upload of a few hundred megabytes is parsed
+ * without a heap buffer of its size; at most one window is mapped at a time.
+ */
+public class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    public MappedFileInputStream(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileInputStream(Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        try {
+            this.size = channel.size();
+            this.window = map(0);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextWindow() ? window.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextWindow()) {
+            return -1;
+        }
+
+        int count = Math.min(length, window.remaining());
+        window.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        if (count <= 0 || window == null) {
+            return 0;
+        }
+        long position = windowStart + window.position();
+        long target = Math.min(size, position + count);
+        if (target < windowStart + window.limit()) {
+            window.position((int) (target - windowStart));
+        } else {
+            window = map(target);
+        }
+        return target - position;
+    }
+
+    @Override
+    public int available() {
+        if (window == null) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size - windowStart - window.position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Makes sure the current window has bytes left, mapping the next one when needed.
+     */
+    private boolean nextWindow() throws IOException {
+        if (window == null) {
+            throw new IOException("Stream closed");
+        }
+        if (window.hasRemaining()) {
+            return true;
+        }
+
+        long next = windowStart + window.limit();
+        if (next >= size) {
+            return false;
+        }
+        window = map(next);
+        return true;
+    }
+
+    private MappedByteBuffer map(long start) throws IOException {
+        windowStart = start;
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+}
@@ -0,0 +1,541 @@
+package com.dia.reader;
+
+import com.dia.exceptions.FileParsingException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming reader for vocabularies kept in an XLSX workbook.
+ * <p>
+ * The workbook is opened as a ZIP archive and every sheet is read with StAX row by row; only the shared strings
+ * table is held in memory. The rows are turned into the same records {@link ArchiXmlReader} emits, so the
+ * workbook goes through the Archi conversion unchanged:
+ * <ul>
+ *     <li>{@code Slovník} – name in the first column, value in the second; {@code Název slovníku} is the model
+ *     name, the other rows become model properties,</li>
+ *     <li>{@code Subjekty a objekty práva} – one concept per row,</li>
+ *     <li>{@code Vlastnosti} – one property per row, composed into the concept named in the
+ *     {@code Subjekt nebo objekt práva} column,</li>
+ *     <li>{@code Vztahy} – one association per row between the concepts named in the first and the second
+ *     {@code Subjekt nebo objekt práva} column.</li>
+ * </ul>
+ * The first row of a concept sheet is the header. {@code Název} is the name of the concept, every other column
+ * is a property named after its header; a {@code (en)} style suffix marks a value in another language.
+ */
+public class XlsxVocabularyReader {
+
+    private static final String SPREADSHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIPS_NS =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final String SHEET_VOCABULARY = "slovník";
+    private static final String SHEET_CONCEPTS = "subjekty a objekty práva";
+    private static final String SHEET_PROPERTIES = "vlastnosti";
+    private static final String SHEET_RELATIONSHIPS = "vztahy";
+
+    private static final String COLUMN_NAME = "název";
+    private static final String COLUMN_RELATIONSHIP_NAME = "název vztahu";
+    private static final String COLUMN_VOCABULARY_NAME = "název slovníku";
+    private static final String COLUMN_TYPE = "typ";
+    private static final String COLUMN_SUBJECT_PREFIX = "subjekt nebo objekt";
+
+    private static final String ID_PREFIX = "xlsx-";
+    private static final Pattern LANGUAGE_SUFFIX = Pattern.compile("^(.*?)\\s*\\(([a-zA-Z]{2})\\)$");
+
+    private final Set<String> definedProperties = new LinkedHashSet<>();
+    private int relationshipCount;
+
+    public void read(Path workbook, ArchiRecordHandler handler)
+            throws IOException, XMLStreamException, FileParsingException {
+        try (ZipFile zip = new ZipFile(workbook.toFile())) {
+            List<String> sharedStrings = readSharedStrings(zip);
+            Map<String, String> sheets = readSheetPaths(zip);
+
+            boolean vocabularyFound = false;
+            for (Map.Entry<String, String> sheet : sheets.entrySet()) {
+                String sheetName = normalize(sheet.getKey());
+                SheetHandler sheetHandler = switch (sheetName) {
+                    case SHEET_VOCABULARY -> new VocabularySheet(handler);
+                    case SHEET_CONCEPTS -> new ConceptSheet(handler, null);
+                    case SHEET_PROPERTIES -> new ConceptSheet(handler, "typ vlastnosti");
+                    case SHEET_RELATIONSHIPS -> new RelationshipSheet(handler);
+                    default -> null;
+                };
+                if (sheetHandler == null) {
+                    continue;
+                }
+
+                ZipEntry entry = zip.getEntry(sheet.getValue());
+                if (entry == null) {
+                    throw new FileParsingException("V souboru XLSX chybí list " + sheet.getKey() + ".");
+                }
+                vocabularyFound = true;
+                try (InputStream input = zip.getInputStream(entry)) {
+                    readRows(input, sharedStrings, sheetHandler);
+                }
+            }
+
+            if (!vocabularyFound) {
+                throw new FileParsingException("Soubor XLSX neobsahuje žádný list se slovníkem.");
+            }
+        }
+    }
+
+    private List<String> readSharedStrings(ZipFile zip) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+
+        try (InputStream input = zip.getInputStream(entry)) {
+            XMLStreamReader reader = ArchiXmlReader.INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && isSpreadsheet(reader, "si")) {
+                        strings.add(readInlineText(reader));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return strings;
+    }
+
+    /**
+     * Sheet names in workbook order mapped to the path of their part inside the archive.
+     */
+    private Map<String, String> readSheetPaths(ZipFile zip) throws IOException, XMLStreamException,
+            FileParsingException {
+        Map<String, String> targets = new HashMap<>();
+        ZipEntry relationships = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (relationships != null) {
+            try (InputStream input = zip.getInputStream(relationships)) {
+                XMLStreamReader reader = ArchiXmlReader.INPUT_FACTORY.createXMLStreamReader(input);
+                try {
+                    while (reader.hasNext()) {
+                        if (reader.next() == XMLStreamConstants.START_ELEMENT
+                                && "Relationship".equals(reader.getLocalName())) {
+                            String target = reader.getAttributeValue(null, "Target");
+                            targets.put(reader.getAttributeValue(null, "Id"),
+                                    target.startsWith("/") ? target.substring(1) : "xl/" + target);
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        }
+
+        ZipEntry workbook = zip.getEntry("xl/workbook.xml");
+        if (workbook == null) {
+            throw new FileParsingException("Soubor není platný sešit XLSX.");
+        }
+
+        Map<String, String> sheets = new LinkedHashMap<>();
+        try (InputStream input = zip.getInputStream(workbook)) {
+            XMLStreamReader reader = ArchiXmlReader.INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && isSpreadsheet(reader, "sheet")) {
+                        String name = reader.getAttributeValue(null, "name");
+                        String relationshipId = reader.getAttributeValue(RELATIONSHIPS_NS, "id");
+                        String sheetId = reader.getAttributeValue(null, "sheetId");
+                        sheets.put(name, targets.getOrDefault(relationshipId,
+                                "xl/worksheets/sheet" + sheetId + ".xml"));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return sheets;
+    }
+
+    private void readRows(InputStream input, List<String> sharedStrings, SheetHandler sheetHandler)
+            throws XMLStreamException, FileParsingException {
+        XMLStreamReader reader = ArchiXmlReader.INPUT_FACTORY.createXMLStreamReader(input);
+        try {
+            List<String> row = new ArrayList<>();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && isSpreadsheet(reader, "row")) {
+                    row.clear();
+                } else if (event == XMLStreamConstants.START_ELEMENT && isSpreadsheet(reader, "c")) {
+                    int column = columnIndex(reader.getAttributeValue(null, "r"), row.size());
+                    String value = readCell(reader, sharedStrings);
+                    while (row.size() < column) {
+                        row.add("");
+                    }
+                    row.add(value);
+                } else if (event == XMLStreamConstants.END_ELEMENT && isSpreadsheet(reader, "row")) {
+                    if (row.stream().anyMatch(value -> !value.isBlank())) {
+                        sheetHandler.onRow(row);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private String readCell(XMLStreamReader reader, List<String> sharedStrings)
+            throws XMLStreamException, FileParsingException {
+        String type = reader.getAttributeValue(null, "t");
+        String value = "";
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isSpreadsheet(reader, "v")) {
+                    value = reader.getElementText();
+                } else if (isSpreadsheet(reader, "is")) {
+                    value = readInlineText(reader);
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        if ("s".equals(type)) {
+            return sharedString(value.trim(), sharedStrings);
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value.trim()) ? "true" : "false";
+        }
+        return value;
+    }
+
+    private String sharedString(String value, List<String> sharedStrings) throws FileParsingException {
+        if (value.isEmpty()) {
+            return "";
+        }
+        try {
+            int index = Integer.parseInt(value);
+            return index >= 0 && index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        } catch (NumberFormatException e) {
+            throw new FileParsingException("Soubor XLSX obsahuje neplatný odkaz na sdílený text: " + value, e);
+        }
+    }
+
+    /**
+     * Text of a string item: plain {@code t} or the runs of rich text, without phonetic hints.
+     */
+    private String readInlineText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isSpreadsheet(reader, "t")) {
+                    text.append(reader.getElementText());
+                } else if (isSpreadsheet(reader, "rPh")) {
+                    skipElement(reader);
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return text.toString();
+    }
+
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Zero based column of a cell reference such as {@code AB12}; cells without a reference follow the previous one.
+     */
+    static int columnIndex(String reference, int next) {
+        if (reference == null || reference.isEmpty()) {
+            return next;
+        }
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private boolean isSpreadsheet(XMLStreamReader reader, String localName) {
+        return localName.equals(reader.getLocalName()) && SPREADSHEET_NS.equals(reader.getNamespaceURI());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String cell(List<String> row, int column) {
+        return column >= 0 && column < row.size() ? row.get(column).trim() : "";
+    }
+
+    private static String conceptId(String name) {
+        return ID_PREFIX + name;
+    }
+
+    /**
+     * Property definition for a column header, emitted once per distinct name. Headers are capitalized in the
+     * workbook, while the Archi template names properties in lower case ({@code definice}, {@code je pojem sdílen
+     * v PPDF?}), so only the first letter is lowered.
+     */
+    private String propertyDefinition(ArchiRecordHandler handler, String header) {
+        String name = header.isEmpty() ? header : header.substring(0, 1).toLowerCase(Locale.ROOT) + header.substring(1);
+        String id = ID_PREFIX + "property-" + name;
+        if (definedProperties.add(id)) {
+            handler.onPropertyDefinition(new ArchiPropertyDefinitionRecord(id, name));
+        }
+        return id;
+    }
+
+    private interface SheetHandler {
+        void onRow(List<String> row);
+    }
+
+    private class VocabularySheet implements SheetHandler {
+
+        private final ArchiRecordHandler handler;
+
+        VocabularySheet(ArchiRecordHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onRow(List<String> row) {
+            String label = cell(row, 0);
+            String value = cell(row, 1);
+            if (label.endsWith(":")) {
+                label = label.substring(0, label.length() - 1).trim();
+            }
+            if (label.isEmpty() || value.isEmpty()) {
+                return;
+            }
+
+            String name = normalize(label);
+            if (name.equals(COLUMN_VOCABULARY_NAME) || name.equals(COLUMN_NAME)) {
+                handler.onModelName(value);
+            } else {
+                handler.onModelProperty(new ArchiPropertyRecord(propertyDefinition(handler, label), value, "cs"));
+            }
+        }
+    }
+
+    /**
+     * Header driven sheet; columns are resolved from the first row.
+     */
+    private abstract class HeaderSheet implements SheetHandler {
+
+        protected final ArchiRecordHandler handler;
+        protected List<String> header;
+        private List<String> headerNames;
+
+        HeaderSheet(ArchiRecordHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onRow(List<String> row) {
+            if (header == null) {
+                headerNames = row.stream().map(String::trim).toList();
+                header = row.stream().map(XlsxVocabularyReader::normalize).toList();
+                onHeader();
+            } else {
+                onRecord(row);
+            }
+        }
+
+        protected abstract void onHeader();
+
+        protected abstract void onRecord(List<String> row);
+
+        protected int column(String... names) {
+            for (String name : names) {
+                int index = header.indexOf(name);
+                if (index >= 0) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        protected List<Integer> subjectColumns() {
+            List<Integer> columns = new ArrayList<>();
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith(COLUMN_SUBJECT_PREFIX)) {
+                    columns.add(i);
+                }
+            }
+            return columns;
+        }
+
+        /**
+         * Names in other languages and properties of all columns except the excluded ones.
+         */
+        protected void readValues(List<String> row, List<Integer> excluded, List<ArchiLangValue> names,
+                                  List<ArchiPropertyRecord> properties) {
+            for (int i = 0; i < header.size(); i++) {
+                String value = cell(row, i);
+                String columnName = headerNames.get(i);
+                if (excluded.contains(i) || value.isEmpty() || columnName.isEmpty()) {
+                    continue;
+                }
+
+                String lang = "cs";
+                Matcher suffix = LANGUAGE_SUFFIX.matcher(columnName);
+                if (suffix.matches()) {
+                    columnName = suffix.group(1);
+                    lang = suffix.group(2).toLowerCase(Locale.ROOT);
+                }
+
+                String normalized = normalize(columnName);
+                if (normalized.equals(COLUMN_NAME) || normalized.equals(COLUMN_RELATIONSHIP_NAME)) {
+                    names.add(new ArchiLangValue(value, lang));
+                } else {
+                    if (normalized.equals(COLUMN_TYPE)) {
+                        value = conceptType(value);
+                        columnName = COLUMN_TYPE;
+                    }
+                    properties.add(new ArchiPropertyRecord(propertyDefinition(handler, columnName), value, lang));
+                }
+            }
+        }
+    }
+
+    private class ConceptSheet extends HeaderSheet {
+
+        private final String defaultType;
+        private int nameColumn;
+        private int subjectColumn;
+
+        ConceptSheet(ArchiRecordHandler handler, String defaultType) {
+            super(handler);
+            this.defaultType = defaultType;
+        }
+
+        @Override
+        protected void onHeader() {
+            nameColumn = column(COLUMN_NAME);
+            List<Integer> subjects = subjectColumns();
+            subjectColumn = defaultType != null && !subjects.isEmpty() ? subjects.get(0) : -1;
+        }
+
+        @Override
+        protected void onRecord(List<String> row) {
+            String name = cell(row, nameColumn);
+            if (name.isEmpty()) {
+                return;
+            }
+
+            List<ArchiLangValue> names = new ArrayList<>(1);
+            names.add(new ArchiLangValue(name, "cs"));
+            List<ArchiPropertyRecord> properties = new ArrayList<>();
+            readValues(row, List.of(nameColumn, subjectColumn), names, properties);
+            if (defaultType != null && properties.stream().noneMatch(this::isType)) {
+                properties.add(new ArchiPropertyRecord(propertyDefinition(handler, COLUMN_TYPE), defaultType, "cs"));
+            }
+
+            String id = conceptId(name);
+            handler.onElement(new ArchiElementRecord(id, "BusinessObject", names, properties));
+
+            String subject = cell(row, subjectColumn);
+            if (!subject.isEmpty()) {
+                handler.onRelationship(new ArchiRelationshipRecord(ID_PREFIX + "relationship-" + relationshipCount++,
+                        "Composition", conceptId(subject), id, List.of(), List.of()));
+            }
+        }
+
+        private boolean isType(ArchiPropertyRecord property) {
+            return property.definitionRef().equals(ID_PREFIX + "property-" + COLUMN_TYPE);
+        }
+    }
+
+    private class RelationshipSheet extends HeaderSheet {
+
+        private int nameColumn;
+        private int sourceColumn;
+        private int targetColumn;
+
+        RelationshipSheet(ArchiRecordHandler handler) {
+            super(handler);
+        }
+
+        @Override
+        protected void onHeader() {
+            nameColumn = column(COLUMN_RELATIONSHIP_NAME, COLUMN_NAME);
+            List<Integer> subjects = subjectColumns();
+            sourceColumn = !subjects.isEmpty() ? subjects.get(0) : column("definiční obor");
+            targetColumn = subjects.size() > 1 ? subjects.get(1) : column("obor hodnot");
+        }
+
+        @Override
+        protected void onRecord(List<String> row) {
+            String name = cell(row, nameColumn);
+            String source = cell(row, sourceColumn);
+            String target = cell(row, targetColumn);
+            if (name.isEmpty() || source.isEmpty() || target.isEmpty()) {
+                return;
+            }
+
+            List<ArchiLangValue> names = new ArrayList<>(1);
+            names.add(new ArchiLangValue(name, "cs"));
+            List<ArchiPropertyRecord> properties = new ArrayList<>();
+            readValues(row, List.of(nameColumn, sourceColumn, targetColumn), names, properties);
+
+            handler.onRelationship(new ArchiRelationshipRecord(ID_PREFIX + "relationship-" + relationshipCount++,
+                    "Association", conceptId(source), conceptId(target), names, properties));
+        }
+    }
+
+    /**
+     * Maps the values used in the workbook template ({@code Subjekt práva}, {@code Objekt práva}, {@code Vlastnost})
+     * to the types of the Archi template.
+     */
+    private static String conceptType(String value) {
+        String type = normalize(value);
+        if (type.contains("subjekt")) {
+            return "typ subjektu";
+        }
+        if (type.contains("objekt")) {
+            return "typ objektu";
+        }
+        if (type.contains("vlastnost")) {
+            return "typ vlastnosti";
+        }
+        return value;
+    }
+}
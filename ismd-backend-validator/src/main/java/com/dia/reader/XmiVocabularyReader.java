@@ -0,0 +1,542 @@
+package com.dia.reader;
+
+import com.dia.exceptions.FileParsingException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.dia.constants.ArchiOntologyConstants.LABEL_DEF;
+import static com.dia.constants.ArchiOntologyConstants.LABEL_OBOR_HODNOT;
+import static com.dia.constants.ArchiOntologyConstants.LABEL_TYP;
+
+/**
+ * Streaming (StAX) reader for UML 2.1 models exported as XMI 2.1, e.g. from Enterprise Architect.
+ * <p>
+ * The document is never materialised as a tree. While it is read, only compact stubs of the classes, attributes
+ * and associations are kept, because association ends, stereotypes and the documentation kept in the
+ * {@code xmi:Extension} section may be declared after the elements they refer to. When the document ends the
+ * stubs are turned into the same records {@link ArchiXmlReader} emits:
+ * <ul>
+ *     <li>a class becomes a concept; a stereotype naming a subject makes it {@code typ subjektu}, any other class
+ *     is {@code typ objektu},</li>
+ *     <li>an attribute becomes a {@code typ vlastnosti} concept composed into its class; primitive types become
+ *     the {@code obor hodnot} of the property,</li>
+ *     <li>an association becomes an association between the types of its ends, directed towards the navigable
+ *     end,</li>
+ *     <li>a generalization becomes a {@code Generalization} relationship from the specific to the general class.</li>
+ * </ul>
+ * The first package of the model gives the vocabulary its name.
+ */
+public class XmiVocabularyReader {
+
+    private static final String XMI_NS_PREFIX = "http://schema.omg.org/spec/XMI/";
+    private static final String OMG_XMI_NS_PREFIX = "http://www.omg.org/spec/XMI/";
+
+    private static final String UML_CLASS = "uml:Class";
+    private static final String UML_ASSOCIATION = "uml:Association";
+    private static final String UML_PACKAGE = "uml:Package";
+    private static final String UML_MODEL = "uml:Model";
+
+    private static final String TYPE_SUBJECT = "typ subjektu";
+    private static final String TYPE_OBJECT = "typ objektu";
+    private static final String TYPE_PROPERTY = "typ vlastnosti";
+
+    private static final String ID_PREFIX = "xmi-";
+
+    /**
+     * Entries of the Enterprise Architect extension that carry notes and stereotypes of the referenced element.
+     */
+    private static final Set<String> EXTENSION_TARGETS = Set.of("element", "attribute", "connector");
+
+    private static final Map<String, String> PRIMITIVE_TYPES = new HashMap<>();
+
+    static {
+        PRIMITIVE_TYPES.put("string", "xsd:string");
+        PRIMITIVE_TYPES.put("char", "xsd:string");
+        PRIMITIVE_TYPES.put("boolean", "xsd:boolean");
+        PRIMITIVE_TYPES.put("integer", "xsd:integer");
+        PRIMITIVE_TYPES.put("int", "xsd:integer");
+        PRIMITIVE_TYPES.put("long", "xsd:integer");
+        PRIMITIVE_TYPES.put("short", "xsd:integer");
+        PRIMITIVE_TYPES.put("unlimitednatural", "xsd:nonNegativeInteger");
+        PRIMITIVE_TYPES.put("real", "xsd:double");
+        PRIMITIVE_TYPES.put("double", "xsd:double");
+        PRIMITIVE_TYPES.put("float", "xsd:double");
+        PRIMITIVE_TYPES.put("decimal", "xsd:decimal");
+        PRIMITIVE_TYPES.put("date", "xsd:date");
+        PRIMITIVE_TYPES.put("datetime", "xsd:dateTime");
+        PRIMITIVE_TYPES.put("time", "xsd:time");
+        PRIMITIVE_TYPES.put("uri", "xsd:anyURI");
+    }
+
+    private final Map<String, UmlClass> classes = new LinkedHashMap<>();
+    private final Map<String, UmlAttribute> attributes = new LinkedHashMap<>();
+    private final Map<String, UmlAssociation> associations = new LinkedHashMap<>();
+    private final Map<String, UmlEnd> ends = new HashMap<>();
+    private final Map<String, String> typeNames = new HashMap<>();
+    private final Map<String, String> stereotypes = new HashMap<>();
+    private final Map<String, String> documentation = new HashMap<>();
+    private final Set<String> definedProperties = new LinkedHashSet<>();
+
+    private String modelName;
+    private String packageName;
+
+    /**
+     * Reads the document straight from a byte stream; the encoding is taken from the XML declaration.
+     * The stream itself is not closed.
+     */
+    public void read(InputStream source, ArchiRecordHandler handler) throws XMLStreamException, FileParsingException {
+        XMLStreamReader reader = ArchiXmlReader.INPUT_FACTORY.createXMLStreamReader(source);
+        try {
+            readEvents(reader);
+        } finally {
+            reader.close();
+        }
+
+        if (classes.isEmpty()) {
+            throw new FileParsingException("Soubor XMI neobsahuje žádné třídy.");
+        }
+        emit(handler);
+    }
+
+    /**
+     * Every open element is paired with the stub it describes; only direct children of a class, attribute,
+     * association or extension entry are attributed to it.
+     */
+    private void readEvents(XMLStreamReader reader) throws XMLStreamException {
+        List<Object> owners = new ArrayList<>();
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("DOCTYPE is not allowed in XMI documents.", reader.getLocation());
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                owners.remove(owners.size() - 1);
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            Object owner = owners.isEmpty() ? null : owners.get(owners.size() - 1);
+            Object current = this;
+            String localName = reader.getLocalName();
+            String type = xmiAttribute(reader, "type");
+            String id = xmiAttribute(reader, "id");
+
+            String stereotypeBase = attribute(reader, "base_Class");
+            if (stereotypeBase != null) {
+                stereotypes.putIfAbsent(stereotypeBase, localName);
+            }
+
+            if (UML_MODEL.equals(type) || "Model".equals(localName) && isUml(reader)) {
+                modelName = attribute(reader, "name");
+            } else if (UML_PACKAGE.equals(type)) {
+                if (packageName == null) {
+                    packageName = attribute(reader, "name");
+                }
+            } else if (UML_CLASS.equals(type) && id != null) {
+                UmlClass umlClass = new UmlClass(id, attribute(reader, "name"));
+                classes.put(id, umlClass);
+                typeNames.put(id, umlClass.name);
+                current = umlClass;
+            } else if (UML_ASSOCIATION.equals(type) && id != null) {
+                UmlAssociation association = new UmlAssociation(id, attribute(reader, "name"));
+                addReferences(association.memberEnds, attribute(reader, "memberEnd"));
+                associations.put(id, association);
+                current = association;
+            } else if (isTypeDeclaration(type) && id != null) {
+                typeNames.put(id, attribute(reader, "name"));
+            } else if ("ownedAttribute".equals(localName) && owner instanceof UmlClass umlClass && id != null) {
+                current = readOwnedAttribute(reader, id, umlClass);
+            } else if ("ownedEnd".equals(localName) && owner instanceof UmlAssociation && id != null) {
+                UmlEnd end = new UmlEnd(id, attribute(reader, "name"), null,
+                        attribute(reader, "type"));
+                ends.put(id, end);
+                current = end;
+            } else if ("type".equals(localName) && owner instanceof Typed typed) {
+                typed.setType(reference(reader));
+            } else if ("memberEnd".equals(localName) && owner instanceof UmlAssociation association) {
+                addReferences(association.memberEnds, reference(reader));
+            } else if ("navigableOwnedEnd".equals(localName) && owner instanceof UmlAssociation association) {
+                addReferences(association.navigableEnds, reference(reader));
+            } else if ("generalization".equals(localName) && owner instanceof UmlClass umlClass) {
+                Generalization generalization = new Generalization(id, attribute(reader, "general"));
+                umlClass.generalizations.add(generalization);
+                current = generalization;
+            } else if ("general".equals(localName) && owner instanceof Generalization generalization) {
+                generalization.general = reference(reader);
+            } else if ("ownedComment".equals(localName) && owner instanceof Documented documented) {
+                String body = attribute(reader, "body");
+                if (body != null) {
+                    documented.document(body);
+                } else {
+                    current = new Comment(documented);
+                }
+            } else if ("body".equals(localName) && owner instanceof Comment comment) {
+                comment.target.document(reader.getElementText());
+                continue;
+            } else if (EXTENSION_TARGETS.contains(localName) && xmiAttribute(reader, "idref") != null) {
+                current = new ExtensionTarget(xmiAttribute(reader, "idref"));
+            } else if (owner instanceof ExtensionTarget target) {
+                readExtension(reader, localName, target.id());
+            }
+
+            owners.add(current);
+        }
+    }
+
+    private Object readOwnedAttribute(XMLStreamReader reader, String id, UmlClass owner) {
+        String association = attribute(reader, "association");
+        String type = attribute(reader, "type");
+        String name = attribute(reader, "name");
+
+        if (association != null) {
+            UmlEnd end = new UmlEnd(id, name, owner.id, type);
+            ends.put(id, end);
+            return end;
+        }
+
+        UmlAttribute attribute = new UmlAttribute(id, name, owner.id, type);
+        attributes.put(id, attribute);
+        return attribute;
+    }
+
+    /**
+     * Enterprise Architect keeps notes and stereotypes of elements and attributes in its own extension section.
+     */
+    private void readExtension(XMLStreamReader reader, String localName, String target) {
+        switch (localName) {
+            case "properties" -> {
+                putIfPresent(documentation, target, attribute(reader, "documentation"));
+                putIfPresent(stereotypes, target, attribute(reader, "stereotype"));
+            }
+            case "documentation" -> putIfPresent(documentation, target, attribute(reader, "value"));
+            case "stereotype" -> putIfPresent(stereotypes, target, attribute(reader, "stereotype"));
+            default -> {
+                // other extension data (geometry, tags, ...) is not used
+            }
+        }
+    }
+
+    private void emit(ArchiRecordHandler handler) {
+        String name = packageName != null && !packageName.isBlank() ? packageName : modelName;
+        if (name != null && !name.isBlank()) {
+            handler.onModelName(name.trim());
+        }
+
+        for (UmlClass umlClass : classes.values()) {
+            if (isBlank(umlClass.name)) {
+                continue;
+            }
+            List<ArchiPropertyRecord> properties = new ArrayList<>();
+            properties.add(property(handler, LABEL_TYP, classType(stereotypes.get(umlClass.id))));
+            addDefinition(handler, properties, umlClass.id, umlClass.definition);
+            handler.onElement(new ArchiElementRecord(umlClass.id, "BusinessObject", names(umlClass.name), properties));
+        }
+
+        for (UmlAttribute attribute : attributes.values()) {
+            if (isBlank(attribute.name)) {
+                continue;
+            }
+            List<ArchiPropertyRecord> properties = new ArrayList<>();
+            properties.add(property(handler, LABEL_TYP, TYPE_PROPERTY));
+            addDefinition(handler, properties, attribute.id, attribute.definition);
+            String range = primitiveType(attribute.type);
+            if (range != null) {
+                properties.add(property(handler, LABEL_OBOR_HODNOT, range));
+            }
+            handler.onElement(new ArchiElementRecord(attribute.id, "BusinessObject", names(attribute.name),
+                    properties));
+            handler.onRelationship(new ArchiRelationshipRecord(ID_PREFIX + "composition-" + attribute.id,
+                    "Composition", attribute.owner, attribute.id, List.of(), List.of()));
+        }
+
+        for (UmlAssociation association : associations.values()) {
+            emitAssociation(handler, association);
+        }
+
+        for (UmlClass umlClass : classes.values()) {
+            for (int i = 0; i < umlClass.generalizations.size(); i++) {
+                Generalization generalization = umlClass.generalizations.get(i);
+                if (generalization.general == null) {
+                    continue;
+                }
+                String id = generalization.id != null
+                        ? generalization.id
+                        : ID_PREFIX + "generalization-" + umlClass.id + "-" + i;
+                handler.onRelationship(new ArchiRelationshipRecord(id, "Generalization", umlClass.id,
+                        generalization.general, List.of(), List.of()));
+            }
+        }
+    }
+
+    private void emitAssociation(ArchiRecordHandler handler, UmlAssociation association) {
+        List<UmlEnd> associationEnds = new ArrayList<>(2);
+        for (String endId : association.memberEnds) {
+            UmlEnd end = ends.get(endId);
+            if (end != null && end.type != null) {
+                associationEnds.add(end);
+            }
+        }
+        if (associationEnds.size() != 2) {
+            return;
+        }
+
+        UmlEnd first = associationEnds.get(0);
+        UmlEnd second = associationEnds.get(1);
+        UmlEnd target = second;
+        if (isNavigable(association, first) && !isNavigable(association, second)) {
+            target = first;
+        }
+        UmlEnd source = target == first ? second : first;
+
+        String name = !isBlank(association.name) ? association.name : target.name;
+        if (isBlank(name)) {
+            return;
+        }
+
+        List<ArchiPropertyRecord> properties = new ArrayList<>();
+        addDefinition(handler, properties, association.id, association.definition);
+        handler.onRelationship(new ArchiRelationshipRecord(association.id, "Association", source.type, target.type,
+                names(name), properties));
+    }
+
+    /**
+     * An end is navigable when a class owns it or the association lists it among its navigable owned ends.
+     */
+    private boolean isNavigable(UmlAssociation association, UmlEnd end) {
+        return end.owner != null || association.navigableEnds.contains(end.id);
+    }
+
+    private void addDefinition(ArchiRecordHandler handler, List<ArchiPropertyRecord> properties, String id,
+                               String definition) {
+        String value = !isBlank(definition) ? definition : documentation.get(id);
+        if (!isBlank(value)) {
+            properties.add(property(handler, LABEL_DEF, value.trim()));
+        }
+    }
+
+    /**
+     * Property of the given name, its definition emitted once per distinct name.
+     */
+    private ArchiPropertyRecord property(ArchiRecordHandler handler, String name, String value) {
+        String id = ID_PREFIX + "property-" + name;
+        if (definedProperties.add(id)) {
+            handler.onPropertyDefinition(new ArchiPropertyDefinitionRecord(id, name));
+        }
+        return new ArchiPropertyRecord(id, value, "cs");
+    }
+
+    /**
+     * XSD type of a UML or Enterprise Architect primitive type, or {@code null} for classes and unknown types.
+     */
+    private String primitiveType(String type) {
+        if (type == null || classes.containsKey(type)) {
+            return null;
+        }
+        String name = typeNames.getOrDefault(type, type);
+        int fragment = name.lastIndexOf('#');
+        if (fragment >= 0) {
+            name = name.substring(fragment + 1);
+        }
+        int separator = name.lastIndexOf('_');
+        if (separator >= 0 && name.startsWith("EA")) {
+            name = name.substring(separator + 1);
+        }
+        return PRIMITIVE_TYPES.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String classType(String stereotype) {
+        if (stereotype != null && stereotype.toLowerCase(Locale.ROOT).contains("subjekt")) {
+            return TYPE_SUBJECT;
+        }
+        return TYPE_OBJECT;
+    }
+
+    private static boolean isTypeDeclaration(String type) {
+        return "uml:PrimitiveType".equals(type) || "uml:DataType".equals(type) || "uml:Enumeration".equals(type);
+    }
+
+    /**
+     * Referenced id of an element: {@code xmi:idref}, or the fragment of an {@code href} to a standard library.
+     */
+    private static String reference(XMLStreamReader reader) {
+        String idref = xmiAttribute(reader, "idref");
+        return idref != null ? idref : attribute(reader, "href");
+    }
+
+    /**
+     * Attribute without a namespace; unlike {@link XMLStreamReader#getAttributeValue(String, String)} with a
+     * {@code null} namespace it never matches {@code xmi:type} for {@code type}.
+     */
+    private static String attribute(XMLStreamReader reader, String localName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if (localName.equals(reader.getAttributeLocalName(i)) && (namespace == null || namespace.isEmpty())) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static String xmiAttribute(XMLStreamReader reader, String localName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (localName.equals(reader.getAttributeLocalName(i)) && isXmiNamespace(reader.getAttributeNamespace(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isXmiNamespace(String namespace) {
+        return namespace != null && (namespace.startsWith(XMI_NS_PREFIX) || namespace.startsWith(OMG_XMI_NS_PREFIX));
+    }
+
+    private static boolean isUml(XMLStreamReader reader) {
+        String namespace = reader.getNamespaceURI();
+        return namespace != null && namespace.contains("/UML");
+    }
+
+    private static void addReferences(Collection<String> target, String references) {
+        if (references == null) {
+            return;
+        }
+        for (String reference : references.trim().split("\\s+")) {
+            if (!reference.isEmpty()) {
+                target.add(reference);
+            }
+        }
+    }
+
+    private static void putIfPresent(Map<String, String> target, String key, String value) {
+        if (!isBlank(value)) {
+            target.putIfAbsent(key, value);
+        }
+    }
+
+    private static List<ArchiLangValue> names(String name) {
+        List<ArchiLangValue> names = new ArrayList<>(1);
+        names.add(new ArchiLangValue(name.trim(), "cs"));
+        return names;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private interface Documented {
+        void document(String text);
+    }
+
+    private interface Typed {
+        void setType(String type);
+    }
+
+    private abstract static class DocumentedElement implements Documented {
+
+        final String id;
+        final String name;
+        String definition;
+
+        DocumentedElement(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public void document(String text) {
+            if (definition == null) {
+                definition = text;
+            }
+        }
+    }
+
+    private static final class UmlClass extends DocumentedElement {
+
+        final List<Generalization> generalizations = new ArrayList<>(1);
+
+        UmlClass(String id, String name) {
+            super(id, name);
+        }
+    }
+
+    private static final class UmlAttribute extends DocumentedElement implements Typed {
+
+        final String owner;
+        String type;
+
+        UmlAttribute(String id, String name, String owner, String type) {
+            super(id, name);
+            this.owner = owner;
+            this.type = type;
+        }
+
+        @Override
+        public void setType(String type) {
+            this.type = type;
+        }
+    }
+
+    private static final class UmlAssociation extends DocumentedElement {
+
+        final List<String> memberEnds = new ArrayList<>(2);
+        final Set<String> navigableEnds = new LinkedHashSet<>(2);
+
+        UmlAssociation(String id, String name) {
+            super(id, name);
+        }
+    }
+
+    /**
+     * Association end; {@code owner} is the class owning a navigable end, {@code type} the class at the end.
+     */
+    private static final class UmlEnd implements Typed {
+
+        final String id;
+        final String name;
+        final String owner;
+        String type;
+
+        UmlEnd(String id, String name, String owner, String type) {
+            this.id = id;
+            this.name = name;
+            this.owner = owner;
+            this.type = type;
+        }
+
+        @Override
+        public void setType(String type) {
+            this.type = type;
+        }
+    }
+
+    private static final class Generalization {
+
+        final String id;
+        String general;
+
+        Generalization(String id, String general) {
+            this.id = id;
+            this.general = general;
+        }
+    }
+
+    private record Comment(Documented target) {
+    }
+
+    private record ExtensionTarget(String id) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.dia.service;
+
+import com.dia.batch.BatchEntry;
+import com.dia.batch.BatchResponseFormat;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface BatchConversionService {
+
+    /**
+     * Spools the uploaded files to temporary files. A ZIP archive contributes one entry per file it contains.
+     * Files larger than {@code maxEntrySize} are kept as rejected entries so that they are reported in the
+     * response instead of failing the whole batch.
+     */
+    List<BatchEntry> spool(List<MultipartFile> files, long maxEntrySize) throws IOException;
+
+    /**
+     * Converts the entries in parallel and writes one result per entry to {@code output}, in the order of the
+     * entries. The service takes ownership of the spooled files and deletes them once the batch has finished.
+     */
+    void convert(List<BatchEntry> entries, String outputFormat, boolean removeInvalidSources,
+                 BatchResponseFormat responseFormat, OutputStream output) throws IOException;
+
+    /**
+     * Deletes the spooled files of a batch that will not be converted.
+     */
+    void discard(List<BatchEntry> entries);
+}
@@ -0,0 +1,18 @@
+package com.dia.service;
+
+import com.dia.job.ConversionJob;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface ConversionJobService {
+
+    /**
+     * Queues conversion of an Archi XML file exported to {@code outputFormat} ({@code json}, {@code ttl} or
+     * {@code nt}). The service takes ownership of {@code upload} and deletes it once the job has finished, or
+     * right away when the job cannot be queued.
+     */
+    ConversionJob submitArchi(String jobId, Path upload, boolean removeInvalidSources, String outputFormat);
+
+    Optional<ConversionJob> findJob(String jobId);
+}
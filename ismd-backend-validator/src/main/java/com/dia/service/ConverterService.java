@@ -1,16 +1,37 @@
 package com.dia.service;
 
+import com.dia.engine.ConversionContext;
 import com.dia.exceptions.ConversionException;
 import com.dia.exceptions.FileParsingException;
 import com.dia.exceptions.JsonExportException;
 import com.dia.exceptions.TurtleExportException;
+import org.apache.jena.riot.RDFFormat;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
 
 public interface ConverterService {
-    void parseArchiFromString(String value) throws FileParsingException;
+    ConversionContext parseArchiFromString(String value) throws FileParsingException;
+
+    ConversionContext parseArchi(InputStream input) throws FileParsingException;
+
+    ConversionContext parseArchi(Path upload) throws FileParsingException;
+
+    ConversionContext parseXlsx(InputStream input) throws FileParsingException;
+
+    ConversionContext parseXmi(InputStream input) throws FileParsingException;
+
+    ConversionContext parseTurtle(InputStream input) throws FileParsingException;
+
+    void convertArchi(ConversionContext context, Boolean removeInvalidSources) throws ConversionException;
+
+    String exportArchiToJson(ConversionContext context) throws JsonExportException;
 
-    void convertArchi(Boolean removeInvalidSources) throws ConversionException;
+    void exportArchiToJson(ConversionContext context, OutputStream output) throws JsonExportException;
 
-    String exportArchiToJson() throws JsonExportException;
+    String exportArchiToTurtle(ConversionContext context) throws TurtleExportException;
 
-    String exportArchiToTurtle() throws TurtleExportException;
+    void exportArchiToTurtle(ConversionContext context, OutputStream output, RDFFormat format)
+            throws TurtleExportException;
 }
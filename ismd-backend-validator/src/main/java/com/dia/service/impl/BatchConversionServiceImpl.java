@@ -0,0 +1,367 @@
+package com.dia.service.impl;
+
+import com.dia.batch.BatchEntry;
+import com.dia.batch.BatchResponseFormat;
+import com.dia.batch.BatchResult;
+import com.dia.detector.FormatSniffer;
+import com.dia.detector.FormatSniffer.SniffedUpload;
+import com.dia.engine.ConversionContext;
+import com.dia.enums.FileFormat;
+import com.dia.exceptions.BatchLimitExceededException;
+import com.dia.exceptions.UnsupportedFormatException;
+import com.dia.service.BatchConversionService;
+import com.dia.service.ConverterService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.riot.RDFFormat;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static com.dia.constants.ConvertorControllerConstants.LOG_REQUEST_ID;
+
+@Service
+@Slf4j
+public class BatchConversionServiceImpl implements BatchConversionService {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ConverterService converterService;
+    private final FormatSniffer formatSniffer;
+    private final TaskExecutor executor;
+    private final int maxEntries;
+    private final int maxInFlight;
+
+    public BatchConversionServiceImpl(ConverterService converterService,
+                                      FormatSniffer formatSniffer,
+                                      @Qualifier("conversionBatchExecutor") TaskExecutor executor,
+                                      @Value("${conversion.batch.max-entries:100}") int maxEntries,
+                                      @Value("${conversion.batch.pool-size:4}") int maxInFlight) {
+        this.converterService = converterService;
+        this.formatSniffer = formatSniffer;
+        this.executor = executor;
+        this.maxEntries = maxEntries;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    @Override
+    public List<BatchEntry> spool(List<MultipartFile> files, long maxEntrySize) throws IOException {
+        List<BatchEntry> entries = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                String name = file.getOriginalFilename() != null ? file.getOriginalFilename() : "unknown";
+                try (InputStream input = file.getInputStream()) {
+                    if (isZip(name, file.getContentType())) {
+                        spoolZip(input, maxEntrySize, entries);
+                    } else {
+                        addEntry(name, input, maxEntrySize, entries);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            discard(entries);
+            throw e;
+        }
+        return entries;
+    }
+
+    @Override
+    public void convert(List<BatchEntry> entries, String outputFormat, boolean removeInvalidSources,
+                        BatchResponseFormat responseFormat, OutputStream output) throws IOException {
+        String requestId = MDC.get(LOG_REQUEST_ID);
+        long startTime = System.currentTimeMillis();
+        log.info("Batch conversion started: requestId={}, entries={}, outputFormat={}, responseFormat={}",
+                requestId, entries.size(), outputFormat, responseFormat);
+
+        // Only about one pool's worth of entries is converted ahead of the writer, so at most that many results
+        // are held in memory while waiting for their turn in the response.
+        AtomicBoolean aborted = new AtomicBoolean();
+        Iterator<BatchEntry> pending = entries.iterator();
+        Deque<CompletableFuture<BatchResult>> inFlight = new ArrayDeque<>(maxInFlight);
+        int failed = 0;
+        try {
+            BatchResultWriter writer = responseFormat == BatchResponseFormat.ZIP
+                    ? new ZipResultWriter(output, outputFormat)
+                    : new NdjsonResultWriter(output, outputFormat);
+            while (inFlight.size() < maxInFlight && pending.hasNext()) {
+                inFlight.addLast(submit(pending.next(), outputFormat, removeInvalidSources, requestId, aborted));
+            }
+            while (!inFlight.isEmpty()) {
+                BatchResult batchResult = inFlight.removeFirst().join();
+                if (pending.hasNext()) {
+                    inFlight.addLast(submit(pending.next(), outputFormat, removeInvalidSources, requestId, aborted));
+                }
+                if (!batchResult.isSuccess()) {
+                    failed++;
+                }
+                writer.write(batchResult);
+            }
+            writer.finish();
+        } catch (IOException | RuntimeException e) {
+            aborted.set(true);
+            pending.forEachRemaining(entry -> deleteUpload(entry.upload()));
+            log.warn("Batch conversion aborted while writing results: requestId={}", requestId, e);
+            throw e;
+        }
+
+        log.info("Batch conversion completed: requestId={}, entries={}, failed={}, durationMs={}",
+                requestId, entries.size(), failed, System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    public void discard(List<BatchEntry> entries) {
+        for (BatchEntry entry : entries) {
+            deleteUpload(entry.upload());
+        }
+    }
+
+    private CompletableFuture<BatchResult> submit(BatchEntry entry, String outputFormat, boolean removeInvalidSources,
+                                                  String requestId, AtomicBoolean aborted) {
+        return CompletableFuture.supplyAsync(
+                () -> convertEntry(entry, outputFormat, removeInvalidSources, requestId, aborted), executor);
+    }
+
+    private BatchResult convertEntry(BatchEntry entry, String outputFormat, boolean removeInvalidSources,
+                                     String requestId, AtomicBoolean aborted) {
+        if (entry.error() != null) {
+            return BatchResult.failure(entry.name(), entry.error());
+        }
+
+        MDC.put(LOG_REQUEST_ID, requestId);
+        try (SniffedUpload upload = formatSniffer.sniff(Files.newInputStream(entry.upload()), entry.name(), null)) {
+            if (aborted.get()) {
+                return BatchResult.failure(entry.name(), "Dávková konverze byla přerušena.");
+            }
+            if (upload.format() != FileFormat.ARCHI_XML) {
+                log.warn("Unsupported batch entry format: requestId={}, name={}", requestId, entry.name());
+                return BatchResult.failure(entry.name(),
+                        "Nepodporovaný formát souboru. Dávková konverze podporuje pouze Archi XML.");
+            }
+
+            ConversionContext context = converterService.parseArchi(upload.input());
+            converterService.convertArchi(context, removeInvalidSources);
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            switch (outputFormat) {
+                case "json" -> converterService.exportArchiToJson(context, body);
+                case "ttl" -> converterService.exportArchiToTurtle(context, body, RDFFormat.TURTLE_PRETTY);
+                case "nt" -> converterService.exportArchiToTurtle(context, body, RDFFormat.NTRIPLES);
+                default -> throw new UnsupportedFormatException("Nepodporovaný výstupní formát: " + outputFormat);
+            }
+            log.debug("Batch entry converted: requestId={}, name={}, size={}", requestId, entry.name(), body.size());
+            return BatchResult.success(entry.name(), body.toByteArray());
+        } catch (Exception e) {
+            log.error("Batch entry conversion failed: requestId={}, name={}", requestId, entry.name(), e);
+            return BatchResult.failure(entry.name(),
+                    e.getMessage() != null ? e.getMessage() : "Při konverzi souboru došlo k chybě.");
+        } finally {
+            deleteUpload(entry.upload());
+            MDC.remove(LOG_REQUEST_ID);
+        }
+    }
+
+    private void spoolZip(InputStream input, long maxEntrySize, List<BatchEntry> entries) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(input, StandardCharsets.UTF_8)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                if (zipEntry.isDirectory() || zipEntry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                addEntry(zipEntry.getName(), zip, maxEntrySize, entries);
+            }
+        }
+    }
+
+    private void addEntry(String name, InputStream input, long maxEntrySize, List<BatchEntry> entries)
+            throws IOException {
+        if (entries.size() >= maxEntries) {
+            throw new BatchLimitExceededException(
+                    "Dávka obsahuje příliš mnoho souborů. Maximální počet je " + maxEntries + ".");
+        }
+
+        Path upload = Files.createTempFile("ismd-batch-", ".upload");
+        boolean complete;
+        try (OutputStream output = Files.newOutputStream(upload)) {
+            complete = copyAtMost(input, output, maxEntrySize);
+        } catch (IOException e) {
+            deleteUpload(upload);
+            throw e;
+        }
+
+        if (!complete) {
+            deleteUpload(upload);
+            log.warn("Batch entry too large: requestId={}, name={}, maxAllowedSize={}",
+                    MDC.get(LOG_REQUEST_ID), name, maxEntrySize);
+            entries.add(BatchEntry.rejected(name, "Soubor je příliš velký. Maximální povolená velikost je "
+                    + maxEntrySize / (1024 * 1024) + " MB."));
+        } else if (Files.size(upload) == 0) {
+            deleteUpload(upload);
+            entries.add(BatchEntry.rejected(name, "Soubor je prázdný."));
+        } else {
+            entries.add(BatchEntry.of(name, upload));
+        }
+    }
+
+    /**
+     * Copies at most {@code limit} bytes and returns whether the whole input fitted.
+     */
+    private boolean copyAtMost(InputStream input, OutputStream output, long limit) throws IOException {
+        byte[] buffer = new byte[8192];
+        long copied = 0;
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            copied += read;
+            if (copied > limit) {
+                return false;
+            }
+            output.write(buffer, 0, read);
+        }
+        return true;
+    }
+
+    private boolean isZip(String name, String contentType) {
+        return name.toLowerCase().endsWith(".zip")
+                || "application/zip".equals(contentType)
+                || "application/x-zip-compressed".equals(contentType);
+    }
+
+    private void deleteUpload(Path upload) {
+        if (upload == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Failed to delete uploaded file: path={}", upload, e);
+        }
+    }
+
+    private interface BatchResultWriter {
+
+        void write(BatchResult result) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Writes every result as its own archive entry named after the input file; failed entries are written as
+     * {@code <name>.error.txt} with the error message. Only the last segment of an input path is used, so entries
+     * of an uploaded archive never produce directories or {@code ..} segments in the response.
+     */
+    private static class ZipResultWriter implements BatchResultWriter {
+
+        private final ZipOutputStream zip;
+        private final String extension;
+        private final Set<String> usedNames = new HashSet<>();
+
+        ZipResultWriter(OutputStream output, String extension) {
+            this.zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+            this.extension = extension;
+        }
+
+        @Override
+        public void write(BatchResult result) throws IOException {
+            String baseName = stripExtension(fileName(result.name()));
+            byte[] content = result.isSuccess()
+                    ? result.body()
+                    : result.error().getBytes(StandardCharsets.UTF_8);
+            zip.putNextEntry(new ZipEntry(uniqueName(baseName, result.isSuccess() ? "." + extension : ".error.txt")));
+            zip.write(content);
+            zip.closeEntry();
+            zip.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            zip.finish();
+            zip.flush();
+        }
+
+        private String uniqueName(String baseName, String suffix) {
+            String name = baseName + suffix;
+            for (int i = 2; !usedNames.add(name); i++) {
+                name = baseName + "-" + i + suffix;
+            }
+            return name;
+        }
+
+        private static String fileName(String name) {
+            String fileName = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+            return fileName.isEmpty() || fileName.equals(".") || fileName.equals("..") ? "soubor" : fileName;
+        }
+
+        private static String stripExtension(String name) {
+            int dot = name.lastIndexOf('.');
+            return dot > 0 ? name.substring(0, dot) : name;
+        }
+    }
+
+    /**
+     * Writes one JSON object per line: {@code name}, {@code status} and either {@code result} or {@code error}.
+     * JSON results are re-serialized compactly and embedded as objects, Turtle and N-Triples as strings.
+     */
+    private static class NdjsonResultWriter implements BatchResultWriter {
+
+        private final OutputStream output;
+        private final String outputFormat;
+
+        NdjsonResultWriter(OutputStream output, String outputFormat) {
+            this.output = output;
+            this.outputFormat = outputFormat;
+        }
+
+        @Override
+        public void write(BatchResult result) throws IOException {
+            try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(output, JsonEncoding.UTF8)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeStringField("name", result.name());
+                if (result.isSuccess()) {
+                    generator.writeStringField("status", "OK");
+                    generator.writeFieldName("result");
+                    if ("json".equals(outputFormat)) {
+                        generator.writeTree(OBJECT_MAPPER.readTree(result.body()));
+                    } else {
+                        generator.writeString(new String(result.body(), StandardCharsets.UTF_8));
+                    }
+                } else {
+                    generator.writeStringField("status", "ERROR");
+                    generator.writeStringField("error", result.error());
+                }
+                generator.writeEndObject();
+            }
+            output.write('\n');
+            output.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            output.flush();
+        }
+    }
+}
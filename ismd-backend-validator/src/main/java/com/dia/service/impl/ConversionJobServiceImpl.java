@@ -0,0 +1,191 @@
+package com.dia.service.impl;
+
+import com.dia.engine.ConversionContext;
+import com.dia.exceptions.UnsupportedFormatException;
+import com.dia.job.ConversionJob;
+import com.dia.service.ConversionJobService;
+import com.dia.service.ConverterService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.riot.RDFFormat;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.dia.constants.ConvertorControllerConstants.LOG_REQUEST_ID;
+
+@Service
+@Slf4j
+public class ConversionJobServiceImpl implements ConversionJobService {
+
+    private final ConverterService converterService;
+    private final TaskExecutor executor;
+    private final Duration retention;
+    private final int maxRetainedJobs;
+    private final Path resultDirectory;
+    private final Map<String, ConversionJob> jobs = new ConcurrentHashMap<>();
+    /**
+     * Uploads of jobs that have not finished yet, deleted on shutdown when their job never gets to run.
+     */
+    private final Map<String, Path> pendingUploads = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public ConversionJobServiceImpl(ConverterService converterService,
+                                    @Qualifier("conversionJobExecutor") TaskExecutor executor,
+                                    @Value("${conversion.jobs.retention:30m}") Duration retention,
+                                    @Value("${conversion.jobs.max-retained:100}") int maxRetainedJobs,
+                                    @Value("${conversion.jobs.result-directory:#{systemProperties['java.io.tmpdir']}}")
+                                    Path resultDirectory) {
+        this.converterService = converterService;
+        this.executor = executor;
+        this.retention = retention;
+        this.maxRetainedJobs = maxRetainedJobs;
+        this.resultDirectory = resultDirectory;
+    }
+
+    @Override
+    public ConversionJob submitArchi(String jobId, Path upload, boolean removeInvalidSources, String outputFormat) {
+        evictExpiredJobs();
+
+        ConversionJob job = new ConversionJob(jobId, removeInvalidSources, outputFormat);
+        jobs.put(jobId, job);
+        pendingUploads.put(jobId, upload);
+        try {
+            executor.execute(() -> run(job, upload));
+        } catch (TaskRejectedException e) {
+            log.warn("Conversion job rejected, queue is full: requestId={}", jobId);
+            jobs.remove(jobId);
+            pendingUploads.remove(jobId);
+            deleteFile(upload);
+            throw e;
+        }
+
+        log.info("Conversion job queued: requestId={}", jobId);
+        return job;
+    }
+
+    @Override
+    public Optional<ConversionJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> !isExpired(job, Instant.now()));
+    }
+
+    /**
+     * Drops jobs past their retention and, when more finished jobs are retained than allowed, the oldest ones.
+     * Runs on a schedule so that results are released even when no further jobs are submitted.
+     */
+    @Scheduled(fixedDelayString = "${conversion.jobs.eviction-interval:1m}")
+    public void evictExpiredJobs() {
+        Instant now = Instant.now();
+        for (ConversionJob job : jobs.values()) {
+            if (isExpired(job, now) && jobs.remove(job.getId(), job)) {
+                release(job);
+            }
+        }
+
+        long overflow = jobs.values().stream().filter(ConversionJob::isFinished).count() - maxRetainedJobs;
+        if (overflow > 0) {
+            jobs.values().stream()
+                    .filter(ConversionJob::isFinished)
+                    .sorted(Comparator.comparing(ConversionJob::getFinishedAt))
+                    .limit(overflow)
+                    .forEach(job -> {
+                        if (jobs.remove(job.getId(), job)) {
+                            release(job);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Deletes the results of all retained jobs and the uploads of jobs that have not run, so that no temporary
+     * files outlive the application.
+     */
+    @PreDestroy
+    public void releaseAll() {
+        closed = true;
+        for (ConversionJob job : jobs.values()) {
+            if (jobs.remove(job.getId(), job)) {
+                release(job);
+            }
+        }
+        pendingUploads.values().forEach(this::deleteFile);
+        pendingUploads.clear();
+    }
+
+    private void run(ConversionJob job, Path upload) {
+        MDC.put(LOG_REQUEST_ID, job.getId());
+        long startTime = System.currentTimeMillis();
+        job.markRunning();
+        log.info("Conversion job started: requestId={}", job.getId());
+
+        Path result = null;
+        try {
+            ConversionContext context = converterService.parseArchi(upload);
+            converterService.convertArchi(context, job.isRemoveInvalidSources());
+
+            Files.createDirectories(resultDirectory);
+            result = Files.createTempFile(resultDirectory, "ismd-job-result-", "." + job.getOutputFormat());
+            try (OutputStream output = Files.newOutputStream(result)) {
+                export(context, job.getOutputFormat(), output);
+            }
+            job.complete(result);
+            log.info("Conversion job completed: requestId={}, durationMs={}, resultSize={}",
+                    job.getId(), System.currentTimeMillis() - startTime, Files.size(result));
+        } catch (Exception e) {
+            log.error("Conversion job failed: requestId={}", job.getId(), e);
+            deleteFile(result);
+            job.fail(e.getMessage());
+        } finally {
+            pendingUploads.remove(job.getId());
+            deleteFile(upload);
+            MDC.remove(LOG_REQUEST_ID);
+        }
+
+        if (closed) {
+            release(job);
+        }
+    }
+
+    private void export(ConversionContext context, String outputFormat, OutputStream output) {
+        switch (outputFormat) {
+            case "json" -> converterService.exportArchiToJson(context, output);
+            case "ttl" -> converterService.exportArchiToTurtle(context, output, RDFFormat.TURTLE_PRETTY);
+            case "nt" -> converterService.exportArchiToTurtle(context, output, RDFFormat.NTRIPLES);
+            default -> throw new UnsupportedFormatException("Nepodporovaný výstupní formát: " + outputFormat);
+        }
+    }
+
+    private boolean isExpired(ConversionJob job, Instant now) {
+        return job.isFinished() && job.getFinishedAt().plus(retention).isBefore(now);
+    }
+
+    private void release(ConversionJob job) {
+        deleteFile(job.getResult());
+    }
+
+    private void deleteFile(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary file: path={}", file, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.dia.service.impl;
 
+import com.dia.engine.ConversionContext;
 import com.dia.engine.ConverterEngine;
 import com.dia.exceptions.FileParsingException;
 import com.dia.exceptions.JsonExportException;
@@ -7,8 +8,13 @@ import com.dia.exceptions.TurtleExportException;
 import com.dia.service.ConverterService;
 import lombok.RequiredArgsConstructor;
 import org.apache.jena.ontology.ConversionException;
+import org.apache.jena.riot.RDFFormat;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
 @Service
 @RequiredArgsConstructor
 public class ConverterServiceImpl implements ConverterService {
@@ -16,22 +22,58 @@ public class ConverterServiceImpl implements ConverterService {
     private final ConverterEngine converterEngine;
 
     @Override
-    public void parseArchiFromString(String content) throws FileParsingException {
-        converterEngine.parseArchiFromString(content);
+    public ConversionContext parseArchiFromString(String content) throws FileParsingException {
+        return converterEngine.parseArchiFromString(content);
+    }
+
+    @Override
+    public ConversionContext parseArchi(InputStream input) throws FileParsingException {
+        return converterEngine.parseArchi(input);
+    }
+
+    @Override
+    public ConversionContext parseArchi(Path upload) throws FileParsingException {
+        return converterEngine.parseArchi(upload);
+    }
+
+    @Override
+    public ConversionContext parseXlsx(InputStream input) throws FileParsingException {
+        return converterEngine.parseXlsx(input);
+    }
+
+    @Override
+    public ConversionContext parseXmi(InputStream input) throws FileParsingException {
+        return converterEngine.parseXmi(input);
+    }
+
+    @Override
+    public ConversionContext parseTurtle(InputStream input) throws FileParsingException {
+        return converterEngine.parseTurtle(input);
+    }
+
+    @Override
+    public void convertArchi(ConversionContext context, Boolean removeInvalidSources) throws ConversionException {
+        converterEngine.convertArchi(context, removeInvalidSources);
+    }
+
+    @Override
+    public String exportArchiToJson(ConversionContext context) throws JsonExportException {
+        return converterEngine.exportToJson(context);
     }
 
     @Override
-    public void convertArchi(Boolean removeInvalidSources) throws ConversionException {
-        converterEngine.convertArchi(removeInvalidSources);
+    public void exportArchiToJson(ConversionContext context, OutputStream output) throws JsonExportException {
+        converterEngine.exportToJson(context, output);
     }
 
     @Override
-    public String exportArchiToJson() throws JsonExportException {
-        return converterEngine.exportToJson();
+    public String exportArchiToTurtle(ConversionContext context) throws TurtleExportException {
+        return converterEngine.exportToTurtle(context);
     }
 
     @Override
-    public String exportArchiToTurtle() throws TurtleExportException {
-        return converterEngine.exportToTurtle();
+    public void exportArchiToTurtle(ConversionContext context, OutputStream output, RDFFormat format)
+            throws TurtleExportException {
+        converterEngine.exportToTurtle(context, output, format);
     }
 }
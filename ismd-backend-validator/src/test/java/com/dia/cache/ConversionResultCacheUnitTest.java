@@ -0,0 +1,67 @@
+package com.dia.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionResultCacheUnitTest {
+
+    private static final byte[] UPLOAD = "<model/>".getBytes(StandardCharsets.UTF_8);
+
+    private final ConversionResultCache cache =
+            new ConversionResultCache(DataSize.ofBytes(64), DataSize.ofBytes(16), Duration.ofHours(1));
+
+    @Test
+    void key_DependsOnContentAndOptions() throws Exception {
+        String key = cache.key(new ByteArrayInputStream(UPLOAD), "json", false, false);
+
+        assertEquals(key, cache.key(new ByteArrayInputStream(UPLOAD), "json", false, false));
+        assertNotEquals(key, cache.key(new ByteArrayInputStream(UPLOAD), "ttl", false, false));
+        assertNotEquals(key, cache.key(new ByteArrayInputStream(UPLOAD), "json", true, false));
+        assertNotEquals(key, cache.key(new ByteArrayInputStream(UPLOAD), "json", false, true));
+        assertNotEquals(key, cache.key(new ByteArrayInputStream("<model />".getBytes(StandardCharsets.UTF_8)),
+                "json", false, false));
+    }
+
+    @Test
+    void key_WithCopy_SpoolsUploadWhileHashing() throws Exception {
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        String key = cache.key(new ByteArrayInputStream(UPLOAD), copy, "json", false, false);
+
+        assertArrayEquals(UPLOAD, copy.toByteArray());
+        assertEquals(cache.key(new ByteArrayInputStream(UPLOAD), "json", false, false), key);
+    }
+
+    @Test
+    void caching_WritesThroughAndStoresResult() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        cache.caching("key", MediaType.APPLICATION_JSON, out -> out.write("{}".getBytes(StandardCharsets.UTF_8)))
+                .writeTo(output);
+
+        assertEquals("{}", output.toString(StandardCharsets.UTF_8));
+        ConversionResultCache.CachedResult cached = cache.get("key");
+        assertNotNull(cached);
+        assertEquals(MediaType.APPLICATION_JSON, cached.contentType());
+        assertArrayEquals("{}".getBytes(StandardCharsets.UTF_8), cached.body());
+    }
+
+    @Test
+    void caching_ResultLargerThanEntryLimit_IsNotStored() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] large = new byte[17];
+
+        cache.caching("key", MediaType.TEXT_PLAIN, out -> out.write(large)).writeTo(output);
+
+        assertEquals(17, output.size());
+        assertNull(cache.get("key"));
+    }
+}
@@ -1,59 +1,122 @@
 package com.dia.controller;
 
+import com.dia.cache.ConversionResultCache;
+import com.dia.detector.FormatSniffer;
+import com.dia.detector.TurtleFormatDetector;
+import com.dia.detector.XlsxFormatDetector;
+import com.dia.detector.XmlFormatDetector;
+import com.dia.engine.ConversionContext;
 import com.dia.exceptions.JsonExportException;
+import com.dia.exceptions.FileParsingException;
+import com.dia.exceptions.TurtleExportException;
+import com.dia.job.ConversionJob;
+import com.dia.batch.BatchEntry;
+import com.dia.batch.BatchResponseFormat;
+import com.dia.service.BatchConversionService;
+import com.dia.service.ConversionJobService;
 import com.dia.service.ConverterService;
+import org.apache.jena.riot.RDFFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest()
+@SpringBootTest(properties = "conversion.upload.max-file-size=5MB")
 @ContextConfiguration(classes = ConverterControllerIntegrationTest.TestConfig.class)
 class ConverterControllerIntegrationTest {
 
+    @TempDir
+    Path tempDir;
+
     @Autowired
     private WebApplicationContext webApplicationContext;
 
     @Autowired
     private ConverterService converterService;
 
+    @Autowired
+    private ConversionJobService conversionJobService;
+
+    @Autowired
+    private BatchConversionService batchConversionService;
+
+    @Autowired
+    private ConversionResultCache conversionResultCache;
+
     private MockMvc mockMvc;
     private String minimalArchiXML;
+    private ConversionContext context;
 
     @BeforeEach
     public void setup() throws IOException {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
 
         minimalArchiXML = loadTestFile();
+        context = new ConversionContext();
 
-        reset(converterService);
+        reset(converterService, conversionJobService, batchConversionService);
+        conversionResultCache.invalidateAll();
     }
 
     @Configuration
-    @Import(ConverterController.class)
+    @EnableWebMvc
+    @Import({ConverterController.class, ConversionResultCache.class, FormatSniffer.class,
+            XlsxFormatDetector.class, XmlFormatDetector.class, TurtleFormatDetector.class})
     static class TestConfig {
         @Bean
         public ConverterService converterService() {
             return mock(ConverterService.class);
         }
+
+        @Bean
+        public ConversionJobService conversionJobService() {
+            return mock(ConversionJobService.class);
+        }
+
+        @Bean
+        public BatchConversionService batchConversionService() {
+            return mock(BatchConversionService.class);
+        }
     }
 
     private String loadTestFile() throws IOException {
@@ -61,6 +124,15 @@ class ConverterControllerIntegrationTest {
         return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
     }
 
+    private ResultActions performAndDispatch(MockHttpServletRequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(result));
+        }
+        return actions;
+    }
+
     private static final String JSON_OUTPUT = "{\"result\":\"success\"}";
     private static final String TTL_OUTPUT = "@prefix : <http://example.org/> .\n:subject :predicate :object .";
 
@@ -77,12 +149,15 @@ class ConverterControllerIntegrationTest {
         );
 
         // Configure mock service behavior
-        doNothing().when(converterService).parseArchiFromString(anyString());
-        doNothing().when(converterService).convertArchi(false);
-        when(converterService.exportArchiToJson()).thenReturn(JSON_OUTPUT);
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doNothing().when(converterService).convertArchi(context, false);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(JSON_OUTPUT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file)
                         .param("output", "json"))
                 .andExpect(status().isOk())
@@ -90,9 +165,9 @@ class ConverterControllerIntegrationTest {
                 .andExpect(content().string(JSON_OUTPUT));
 
         // Verify service interactions
-        verify(converterService).parseArchiFromString(anyString());
-        verify(converterService).convertArchi(false);
-        verify(converterService).exportArchiToJson();
+        verify(converterService).parseArchi(any(Path.class));
+        verify(converterService).convertArchi(context, false);
+        verify(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
     }
 
     @Test
@@ -106,12 +181,15 @@ class ConverterControllerIntegrationTest {
         );
 
         // Configure mock service behavior
-        doNothing().when(converterService).parseArchiFromString(anyString());
-        doNothing().when(converterService).convertArchi(false);
-        when(converterService.exportArchiToTurtle()).thenReturn(TTL_OUTPUT);
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doNothing().when(converterService).convertArchi(context, false);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(TTL_OUTPUT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToTurtle(eq(context), any(OutputStream.class), eq(RDFFormat.TURTLE_PRETTY));
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file)
                         .param("output", "ttl"))
                 .andExpect(status().isOk())
@@ -119,9 +197,38 @@ class ConverterControllerIntegrationTest {
                 .andExpect(content().string(TTL_OUTPUT));
 
         // Verify service interactions
-        verify(converterService).parseArchiFromString(anyString());
-        verify(converterService).convertArchi(false);
-        verify(converterService).exportArchiToTurtle();
+        verify(converterService).parseArchi(any(Path.class));
+        verify(converterService).convertArchi(context, false);
+        verify(converterService).exportArchiToTurtle(eq(context), any(OutputStream.class), eq(RDFFormat.TURTLE_PRETTY));
+    }
+
+    @Test
+    void testStreamedNTriplesConversion() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8)
+        );
+
+        String ntOutput = "<http://example.org/subject> <http://example.org/predicate> <http://example.org/object> .\n";
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doNothing().when(converterService).convertArchi(context, false);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(ntOutput.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToTurtle(eq(context), any(OutputStream.class), eq(RDFFormat.NTRIPLES));
+
+        // Act & Assert
+        performAndDispatch(multipart("/api/convertor/convert")
+                        .file(file)
+                        .param("output", "nt"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/n-triples"))
+                .andExpect(content().string(ntOutput));
+
+        verify(converterService).exportArchiToTurtle(eq(context), any(OutputStream.class), eq(RDFFormat.NTRIPLES));
     }
 
     @Test
@@ -135,7 +242,7 @@ class ConverterControllerIntegrationTest {
         );
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file))
                 .andExpect(status().isBadRequest());
     }
@@ -152,7 +259,7 @@ class ConverterControllerIntegrationTest {
         );
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file))
                 .andExpect(status().isPayloadTooLarge());
     }
@@ -168,11 +275,57 @@ class ConverterControllerIntegrationTest {
         );
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file))
                 .andExpect(status().isUnsupportedMediaType());
     }
 
+    @Test
+    void testTurtleFileIsConvertedToJson() throws Exception {
+        // Arrange - Turtle is recognized from its content, not from the declared content type
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "slovnik",
+                "application/octet-stream",
+                TTL_OUTPUT.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(converterService.parseTurtle(any(InputStream.class))).thenReturn(context);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(JSON_OUTPUT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
+
+        // Act & Assert
+        performAndDispatch(multipart("/api/convertor/convert")
+                        .file(file)
+                        .param("output", "json"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(JSON_OUTPUT));
+        verify(converterService).parseTurtle(any(InputStream.class));
+        verify(converterService).convertArchi(context, false);
+    }
+
+    @Test
+    void testInvalidTurtleFileReportsLine() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "slovnik.ttl",
+                "text/turtle",
+                TTL_OUTPUT.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(converterService.parseTurtle(any(InputStream.class)))
+                .thenThrow(new FileParsingException("Chyba v souboru Turtle na řádku 2, sloupci 5: Chyba"));
+
+        // Act & Assert
+        performAndDispatch(multipart("/api/convertor/convert")
+                        .file(file))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string("Chyba v souboru Turtle na řádku 2, sloupci 5: Chyba"));
+    }
+
     @Test
     void testUnsupportedOutputFormat() throws Exception {
         // Arrange
@@ -183,11 +336,11 @@ class ConverterControllerIntegrationTest {
                 minimalArchiXML.getBytes(StandardCharsets.UTF_8)
         );
 
-        doNothing().when(converterService).parseArchiFromString(anyString());
-        doNothing().when(converterService).convertArchi(false);
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doNothing().when(converterService).convertArchi(context, false);
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file)
                         .param("output", "csv"))  // Unsupported format
                 .andExpect(status().isUnsupportedMediaType())
@@ -206,10 +359,10 @@ class ConverterControllerIntegrationTest {
 
         // Configure service to throw exception
         doThrow(new RuntimeException("Service processing error"))
-                .when(converterService).parseArchiFromString(anyString());
+                .when(converterService).parseArchi(any(Path.class));
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file))
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string("Service processing error"));
@@ -225,13 +378,13 @@ class ConverterControllerIntegrationTest {
                 minimalArchiXML.getBytes(StandardCharsets.UTF_8)
         );
 
-        doNothing().when(converterService).parseArchiFromString(anyString());
-        doNothing().when(converterService).convertArchi(false);
-        when(converterService.exportArchiToJson())
-                .thenThrow(new JsonExportException("Error exporting to JSON"));
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doNothing().when(converterService).convertArchi(context, false);
+        doThrow(new JsonExportException("Error exporting to JSON"))
+                .when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file)
                         .param("output", "json"))
                 .andExpect(status().isInternalServerError())
@@ -248,13 +401,13 @@ class ConverterControllerIntegrationTest {
                 minimalArchiXML.getBytes(StandardCharsets.UTF_8)
         );
 
-        doNothing().when(converterService).parseArchiFromString(anyString());
-        doNothing().when(converterService).convertArchi(false);
-        when(converterService.exportArchiToTurtle())
-                .thenThrow(new JsonExportException("Error exporting to Turtle"));
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doNothing().when(converterService).convertArchi(context, false);
+        doThrow(new TurtleExportException("Error exporting to Turtle"))
+                .when(converterService).exportArchiToTurtle(eq(context), any(OutputStream.class), any(RDFFormat.class));
 
         // Act & Assert
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file)
                         .param("output", "ttl"))
                 .andExpect(status().isInternalServerError())
@@ -271,17 +424,282 @@ class ConverterControllerIntegrationTest {
                 minimalArchiXML.getBytes(StandardCharsets.UTF_8)
         );
 
-        doNothing().when(converterService).parseArchiFromString(anyString());
-        doNothing().when(converterService).convertArchi(false);
-        when(converterService.exportArchiToJson()).thenReturn(JSON_OUTPUT);
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doNothing().when(converterService).convertArchi(context, false);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(JSON_OUTPUT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
 
         // Act & Assert - Don't specify output param, should default to JSON
-        mockMvc.perform(multipart("/api/convertor/convert")
+        performAndDispatch(multipart("/api/convertor/convert")
                         .file(file))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"))
                 .andExpect(content().string(JSON_OUTPUT));
 
-        verify(converterService).exportArchiToJson();
+        verify(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
+    }
+
+    @Test
+    void testRepeatedConversionIsServedFromCache() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(JSON_OUTPUT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
+
+        // Act & Assert
+        String etag = performAndDispatch(multipart("/api/convertor/convert")
+                        .file(file)
+                        .param("output", "json"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(JSON_OUTPUT))
+                .andReturn().getResponse().getHeader("ETag");
+
+        performAndDispatch(multipart("/api/convertor/convert")
+                        .file(file)
+                        .param("output", "json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().string(JSON_OUTPUT));
+
+        performAndDispatch(multipart("/api/convertor/convert")
+                        .file(file)
+                        .param("output", "json")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(converterService, times(1)).parseArchi(any(Path.class));
+        verify(converterService, times(1)).exportArchiToJson(eq(context), any(OutputStream.class));
+    }
+
+    @Test
+    void testStreamedConversionIsNotRecorded() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(JSON_OUTPUT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
+
+        // Act & Assert
+        for (int i = 0; i < 2; i++) {
+            performAndDispatch(multipart("/api/convertor/convert")
+                            .file(file)
+                            .param("output", "json")
+                            .param("stream", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(content().string(JSON_OUTPUT));
+        }
+
+        verify(converterService, times(2)).parseArchi(any(Path.class));
+    }
+
+    @Test
+    void testFailedExportIsNotCached() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doThrow(new JsonExportException("Error exporting to JSON"))
+                .when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
+
+        // Act & Assert
+        for (int i = 0; i < 2; i++) {
+            performAndDispatch(multipart("/api/convertor/convert")
+                            .file(file)
+                            .param("output", "json"))
+                    .andExpect(status().isInternalServerError());
+        }
+
+        verify(converterService, times(2)).parseArchi(any(Path.class));
+    }
+
+    @Test
+    void testSubmitConversionJob() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(conversionJobService.submitArchi(anyString(), any(Path.class), eq(true), eq("ttl")))
+                .thenAnswer(invocation -> {
+                    Files.delete(invocation.getArgument(1, Path.class));
+                    return new ConversionJob(invocation.getArgument(0), true, "ttl");
+                });
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/convertor/jobs")
+                        .file(file)
+                        .param("removeInvalidSources", "true")
+                        .param("output", "ttl"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/convertor/jobs/")))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(conversionJobService).submitArchi(anyString(), any(Path.class), eq(true), eq("ttl"));
+        verifyNoInteractions(converterService);
+    }
+
+    @Test
+    void testSubmitConversionJobWithTurtleAcceptHeader() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(conversionJobService.submitArchi(anyString(), any(Path.class), eq(false), eq("json")))
+                .thenAnswer(invocation -> {
+                    Files.delete(invocation.getArgument(1, Path.class));
+                    return new ConversionJob(invocation.getArgument(0), false, "json");
+                });
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/convertor/jobs")
+                        .file(file)
+                        .accept("text/turtle"))
+                .andExpect(status().isAccepted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(conversionJobService).submitArchi(anyString(), any(Path.class), eq(false), eq("json"));
+    }
+
+    @Test
+    void testSubmitConversionJobWhenQueueIsFull() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(conversionJobService.submitArchi(anyString(), any(Path.class), eq(false), eq("json")))
+                .thenAnswer(invocation -> {
+                    Files.delete(invocation.getArgument(1, Path.class));
+                    throw new TaskRejectedException("Queue is full");
+                });
+
+        // Act & Assert
+        performAndDispatch(multipart("/api/convertor/jobs")
+                        .file(file))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void testConversionJobResult() throws Exception {
+        // Arrange
+        ConversionJob job = new ConversionJob("job-1", false, "ttl");
+        job.complete(Files.writeString(tempDir.resolve("result.ttl"), TTL_OUTPUT));
+        when(conversionJobService.findJob("job-1")).thenReturn(Optional.of(job));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/convertor/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+        performAndDispatch(get("/api/convertor/jobs/job-1/result"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string(TTL_OUTPUT));
+    }
+
+    @Test
+    void testUnfinishedAndUnknownConversionJob() throws Exception {
+        // Arrange
+        when(conversionJobService.findJob("job-1")).thenReturn(Optional.of(new ConversionJob("job-1", false, "json")));
+        when(conversionJobService.findJob("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        performAndDispatch(get("/api/convertor/jobs/job-1/result"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/convertor/jobs/missing"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(converterService);
+    }
+
+    @Test
+    void testBatchConversionStreamsNdjson() throws Exception {
+        // Arrange
+        MockMultipartFile first = new MockMultipartFile("files", "a.xml", "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile second = new MockMultipartFile("files", "b.xml", "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8));
+        List<BatchEntry> entries = List.of(BatchEntry.of("a.xml", Path.of("a")), BatchEntry.of("b.xml", Path.of("b")));
+        String ndjson = "{\"name\":\"a.xml\",\"status\":\"OK\"}\n{\"name\":\"b.xml\",\"status\":\"OK\"}\n";
+
+        when(batchConversionService.spool(anyList(), anyLong())).thenReturn(entries);
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(batchConversionService).convert(eq(entries), eq("ttl"), eq(true),
+                eq(BatchResponseFormat.NDJSON), any(OutputStream.class));
+
+        // Act & Assert
+        performAndDispatch(multipart("/api/convertor/batch")
+                        .file(first)
+                        .file(second)
+                        .param("output", "ttl")
+                        .param("format", "ndjson")
+                        .param("removeInvalidSources", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(ndjson));
+
+        verify(batchConversionService).convert(eq(entries), eq("ttl"), eq(true),
+                eq(BatchResponseFormat.NDJSON), any(OutputStream.class));
+    }
+
+    @Test
+    void testBatchConversionRejectsInvalidRequests() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("files", "a.xml", "application/xml",
+                minimalArchiXML.getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        performAndDispatch(multipart("/api/convertor/batch")
+                        .file(file)
+                        .param("output", "csv"))
+                .andExpect(status().isUnsupportedMediaType());
+        performAndDispatch(multipart("/api/convertor/batch")
+                        .file(file)
+                        .param("format", "tar"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(content().string("Nepodporovaný formát dávkové odpovědi: tar"));
+        performAndDispatch(multipart("/api/convertor/batch")
+                        .file(new MockMultipartFile("files", "empty.xml", "application/xml", new byte[0])))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(batchConversionService);
     }
 }
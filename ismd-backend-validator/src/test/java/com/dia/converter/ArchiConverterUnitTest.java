@@ -4,21 +4,31 @@ import com.dia.exceptions.ConversionException;
 import com.dia.exceptions.FileParsingException;
 import com.dia.exporter.JsonExporter;
 import com.dia.exporter.TurtleExporter;
-import org.apache.jena.ontology.OntModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.RDF;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.dia.reader.XlsxWorkbookFixture;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -97,12 +107,12 @@ class ArchiConverterUnitTest {
         converter.convert();
 
         // Assert
-        Field ontModelField = ArchiConverter.class.getDeclaredField("ontModel");
-        ontModelField.setAccessible(true);
-        OntModel ontModel = (OntModel) ontModelField.get(converter);
+        Field modelField = ArchiConverter.class.getDeclaredField("model");
+        modelField.setAccessible(true);
+        Model model = (Model) modelField.get(converter);
 
         // Check that the model contains expected resources
-        assertFalse(ontModel.isEmpty(), "Model should not be empty");
+        assertFalse(model.isEmpty(), "Model should not be empty");
 
         // Check resource map
         Field resourceMapField = ArchiConverter.class.getDeclaredField("resourceMap");
@@ -167,6 +177,23 @@ class ArchiConverterUnitTest {
         assertNotNull(turtleOutput, "Turtle output should be produced");
     }
 
+    @Test
+    void parseFile_SpooledUpload_MatchesParsedString(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        Path upload = Files.writeString(tempDir.resolve("upload.xml"), completeArchiXML);
+        converter.parseFromString(completeArchiXML);
+        converter.convert();
+
+        // Act
+        ArchiConverter fromFile = new ArchiConverter();
+        fromFile.parse(upload);
+        fromFile.convert();
+
+        // Assert
+        assertEquals(converter.exportToJson(), fromFile.exportToJson());
+        assertEquals(converter.exportToTurtle(), fromFile.exportToTurtle());
+    }
+
     @Test
     void processElements_ContainsExpectedResources() throws Exception {
         // Arrange
@@ -185,12 +212,12 @@ class ArchiConverterUnitTest {
         assertTrue(resourceMap.containsKey("id-cd39b4fc55534b9ca590187588b9d082"), "Expected element should exist");
 
         // Check model contains expected triples
-        Field ontModelField = ArchiConverter.class.getDeclaredField("ontModel");
-        ontModelField.setAccessible(true);
-        OntModel ontModel = (OntModel) ontModelField.get(converter);
+        Field modelField = ArchiConverter.class.getDeclaredField("model");
+        modelField.setAccessible(true);
+        Model model = (Model) modelField.get(converter);
 
         // Verify the model contains expected patterns
-        assertTrue(ontModel.contains(null, RDF.type, (RDFNode) null), "Model should contain type statements");
+        assertTrue(model.contains(null, RDF.type, (RDFNode) null), "Model should contain type statements");
     }
 
     @Test
@@ -204,4 +231,169 @@ class ArchiConverterUnitTest {
                 "Should handle DTD securely"
         );
     }
+
+    @Test
+    void convert_WithElementPool_ProducesSameOutputAsSequential() throws Exception {
+        String largeArchiXML = withGeneratedElements(minimalArchiXML, 2000);
+
+        converter.parseFromString(largeArchiXML);
+        converter.convert();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ArchiConverter parallel = new ArchiConverter();
+            parallel.setElementPool(pool);
+            parallel.parseFromString(largeArchiXML);
+            parallel.convert();
+
+            assertEquals(converter.getTripleCount(), parallel.getTripleCount());
+            assertEquals(converter.exportToJson(), parallel.exportToJson(),
+                    "Parallel element conversion should produce the same JSON");
+            assertEquals(converter.exportToTurtle(), parallel.exportToTurtle(),
+                    "Parallel element conversion should produce the same Turtle");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String withGeneratedElements(String archiXML, int count) {
+        StringBuilder elements = new StringBuilder("<elements>");
+        for (int i = 0; i < count; i++) {
+            elements.append("<element identifier=\"id-generated-").append(i).append("\" xsi:type=\"BusinessObject\">")
+                    .append("<name xml:lang=\"cs\">Pojem ").append(i).append("</name>")
+                    .append("<name xml:lang=\"en\">Concept ").append(i).append("</name>")
+                    .append("<properties>")
+                    .append(property("propid-1", i % 3 == 0 ? "typ objektu" : "typ vlastnosti"))
+                    .append(property("propid-2", "Popis pojmu " + i))
+                    .append(property("propid-3", "Definice pojmu " + i))
+                    .append(property("propid-4", "https://www.e-sbirka.cz/eli/cz/sb/1991/455/2025-02-15/dokument/norma/par_" + i))
+                    .append(property("propid-10", "A" + (100 + i % 50)))
+                    .append(property("propid-13", i % 10 == 0 ? "NE" : "ANO"))
+                    .append("</properties></element>");
+        }
+        return archiXML.replaceFirst("<elements>", elements.toString());
+    }
+
+    private static String property(String definitionRef, String value) {
+        return "<property propertyDefinitionRef=\"" + definitionRef + "\"><value xml:lang=\"cs\">"
+                + value + "</value></property>";
+    }
+
+    @Test
+    void parseXlsx_VocabularyWorkbook_ConvertsToConcepts() throws Exception {
+        // Arrange
+        byte[] workbook = new XlsxWorkbookFixture()
+                .sheet("Slovník", List.of(List.of("Název slovníku", "Slovník řidičů")))
+                .sheet("Subjekty a objekty práva", List.of(
+                        List.of("Název", "Typ", "Definice"),
+                        List.of("Řidič", "Subjekt práva", "Osoba, která řídí motorové vozidlo."),
+                        List.of("Vozidlo", "Objekt práva")))
+                .sheet("Vlastnosti", List.of(
+                        List.of("Název", "Subjekt nebo objekt práva"),
+                        List.of("Jméno řidiče", "Řidič")))
+                .sheet("Vztahy", List.of(
+                        List.of("Subjekt nebo objekt práva", "Název", "Subjekt nebo objekt práva"),
+                        List.of("Řidič", "řídí", "Vozidlo")))
+                .build();
+
+        // Act
+        converter.parseXlsx(new ByteArrayInputStream(workbook));
+        converter.convert();
+
+        // Assert
+        Field modelField = ArchiConverter.class.getDeclaredField("model");
+        modelField.setAccessible(true);
+        Model model = (Model) modelField.get(converter);
+        String ns = "https://slovník.gov.cz/";
+        Resource driver = model.getResource("https://slovník.gov.cz/pojem/řidič");
+        assertTrue(driver.hasProperty(RDF.type, model.getResource(ns + "Typ subjektu práva")));
+        assertTrue(driver.hasProperty(model.getProperty(ns + "definice")));
+        assertTrue(model.getResource("https://slovník.gov.cz/pojem/jméno-řidiče")
+                .hasProperty(RDF.type, model.getResource(ns + "Vlastnost")));
+        assertTrue(model.getResource("https://slovník.gov.cz/pojem/řídí")
+                .hasProperty(RDF.type, model.getResource(ns + "Vztah")));
+    }
+
+    @Test
+    void parseXmi_UmlModel_ConvertsToConcepts() throws Exception {
+        // Arrange
+        String xmi = """
+                <xmi:XMI xmi:version="2.1" xmlns:uml="http://schema.omg.org/spec/UML/2.1"
+                         xmlns:xmi="http://schema.omg.org/spec/XMI/2.1">
+                  <uml:Model xmi:type="uml:Model" name="EA_Model">
+                    <packagedElement xmi:type="uml:Package" xmi:id="pkg" name="Slovník řidičů">
+                      <packagedElement xmi:type="uml:Class" xmi:id="person" name="Osoba"/>
+                      <packagedElement xmi:type="uml:Class" xmi:id="driver" name="Řidič">
+                        <generalization xmi:type="uml:Generalization" xmi:id="gen" general="person"/>
+                        <ownedAttribute xmi:type="uml:Property" xmi:id="licence" name="číslo průkazu">
+                          <type xmi:idref="EAJava_String"/>
+                        </ownedAttribute>
+                      </packagedElement>
+                      <packagedElement xmi:type="uml:Class" xmi:id="vehicle" name="Vozidlo"/>
+                      <packagedElement xmi:type="uml:Association" xmi:id="drives" name="řídí" memberEnd="src dst">
+                        <ownedEnd xmi:type="uml:Property" xmi:id="src" association="drives" type="driver"/>
+                        <ownedEnd xmi:type="uml:Property" xmi:id="dst" association="drives" type="vehicle"/>
+                        <navigableOwnedEnd xmi:idref="dst"/>
+                      </packagedElement>
+                    </packagedElement>
+                  </uml:Model>
+                </xmi:XMI>
+                """;
+
+        // Act
+        converter.parseXmi(new ByteArrayInputStream(xmi.getBytes(StandardCharsets.UTF_8)));
+        converter.convert();
+
+        // Assert
+        Field modelField = ArchiConverter.class.getDeclaredField("model");
+        modelField.setAccessible(true);
+        Model model = (Model) modelField.get(converter);
+        String ns = "https://slovník.gov.cz/";
+        Resource driver = model.getResource("https://slovník.gov.cz/pojem/řidič");
+        assertTrue(driver.hasProperty(RDF.type, model.getResource(ns + "Typ objektu práva")));
+        assertTrue(driver.hasProperty(model.getProperty(ns + "nadřazená-třída"),
+                model.getResource("https://slovník.gov.cz/pojem/osoba")));
+        Resource licence = model.getResource("https://slovník.gov.cz/pojem/číslo-průkazu");
+        assertTrue(licence.hasProperty(RDF.type, model.getResource(ns + "Vlastnost")));
+        assertTrue(licence.hasProperty(model.getProperty(ns + "obor-hodnot"),
+                model.getResource("http://www.w3.org/2001/XMLSchema#string")));
+        Resource drives = model.getResource("https://slovník.gov.cz/pojem/řídí");
+        assertTrue(drives.hasProperty(RDF.type, model.getResource(ns + "Vztah")));
+        assertTrue(drives.hasProperty(model.getProperty(ns + "obor-hodnot"),
+                model.getResource("https://slovník.gov.cz/pojem/vozidlo")));
+    }
+
+    @Test
+    void parseTurtle_ExportedVocabulary_ExportsSameJsonAndTurtle() throws Exception {
+        // Arrange
+        converter.parseFromString(completeArchiXML);
+        converter.convert();
+        String json = converter.exportToJson();
+        String turtle = converter.exportToTurtle();
+
+        // Act
+        ArchiConverter reimported = new ArchiConverter();
+        reimported.parseTurtle(new ByteArrayInputStream(turtle.getBytes(StandardCharsets.UTF_8)));
+        reimported.convert();
+
+        // Assert - concepts may be listed in another order
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode expected = (ObjectNode) mapper.readTree(json);
+        ObjectNode actual = (ObjectNode) mapper.readTree(reimported.exportToJson());
+        assertEquals(Set.copyOf(expected.remove("pojmy").findParents("iri")),
+                Set.copyOf(actual.remove("pojmy").findParents("iri")));
+        assertEquals(expected, actual);
+        assertEquals(turtle.lines().sorted().toList(), reimported.exportToTurtle().lines().sorted().toList());
+    }
+
+    @Test
+    void parseTurtle_SyntaxError_ReportsLine() {
+        // Arrange
+        String turtle = "@prefix : <https://example.org/> .\n:a :b :c .\n:a :b :c :d .\n";
+
+        // Act & Assert
+        FileParsingException exception = assertThrows(FileParsingException.class,
+                () -> converter.parseTurtle(new ByteArrayInputStream(turtle.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(exception.getMessage().startsWith("Chyba v souboru Turtle na řádku 3"), exception.getMessage());
+    }
 }
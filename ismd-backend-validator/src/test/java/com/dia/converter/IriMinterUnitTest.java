@@ -0,0 +1,56 @@
+package com.dia.converter;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.dia.constants.ArchiOntologyConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IriMinterUnitTest {
+
+    private Model model;
+    private IriMinter minter;
+
+    @BeforeEach
+    void setUp() {
+        model = ModelFactory.createDefaultModel();
+        minter = new IriMinter(model);
+    }
+
+    @Test
+    void setConfiguredNamespace_InvalidUrl_FallsBackToDefault() {
+        minter.setConfiguredNamespace("https://data.dia.gov.cz");
+        assertEquals("https://data.dia.gov.cz/", minter.getNamespace());
+
+        minter.setConfiguredNamespace("není adresa");
+        assertEquals(NS, minter.getNamespace());
+
+        minter.setConfiguredNamespace(null);
+        assertEquals(NS, minter.getNamespace());
+    }
+
+    @Test
+    void property_FollowsNamespaceChanges() {
+        Property defaultPopis = minter.property(LABEL_POPIS);
+        assertSame(defaultPopis, minter.property(LABEL_POPIS));
+        assertEquals(NS + LABEL_POPIS, defaultPopis.getURI());
+
+        minter.setConfiguredNamespace("https://data.dia.gov.cz/");
+        assertEquals("https://data.dia.gov.cz/" + LABEL_POPIS, minter.property(LABEL_POPIS).getURI());
+        assertEquals("https://data.dia.gov.cz/" + TYP_POJEM, minter.resource(TYP_POJEM).getURI());
+    }
+
+    @Test
+    void resource_SameIri_SharesNodeAcrossModels() {
+        Model other = ModelFactory.createDefaultModel();
+        String agenda = "https://rpp-opendata.egon.gov.cz/odrpp/zdroj/agenda/A121";
+
+        assertSame(minter.resource(model, agenda).asNode(), minter.resource(other, agenda).asNode());
+        assertSame(other, minter.resource(other, agenda).getModel());
+        assertEquals(minter.sanitize("Řidičský průkaz"), minter.sanitize("Řidičský průkaz"));
+        assertEquals("řidičský-průkaz", minter.sanitize("Řidičský průkaz"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.dia.detector;
+
+import com.dia.detector.FormatSniffer.SniffedUpload;
+import com.dia.enums.FileFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatSnifferUnitTest {
+
+    private final FormatSniffer sniffer = new FormatSniffer(
+            List.of(new XlsxFormatDetector(), new XmlFormatDetector(), new TurtleFormatDetector()));
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "<?xml version=\"1.0\"?><model xmlns=\"http://www.opengroup.org/xsd/archimate/3.0/\"/>|model.xml|ARCHI_XML",
+            "<?xml version=\"1.0\"?><model xmlns=\"http://www.opengroup.org/xsd/archimate/3.1/\"/>|model|ARCHI_XML",
+            "<xmi:XMI xmlns:xmi=\"http://schema.omg.org/spec/XMI/2.1\"/>|model.xml|XMI",
+            "<XMI XMI.version=\"2.1\"/>|model.xmi|XMI",
+            "@prefix : <http://example.org/> .|slovnik|TURTLE",
+            "'# komentář\nPREFIX : <http://example.org/>'|slovnik.txt|TURTLE",
+            "<http://example.org/s> <http://example.org/p> <http://example.org/o> .|slovnik.ttl|TURTLE",
+            "<?xml version=\"1.0\"?><html/>|page.xml|UNSUPPORTED",
+            "prefixed plain text|notes.txt|UNSUPPORTED"
+    })
+    void sniff_DetectsFormatFromContent(String content, String filename, FileFormat expected) throws Exception {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        try (SniffedUpload upload = sniffer.sniff(new ByteArrayInputStream(bytes), filename, "application/pdf")) {
+            assertEquals(expected, upload.format());
+        }
+    }
+
+    @Test
+    void sniff_ZipSignature_IsXlsxOnlyForWorkbooks() throws Exception {
+        byte[] workbook = zipHeader("[Content_Types].xml");
+        byte[] archive = zipHeader("slovnik.xml");
+
+        assertEquals(FileFormat.XLSX, sniffer.sniff(new ByteArrayInputStream(workbook), "data", null).format());
+        assertEquals(FileFormat.XLSX, sniffer.sniff(new ByteArrayInputStream(archive), "data.xlsx", null).format());
+        assertEquals(FileFormat.UNSUPPORTED, sniffer.sniff(new ByteArrayInputStream(archive), "data.zip", null).format());
+    }
+
+    @Test
+    void sniff_HandsOnWholeUploadIncludingPrefix() throws Exception {
+        byte[] content = new byte[FormatSniffer.PREFIX_SIZE * 3];
+        Arrays.fill(content, (byte) 'x');
+        byte[] header = "@prefix : <http://example.org/> .\n".getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(header, 0, content, 0, header.length);
+
+        try (SniffedUpload upload = sniffer.sniff(new ByteArrayInputStream(content), "slovnik", null)) {
+            assertEquals(FileFormat.TURTLE, upload.format());
+            assertArrayEquals(content, upload.input().readAllBytes());
+        }
+    }
+
+    private byte[] zipHeader(String firstEntry) {
+        byte[] name = firstEntry.getBytes(StandardCharsets.US_ASCII);
+        byte[] header = new byte[30 + name.length];
+        header[0] = 'P';
+        header[1] = 'K';
+        header[2] = 3;
+        header[3] = 4;
+        header[26] = (byte) name.length;
+        System.arraycopy(name, 0, header, 30, name.length);
+        return header;
+    }
+}
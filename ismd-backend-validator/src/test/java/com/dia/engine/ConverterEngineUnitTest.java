@@ -0,0 +1,171 @@
+package com.dia.engine;
+
+import com.dia.exceptions.ConversionException;
+import com.dia.exceptions.FileParsingException;
+import com.dia.metrics.ConversionMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConverterEngineUnitTest {
+
+    private SimpleMeterRegistry registry;
+    private ConverterEngine engine;
+    private String minimalArchiXML;
+    private String completeArchiXML;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = new SimpleMeterRegistry();
+        engine = new ConverterEngine(2, 2, new ConversionMetrics(registry));
+        minimalArchiXML = loadTestFile("minimal-archi.xml");
+        completeArchiXML = loadTestFile("complete-archi.xml");
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    private String loadTestFile(String filename) throws IOException {
+        ClassPathResource resource = new ClassPathResource("/com/dia/" + filename, getClass());
+        return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void parseArchiFromString_EachCall_CreatesNewContext() throws Exception {
+        ConversionContext first = engine.parseArchiFromString(minimalArchiXML);
+        ConversionContext second = engine.parseArchiFromString(minimalArchiXML);
+
+        assertNotSame(first, second, "Each parse should create its own context");
+        assertNotSame(first.getArchiConverter(), second.getArchiConverter(),
+                "Contexts should not share a converter");
+    }
+
+    @Test
+    void exportToJson_InterleavedContexts_DoNotAffectEachOther() throws Exception {
+        ConversionContext minimal = engine.parseArchiFromString(minimalArchiXML);
+        engine.convertArchi(minimal, false);
+        String minimalJson = engine.exportToJson(minimal);
+
+        ConversionContext complete = engine.parseArchiFromString(completeArchiXML);
+        engine.convertArchi(complete, false);
+        engine.exportToJson(complete);
+
+        assertEquals(minimalJson, engine.exportToJson(minimal),
+                "Converting another document should not change an existing context");
+    }
+
+    @Test
+    void parseArchi_InputStream_MatchesStringParsing() throws Exception {
+        ConversionContext fromString = engine.parseArchiFromString(completeArchiXML);
+        engine.convertArchi(fromString, false);
+
+        ConversionContext fromStream = engine.parseArchi(
+                new ByteArrayInputStream(completeArchiXML.getBytes(StandardCharsets.UTF_8)));
+        engine.convertArchi(fromStream, false);
+
+        assertEquals(engine.exportToJson(fromString), engine.exportToJson(fromStream),
+                "Parsing from a stream should produce the same result as parsing from a string");
+    }
+
+    @Test
+    void exportToTurtle_StreamingFormat_IsIsomorphicWithPrettyTurtle() throws Exception {
+        ConversionContext context = engine.parseArchiFromString(completeArchiXML);
+        engine.convertArchi(context, false);
+
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        engine.exportToTurtle(context, blocks, RDFFormat.TURTLE_BLOCKS);
+
+        Model pretty = ModelFactory.createDefaultModel();
+        RDFParser.fromString(engine.exportToTurtle(context), Lang.TURTLE).parse(pretty);
+        Model streamed = ModelFactory.createDefaultModel();
+        RDFParser.fromString(blocks.toString(StandardCharsets.UTF_8), Lang.TURTLE).parse(streamed);
+
+        assertFalse(streamed.isEmpty());
+        assertTrue(pretty.isIsomorphicWith(streamed),
+                "Streamed Turtle should contain the same statements as pretty Turtle");
+    }
+
+    @Test
+    void convertArchi_InterruptedWhileWaitingForPermit_ThrowsConversionException() throws Exception {
+        ConversionContext context = engine.parseArchiFromString(minimalArchiXML);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ConversionException.class, () -> engine.convertArchi(context, false));
+            assertTrue(Thread.currentThread().isInterrupted(), "Interrupt flag should be restored");
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void pipeline_RecordsStageTimersAndSizes() throws Exception {
+        byte[] upload = completeArchiXML.getBytes(StandardCharsets.UTF_8);
+        ConversionContext context = engine.parseArchi(new ByteArrayInputStream(upload));
+        engine.convertArchi(context, false);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        engine.exportToJson(context, output);
+
+        assertEquals(1, stageTimer("parse", "none").count());
+        assertEquals(1, stageTimer("convert", "none").count());
+        assertEquals(1, stageTimer("export", "json").count());
+
+        assertEquals(upload.length, summary("conversion.input.size").totalAmount());
+        assertEquals(context.getArchiConverter().getElementCount(),
+                summary("conversion.input.elements").totalAmount());
+        assertEquals(context.getArchiConverter().getTripleCount(),
+                summary("conversion.model.triples").totalAmount());
+        assertEquals(output.size(), registry.get("conversion.output.size").tag("output", "json")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void exportToTurtle_NTriples_TaggedWithItsOwnFormat() throws Exception {
+        ConversionContext context = engine.parseArchiFromString(minimalArchiXML);
+        engine.convertArchi(context, false);
+
+        engine.exportToTurtle(context, new ByteArrayOutputStream(), RDFFormat.NTRIPLES);
+        engine.exportToTurtle(context, new ByteArrayOutputStream(), RDFFormat.TURTLE_PRETTY);
+
+        assertEquals(1, stageTimer("export", "ntriples").count());
+        assertEquals(1, stageTimer("export", "turtle").count());
+    }
+
+    @Test
+    void parseArchiFromString_InvalidXml_RecordsFailure() {
+        assertThrows(FileParsingException.class, () -> engine.parseArchiFromString("<model"));
+
+        Timer failed = registry.get("conversion.stage.duration")
+                .tags("stage", "parse", "outcome", "failure")
+                .timer();
+        assertEquals(1, failed.count());
+    }
+
+    private Timer stageTimer(String stage, String output) {
+        return registry.get("conversion.stage.duration")
+                .tags("stage", stage, "input", "archi-xml", "output", output, "outcome", "success")
+                .timer();
+    }
+
+    private DistributionSummary summary(String name) {
+        return registry.get(name).summary();
+    }
+}
@@ -0,0 +1,97 @@
+package com.dia.reader;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiXmlReaderUnitTest {
+
+    private static final String ARCHI_XML = """
+            <model xmlns="http://www.opengroup.org/xsd/archimate/3.0/"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" identifier="id-model">
+                <name xml:lang="cs">Model</name>
+                <properties>
+                    <property propertyDefinitionRef="propid-1">
+                        <value xml:lang="cs">https://data.dia.gov.cz</value>
+                    </property>
+                    <property propertyDefinitionRef="propid-2"/>
+                </properties>
+                <elements>
+                    <element identifier="id-1" xsi:type="BusinessObject">
+                        <name xml:lang="cs">Řidič</name>
+                        <name xml:lang="en">Driver</name>
+                        <properties>
+                            <property propertyDefinitionRef="propid-2">
+                                <value>typ subjektu</value>
+                            </property>
+                        </properties>
+                    </element>
+                    <element identifier="id-2" xsi:type="BusinessObject">
+                        <name>Vozidlo</name>
+                    </element>
+                </elements>
+                <relationships>
+                    <relationship identifier="id-3" source="id-1" target="id-2" xsi:type="Association">
+                        <name xml:lang="cs">řídí</name>
+                    </relationship>
+                </relationships>
+                <propertyDefinitions>
+                    <propertyDefinition identifier="propid-1" type="string">
+                        <name>adresa lokálního katalogu dat</name>
+                    </propertyDefinition>
+                    <propertyDefinition identifier="propid-2" type="string">
+                        <name>typ</name>
+                    </propertyDefinition>
+                </propertyDefinitions>
+                <views>
+                    <diagrams>
+                        <view identifier="id-view" xsi:type="Diagram">
+                            <name xml:lang="cs">Pohled</name>
+                        </view>
+                    </diagrams>
+                </views>
+            </model>
+            """;
+
+    @Test
+    void read_ArchiXml_EmitsRecordsInDocumentOrder() throws Exception {
+        ArchiDocument document = new ArchiDocument();
+
+        new ArchiXmlReader().read(new StringReader(ARCHI_XML), document);
+
+        assertEquals("Model", document.getModelName());
+        assertEquals(1, document.getModelProperties().size(), "Properties without value should be skipped");
+        assertEquals(new ArchiPropertyRecord("propid-1", "https://data.dia.gov.cz", "cs"),
+                document.getModelProperties().get(0));
+
+        assertEquals(2, document.getElements().size());
+        ArchiElementRecord first = document.getElements().get(0);
+        assertEquals("id-1", first.id());
+        assertEquals("BusinessObject", first.type());
+        assertEquals(2, first.names().size());
+        assertEquals(new ArchiLangValue("Driver", "en"), first.names().get(1));
+        assertEquals(new ArchiPropertyRecord("propid-2", "typ subjektu", ""), first.properties().get(0));
+        assertEquals(new ArchiLangValue("Vozidlo", ""), document.getElements().get(1).names().get(0));
+
+        assertEquals(1, document.getRelationships().size());
+        ArchiRelationshipRecord relationship = document.getRelationships().get(0);
+        assertEquals("Association", relationship.type());
+        assertEquals("id-1", relationship.source());
+        assertEquals("id-2", relationship.target());
+
+        assertEquals(2, document.getPropertyDefinitions().size());
+        assertEquals(new ArchiPropertyDefinitionRecord("propid-2", "typ"), document.getPropertyDefinitions().get(1));
+    }
+
+    @Test
+    void read_XmlWithDoctype_ThrowsException() {
+        String xml = "<?xml version=\"1.0\"?><!DOCTYPE model [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                + "<model xmlns=\"http://www.opengroup.org/xsd/archimate/3.0/\"><name>&xxe;</name></model>";
+
+        assertThrows(XMLStreamException.class,
+                () -> new ArchiXmlReader().read(new StringReader(xml), new ArchiDocument()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.dia.reader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileInputStreamUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_FileSpanningSeveralWindows_ReturnsAllBytes() throws IOException {
+        byte[] content = content(1000);
+        Path file = write(content);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = new MappedFileInputStream(file, 64)) {
+            byte[] buffer = new byte[100];
+            int read;
+            while ((read = input.read(buffer, 0, buffer.length)) != -1) {
+                assertTrue(read <= 64);
+                output.write(buffer, 0, read);
+            }
+            assertEquals(-1, input.read());
+        }
+
+        assertArrayEquals(content, output.toByteArray());
+    }
+
+    @Test
+    void skip_AcrossWindowBoundary_ContinuesAtTarget() throws IOException {
+        byte[] content = content(300);
+        Path file = write(content);
+
+        try (InputStream input = new MappedFileInputStream(file, 64)) {
+            assertEquals(content[0] & 0xFF, input.read());
+            assertEquals(150, input.skip(150));
+            assertEquals(content[151] & 0xFF, input.read());
+            assertEquals(148, input.skip(1000));
+            assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    void read_EmptyFile_ReturnsEndOfStream() throws IOException {
+        try (InputStream input = new MappedFileInputStream(write(new byte[0]))) {
+            assertEquals(0, input.available());
+            assertEquals(-1, input.read());
+        }
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(tempDir.resolve("upload.xml"), content);
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+}
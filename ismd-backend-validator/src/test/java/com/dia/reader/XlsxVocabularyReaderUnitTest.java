@@ -0,0 +1,111 @@
+package com.dia.reader;
+
+import com.dia.exceptions.FileParsingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XlsxVocabularyReaderUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_VocabularySheets_EmitsArchiRecords() throws Exception {
+        Path workbook = write(new XlsxWorkbookFixture()
+                .sheet("Slovník", List.of(
+                        List.of("Název slovníku:", "Slovník řidičů"),
+                        List.of("Adresa lokálního katalogu dat, ve kterém bude slovník registrován",
+                                "https://data.dia.gov.cz")))
+                .sheet("Subjekty a objekty práva", List.of(
+                        List.of("Název", "Typ", "Popis", "Název (EN)"),
+                        List.of("Řidič", "Subjekt práva", "Osoba řídící vozidlo", "Driver"),
+                        List.of(),
+                        List.of("Vozidlo", "Objekt práva")))
+                .sheet("Vlastnosti", List.of(
+                        List.of("Název", "Subjekt nebo objekt práva", "Datový typ"),
+                        List.of("Jméno řidiče", "Řidič", "Řetězec")))
+                .sheet("Vztahy", List.of(
+                        List.of("Subjekt nebo objekt práva", "Název", "Subjekt nebo objekt práva"),
+                        List.of("Řidič", "řídí", "Vozidlo")))
+                .sheet("Poznámky", List.of(List.of("Název", "nečte se"))));
+
+        ArchiDocument document = new ArchiDocument();
+        new XlsxVocabularyReader().read(workbook, document);
+
+        assertEquals("Slovník řidičů", document.getModelName());
+        assertEquals(1, document.getModelProperties().size());
+        assertEquals("https://data.dia.gov.cz", document.getModelProperties().get(0).value());
+
+        assertEquals(3, document.getElements().size());
+        ArchiElementRecord driver = document.getElements().get(0);
+        assertEquals(List.of(new ArchiLangValue("Řidič", "cs"), new ArchiLangValue("Driver", "en")), driver.names());
+        assertTrue(driver.properties().stream().anyMatch(p -> p.value().equals("typ subjektu")));
+        assertTrue(driver.properties().stream().anyMatch(p -> p.value().equals("Osoba řídící vozidlo")));
+
+        ArchiElementRecord name = document.getElements().get(2);
+        assertTrue(name.properties().stream().anyMatch(p -> p.value().equals("typ vlastnosti")));
+
+        assertEquals(2, document.getRelationships().size());
+        ArchiRelationshipRecord composition = document.getRelationships().get(0);
+        assertEquals("Composition", composition.type());
+        assertEquals(driver.id(), composition.source());
+        assertEquals(name.id(), composition.target());
+        ArchiRelationshipRecord association = document.getRelationships().get(1);
+        assertEquals("Association", association.type());
+        assertEquals(driver.id(), association.source());
+        assertEquals(document.getElements().get(1).id(), association.target());
+
+        assertTrue(document.getPropertyDefinitions().stream().anyMatch(d -> d.name().equals("datový typ")));
+    }
+
+    @Test
+    void read_WorkbookWithoutVocabularySheets_Throws() throws Exception {
+        Path workbook = write(new XlsxWorkbookFixture().sheet("List1", List.of(List.of("a", "b"))));
+
+        assertThrows(FileParsingException.class, () -> new XlsxVocabularyReader().read(workbook, new ArchiDocument()));
+    }
+
+    @Test
+    void read_SharedStringCellWithoutValue_ReadsEmptyCell() throws Exception {
+        Path workbook = write(new XlsxWorkbookFixture()
+                .sheet("Slovník", List.of(List.of("Název slovníku:", "Slovník řidičů")))
+                .rawSheet("Subjekty a objekty práva",
+                        "<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>Název</t></is></c></row>"
+                                + "<row r=\"2\"><c r=\"A2\" t=\"inlineStr\"><is><t>Řidič</t></is></c>"
+                                + "<c r=\"B2\" t=\"s\"/></row>"));
+
+        ArchiDocument document = new ArchiDocument();
+        new XlsxVocabularyReader().read(workbook, document);
+
+        assertEquals(1, document.getElements().size());
+    }
+
+    @Test
+    void read_SharedStringCellWithInvalidIndex_Throws() throws Exception {
+        Path workbook = write(new XlsxWorkbookFixture()
+                .sheet("Slovník", List.of(List.of("Název slovníku:", "Slovník řidičů")))
+                .rawSheet("Subjekty a objekty práva",
+                        "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>x</v></c></row>"));
+
+        FileParsingException exception = assertThrows(FileParsingException.class,
+                () -> new XlsxVocabularyReader().read(workbook, new ArchiDocument()));
+        assertTrue(exception.getMessage().startsWith("Soubor XLSX obsahuje neplatný odkaz"));
+    }
+
+    @Test
+    void columnIndex_ParsesCellReferences() {
+        assertEquals(0, XlsxVocabularyReader.columnIndex("A1", 5));
+        assertEquals(27, XlsxVocabularyReader.columnIndex("AB12", 0));
+        assertEquals(3, XlsxVocabularyReader.columnIndex(null, 3));
+    }
+
+    private Path write(XlsxWorkbookFixture fixture) throws Exception {
+        return Files.write(tempDir.resolve("slovnik.xlsx"), fixture.build());
+    }
+}
@@ -0,0 +1,105 @@
+package com.dia.reader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes minimal XLSX workbooks for tests. Cells of the first column use the shared strings table, the others
+ * are inline strings, so both ways of storing text are covered.
+ */
+public class XlsxWorkbookFixture {
+
+    private final Map<String, List<List<String>>> sheets = new LinkedHashMap<>();
+    private final Map<String, String> rawSheets = new LinkedHashMap<>();
+
+    public XlsxWorkbookFixture sheet(String name, List<List<String>> rows) {
+        sheets.put(name, rows);
+        return this;
+    }
+
+    /**
+     * Adds a sheet whose {@code sheetData} content is written as given, for cells the row model cannot express.
+     */
+    public XlsxWorkbookFixture rawSheet(String name, String sheetData) {
+        sheets.put(name, List.of());
+        rawSheets.put(name, "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                + sheetData + "</sheetData></worksheet>");
+        return this;
+    }
+
+    public byte[] build() throws IOException {
+        List<String> sharedStrings = new ArrayList<>();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(output)) {
+            put(zip, "[Content_Types].xml", "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\"/>");
+
+            StringBuilder workbook = new StringBuilder("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                    + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+            StringBuilder relationships = new StringBuilder(
+                    "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+            int index = 1;
+            for (Map.Entry<String, List<List<String>>> sheet : sheets.entrySet()) {
+                workbook.append("<sheet name=\"").append(escape(sheet.getKey())).append("\" sheetId=\"").append(index)
+                        .append("\" r:id=\"rId").append(index).append("\"/>");
+                relationships.append("<Relationship Id=\"rId").append(index)
+                        .append("\" Target=\"worksheets/list").append(index).append(".xml\"/>");
+                String xml = rawSheets.containsKey(sheet.getKey())
+                        ? rawSheets.get(sheet.getKey())
+                        : sheetXml(sheet.getValue(), sharedStrings);
+                put(zip, "xl/worksheets/list" + index + ".xml", xml);
+                index++;
+            }
+            put(zip, "xl/workbook.xml", workbook.append("</sheets></workbook>").toString());
+            put(zip, "xl/_rels/workbook.xml.rels", relationships.append("</Relationships>").toString());
+
+            StringBuilder strings = new StringBuilder("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+            for (String value : sharedStrings) {
+                strings.append("<si><r><t>").append(escape(value)).append("</t></r><rPh><t>x</t></rPh></si>");
+            }
+            put(zip, "xl/sharedStrings.xml", strings.append("</sst>").toString());
+        }
+        return output.toByteArray();
+    }
+
+    private String sheetXml(List<List<String>> rows, List<String> sharedStrings) {
+        StringBuilder xml = new StringBuilder("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        for (int r = 0; r < rows.size(); r++) {
+            xml.append("<row r=\"").append(r + 1).append("\">");
+            List<String> row = rows.get(r);
+            for (int c = 0; c < row.size(); c++) {
+                String value = row.get(c);
+                if (value == null || value.isEmpty()) {
+                    continue;
+                }
+                String reference = (char) ('A' + c) + String.valueOf(r + 1);
+                if (c == 0) {
+                    sharedStrings.add(value);
+                    xml.append("<c r=\"").append(reference).append("\" t=\"s\"><v>")
+                            .append(sharedStrings.size() - 1).append("</v></c>");
+                } else {
+                    xml.append("<c r=\"").append(reference).append("\" t=\"inlineStr\"><is><t>")
+                            .append(escape(value)).append("</t></is></c>");
+                }
+            }
+            xml.append("</row>");
+        }
+        return xml.append("</sheetData></worksheet>").toString();
+    }
+
+    private void put(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,134 @@
+package com.dia.reader;
+
+import com.dia.exceptions.FileParsingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmiVocabularyReaderUnitTest {
+
+    static final String VEHICLE_MODEL = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <xmi:XMI xmi:version="2.1" xmlns:uml="http://schema.omg.org/spec/UML/2.1"
+                     xmlns:xmi="http://schema.omg.org/spec/XMI/2.1" xmlns:OFN="http://www.sparxsystems.com/profiles/OFN/1.0">
+              <uml:Model xmi:type="uml:Model" name="EA_Model">
+                <packagedElement xmi:type="uml:Package" xmi:id="pkg" name="Slovník řidičů">
+                  <packagedElement xmi:type="uml:Class" xmi:id="person" name="Osoba">
+                    <ownedComment xmi:type="uml:Comment" xmi:id="c1" body="Fyzická osoba."/>
+                  </packagedElement>
+                  <packagedElement xmi:type="uml:Class" xmi:id="driver" name="Řidič">
+                    <generalization xmi:type="uml:Generalization" xmi:id="gen" general="person"/>
+                    <ownedAttribute xmi:type="uml:Property" xmi:id="licence" name="číslo řidičského průkazu">
+                      <type xmi:idref="EAJava_String"/>
+                      <defaultValue xmi:type="uml:LiteralString" xmi:id="dv">
+                        <type xmi:idref="EAJava_int"/>
+                      </defaultValue>
+                    </ownedAttribute>
+                    <ownedAttribute xmi:type="uml:Property" xmi:id="driven" name="vozidlo" association="drives">
+                      <type xmi:idref="vehicle"/>
+                    </ownedAttribute>
+                    <ownedOperation xmi:id="op" name="řiď">
+                      <ownedComment xmi:type="uml:Comment" xmi:id="c2" body="Operace se nečte."/>
+                    </ownedOperation>
+                  </packagedElement>
+                  <packagedElement xmi:type="uml:Association" xmi:id="drives" name="řídí">
+                    <memberEnd xmi:idref="driven"/>
+                    <memberEnd xmi:idref="driving"/>
+                    <ownedEnd xmi:type="uml:Property" xmi:id="driving" association="drives">
+                      <type xmi:idref="driver"/>
+                    </ownedEnd>
+                  </packagedElement>
+                  <packagedElement xmi:type="uml:Class" xmi:id="vehicle" name="Vozidlo">
+                    <ownedAttribute xmi:type="uml:Property" xmi:id="registered" name="datum registrace">
+                      <type href="http://schema.omg.org/spec/UML/2.1/uml.xml#Date"/>
+                    </ownedAttribute>
+                  </packagedElement>
+                </packagedElement>
+              </uml:Model>
+              <OFN:subjekt base_Class="driver"/>
+              <xmi:Extension extender="Enterprise Architect" extenderID="6.5">
+                <elements>
+                  <element xmi:idref="driver" xmi:type="uml:Class" name="Řidič">
+                    <properties documentation="Osoba, která řídí motorové vozidlo." stereotype="subjekt"/>
+                  </element>
+                  <element xmi:idref="vehicle" xmi:type="uml:Class" name="Vozidlo">
+                    <properties/>
+                    <attributes>
+                      <attribute xmi:idref="registered" name="datum registrace">
+                        <documentation value="Den zápisu do registru."/>
+                      </attribute>
+                    </attributes>
+                  </element>
+                </elements>
+                <connectors>
+                  <connector xmi:idref="drives">
+                    <documentation value="Řidič řídí vozidlo."/>
+                  </connector>
+                </connectors>
+              </xmi:Extension>
+            </xmi:XMI>
+            """;
+
+    @Test
+    void read_UmlModel_EmitsArchiRecords() throws Exception {
+        ArchiDocument document = new ArchiDocument();
+        new XmiVocabularyReader().read(input(VEHICLE_MODEL), document);
+
+        assertEquals("Slovník řidičů", document.getModelName());
+
+        assertEquals(5, document.getElements().size());
+        ArchiElementRecord person = element(document, "person");
+        assertEquals(List.of(new ArchiLangValue("Osoba", "cs")), person.names());
+        assertEquals(List.of("typ objektu", "Fyzická osoba."), values(person));
+        assertEquals(List.of("typ subjektu", "Osoba, která řídí motorové vozidlo."), values(element(document, "driver")));
+        assertEquals(List.of("typ vlastnosti", "xsd:string"), values(element(document, "licence")));
+        assertEquals(List.of("typ vlastnosti", "Den zápisu do registru.", "xsd:date"),
+                values(element(document, "registered")));
+
+        List<ArchiRelationshipRecord> relationships = document.getRelationships();
+        assertEquals(4, relationships.size());
+        assertRelationship(relationships.get(0), "Composition", "driver", "licence");
+        assertRelationship(relationships.get(1), "Composition", "vehicle", "registered");
+        assertRelationship(relationships.get(2), "Association", "driver", "vehicle");
+        assertEquals(List.of(new ArchiLangValue("řídí", "cs")), relationships.get(2).names());
+        assertEquals("Řidič řídí vozidlo.", relationships.get(2).properties().get(0).value());
+        assertRelationship(relationships.get(3), "Generalization", "driver", "person");
+    }
+
+    @Test
+    void read_ModelWithoutClasses_Throws() {
+        String xmi = """
+                <xmi:XMI xmi:version="2.1" xmlns:uml="http://schema.omg.org/spec/UML/2.1"
+                         xmlns:xmi="http://schema.omg.org/spec/XMI/2.1">
+                  <uml:Model xmi:type="uml:Model" name="EA_Model"/>
+                </xmi:XMI>
+                """;
+
+        assertThrows(FileParsingException.class,
+                () -> new XmiVocabularyReader().read(input(xmi), new ArchiDocument()));
+    }
+
+    private static InputStream input(String xmi) {
+        return new ByteArrayInputStream(xmi.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ArchiElementRecord element(ArchiDocument document, String id) {
+        return document.getElements().stream().filter(e -> e.id().equals(id)).findFirst().orElseThrow();
+    }
+
+    private static List<String> values(ArchiElementRecord element) {
+        return element.properties().stream().map(ArchiPropertyRecord::value).toList();
+    }
+
+    private static void assertRelationship(ArchiRelationshipRecord relationship, String type, String source,
+                                           String target) {
+        assertEquals(type, relationship.type());
+        assertEquals(source, relationship.source());
+        assertEquals(target, relationship.target());
+    }
+}
@@ -0,0 +1,181 @@
+package com.dia.service.impl;
+
+import com.dia.batch.BatchEntry;
+import com.dia.batch.BatchResponseFormat;
+import com.dia.detector.FormatSniffer;
+import com.dia.detector.XmlFormatDetector;
+import com.dia.engine.ConversionContext;
+import com.dia.exceptions.BatchLimitExceededException;
+import com.dia.exceptions.FileParsingException;
+import com.dia.service.ConverterService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BatchConversionServiceImplUnitTest {
+
+    private static final String ARCHI_XML =
+            "<model xmlns=\"http://www.opengroup.org/xsd/archimate/3.0/\"><name>Slovník</name></model>";
+
+    private ConverterService converterService;
+    private BatchConversionServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        converterService = mock(ConverterService.class);
+        service = new BatchConversionServiceImpl(converterService,
+                new FormatSniffer(List.of(new XmlFormatDetector())), new SyncTaskExecutor(), 3, 1);
+
+        when(converterService.parseArchi(any(InputStream.class))).thenAnswer(invocation -> new ConversionContext());
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\n  \"iri\" : \"x\"\n}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToJson(any(ConversionContext.class), any(OutputStream.class));
+    }
+
+    @Test
+    void spool_ZipArchive_ProducesEntryPerFile() throws Exception {
+        MockMultipartFile zip = new MockMultipartFile("files", "slovniky.zip", "application/zip",
+                zip(Map.of("a.xml", ARCHI_XML, "b.xml", ARCHI_XML)));
+
+        List<BatchEntry> entries = service.spool(List.of(zip), 1024);
+
+        assertEquals(2, entries.size());
+        assertTrue(entries.stream().allMatch(entry -> entry.error() == null && Files.exists(entry.upload())));
+        service.discard(entries);
+        assertTrue(entries.stream().noneMatch(entry -> Files.exists(entry.upload())));
+    }
+
+    @Test
+    void spool_TooManyOrTooLargeFiles_RejectsThem() throws Exception {
+        MockMultipartFile large = file("large.xml", ARCHI_XML);
+        List<BatchEntry> entries = service.spool(List.of(large), 10);
+        assertEquals(1, entries.size());
+        assertNull(entries.get(0).upload());
+        assertTrue(entries.get(0).error().startsWith("Soubor je příliš velký."));
+
+        List<MultipartFile> tooMany = List.of(file("1.xml", ARCHI_XML), file("2.xml", ARCHI_XML),
+                file("3.xml", ARCHI_XML), file("4.xml", ARCHI_XML));
+        assertThrows(BatchLimitExceededException.class, () -> service.spool(tooMany, 1024));
+    }
+
+    @Test
+    void convert_Ndjson_WritesResultPerEntryInInputOrder() throws Exception {
+        List<BatchEntry> entries = service.spool(List.of(
+                file("a.xml", ARCHI_XML), file("b.txt", "není archi"), file("c.xml", ARCHI_XML)), 1024);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.convert(entries, "json", false, BatchResponseFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals("a.xml", first.get("name").asText());
+        assertEquals("OK", first.get("status").asText());
+        assertEquals("x", first.get("result").get("iri").asText());
+        JsonNode second = mapper.readTree(lines[1]);
+        assertEquals("ERROR", second.get("status").asText());
+        assertTrue(second.get("error").asText().startsWith("Nepodporovaný formát souboru."));
+        assertEquals("c.xml", mapper.readTree(lines[2]).get("name").asText());
+        assertTrue(entries.stream().allMatch(entry -> entry.upload() == null || !Files.exists(entry.upload())));
+    }
+
+    @Test
+    void convert_Zip_WritesErrorsAsTextEntries() throws Exception {
+        when(converterService.parseArchi(any(InputStream.class)))
+                .thenReturn(new ConversionContext())
+                .thenThrow(new FileParsingException("Při zpracovávání XML došlo k chybě."));
+        List<BatchEntry> entries = service.spool(List.of(file("a.xml", ARCHI_XML), file("b.xml", ARCHI_XML)), 1024);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.convert(entries, "json", true, BatchResponseFormat.ZIP, output);
+
+        Map<String, String> result = unzip(output.toByteArray());
+        assertEquals(List.of("a.json", "b.error.txt"), List.copyOf(result.keySet()));
+        assertEquals("Při zpracovávání XML došlo k chybě.", result.get("b.error.txt"));
+        verify(converterService, times(1)).convertArchi(any(ConversionContext.class), eq(true));
+    }
+
+    @Test
+    void convert_WritingFails_StopsConvertingAndDeletesPendingUploads() throws Exception {
+        List<BatchEntry> entries = service.spool(List.of(
+                file("a.xml", ARCHI_XML), file("b.xml", ARCHI_XML), file("c.xml", ARCHI_XML)), 1024);
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        assertThrows(IOException.class, () -> service.convert(entries, "json", false, BatchResponseFormat.NDJSON, output));
+
+        verify(converterService, atMost(2)).parseArchi(any(InputStream.class));
+        assertTrue(entries.stream().noneMatch(entry -> Files.exists(entry.upload())));
+    }
+
+    @Test
+    void convert_ZipWithNestedPaths_NamesEntriesByFileNameOnly() throws Exception {
+        MockMultipartFile zip = new MockMultipartFile("files", "slovniky.zip", "application/zip",
+                zip(Map.of("../../etc/a.xml", ARCHI_XML, "slozka/a.xml", ARCHI_XML, "/abs/b.xml", ARCHI_XML)));
+        List<BatchEntry> entries = service.spool(List.of(zip), 1024);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.convert(entries, "json", false, BatchResponseFormat.ZIP, output);
+
+        Map<String, String> result = unzip(output.toByteArray());
+        assertEquals(Set.of("a.json", "a-2.json", "b.json"), result.keySet());
+    }
+
+    private MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("files", name, "application/xml", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] zip(Map<String, String> files) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(output)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private Map<String, String> unzip(byte[] archive) throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                files.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return files;
+    }
+}
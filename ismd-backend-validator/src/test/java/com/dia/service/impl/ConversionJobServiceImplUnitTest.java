@@ -0,0 +1,140 @@
+package com.dia.service.impl;
+
+import com.dia.engine.ConversionContext;
+import com.dia.exceptions.FileParsingException;
+import com.dia.job.ConversionJob;
+import com.dia.job.ConversionJobStatus;
+import com.dia.service.ConverterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ConversionJobServiceImplUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConverterService converterService;
+    private Path upload;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        converterService = mock(ConverterService.class);
+        upload = Files.writeString(tempDir.resolve("upload.xml"), "<model/>");
+    }
+
+    @Test
+    void submitArchi_SuccessfulConversion_KeepsExportedResultAndDeletesUpload() throws Exception {
+        ConversionContext context = new ConversionContext();
+        when(converterService.parseArchi(any(Path.class))).thenReturn(context);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(converterService).exportArchiToJson(eq(context), any(OutputStream.class));
+        ConversionJobServiceImpl service =
+                new ConversionJobServiceImpl(converterService, new SyncTaskExecutor(), Duration.ofMinutes(30), 100, tempDir);
+
+        service.submitArchi("job-1", upload, true, "json");
+
+        ConversionJob job = service.findJob("job-1").orElseThrow();
+        assertEquals(ConversionJobStatus.COMPLETED, job.getStatus());
+        assertEquals("{}", Files.readString(job.getResult()));
+        assertNotNull(job.getFinishedAt());
+        assertFalse(Files.exists(upload));
+        verify(converterService).convertArchi(context, true);
+    }
+
+    @Test
+    void submitArchi_ParsingFails_MarksJobAsFailed() throws Exception {
+        when(converterService.parseArchi(any(Path.class)))
+                .thenThrow(new FileParsingException("Při zpracovávání XML došlo k chybě."));
+        ConversionJobServiceImpl service =
+                new ConversionJobServiceImpl(converterService, new SyncTaskExecutor(), Duration.ofMinutes(30), 100, tempDir);
+
+        service.submitArchi("job-1", upload, false, "json");
+
+        ConversionJob job = service.findJob("job-1").orElseThrow();
+        assertEquals(ConversionJobStatus.FAILED, job.getStatus());
+        assertEquals("Při zpracovávání XML došlo k chybě.", job.getError());
+        assertNull(job.getResult());
+        assertFalse(Files.exists(upload));
+    }
+
+    @Test
+    void submitArchi_ExecutorRejects_DropsJobAndUpload() {
+        ConversionJobServiceImpl service = new ConversionJobServiceImpl(converterService, task -> {
+            throw new TaskRejectedException("Queue is full");
+        }, Duration.ofMinutes(30), 100, tempDir);
+
+        assertThrows(TaskRejectedException.class, () -> service.submitArchi("job-1", upload, false, "json"));
+
+        assertTrue(service.findJob("job-1").isEmpty());
+        assertFalse(Files.exists(upload));
+        verifyNoInteractions(converterService);
+    }
+
+    @Test
+    void findJob_RetentionElapsed_JobIsGone() throws Exception {
+        when(converterService.parseArchi(any(Path.class))).thenReturn(new ConversionContext());
+        ConversionJobServiceImpl service =
+                new ConversionJobServiceImpl(converterService, new SyncTaskExecutor(), Duration.ZERO.minusMillis(1), 100, tempDir);
+
+        service.submitArchi("job-1", upload, false, "json");
+
+        assertTrue(service.findJob("job-1").isEmpty());
+    }
+
+    @Test
+    void evictExpiredJobs_MoreFinishedJobsThanRetained_DropsOldestWithResult() throws Exception {
+        when(converterService.parseArchi(any(Path.class))).thenReturn(new ConversionContext());
+        ConversionJobServiceImpl service =
+                new ConversionJobServiceImpl(converterService, new SyncTaskExecutor(), Duration.ofMinutes(30), 1, tempDir);
+
+        service.submitArchi("job-1", upload, false, "json");
+        Path firstResult = service.findJob("job-1").orElseThrow().getResult();
+        service.submitArchi("job-2", Files.writeString(tempDir.resolve("second.xml"), "<model/>"), false, "json");
+        service.evictExpiredJobs();
+
+        assertTrue(service.findJob("job-1").isEmpty());
+        assertFalse(Files.exists(firstResult));
+        assertTrue(service.findJob("job-2").isPresent());
+    }
+
+    @Test
+    void releaseAll_OnShutdown_DeletesRetainedResultsAndQueuedUploads() throws Exception {
+        when(converterService.parseArchi(any(Path.class))).thenReturn(new ConversionContext());
+        List<Runnable> queued = new ArrayList<>();
+        ConversionJobServiceImpl service = new ConversionJobServiceImpl(converterService, task -> {
+            if (queued.isEmpty()) {
+                task.run();
+            }
+            queued.add(task);
+        }, Duration.ofMinutes(30), 100, tempDir);
+
+        service.submitArchi("job-1", upload, false, "json");
+        Path result = service.findJob("job-1").orElseThrow().getResult();
+        Path queuedUpload = Files.writeString(tempDir.resolve("second.xml"), "<model/>");
+        service.submitArchi("job-2", queuedUpload, false, "json");
+        service.releaseAll();
+
+        assertFalse(Files.exists(result));
+        assertFalse(Files.exists(queuedUpload));
+        assertTrue(service.findJob("job-1").isEmpty());
+        assertTrue(service.findJob("job-2").isEmpty());
+    }
+}